@@ -1,6 +1,8 @@
 package com.fieldops.fieldops_api.asset.domain;
 
 import com.fieldops.fieldops_api.location.domain.Location;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -8,25 +10,31 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_asset_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class Asset {
+public class Asset implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -46,6 +54,7 @@ public class Asset {
   @Column(columnDefinition = "text")
   private String model;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
@@ -5,6 +5,7 @@ import static java.lang.annotation.ElementType.FIELD;
 import static java.lang.annotation.ElementType.METHOD;
 
 import com.fieldops.fieldops_api.asset.service.AssetService;
+import com.fieldops.fieldops_api.util.ValidationTarget;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Constraint;
 import jakarta.validation.ConstraintValidator;
@@ -16,6 +17,7 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 import java.util.Map;
 import java.util.UUID;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
 import org.springframework.web.servlet.HandlerMapping;
 
 /** Validate that the serialNumber value isn't taken yet. */
@@ -49,11 +51,7 @@ public @interface AssetSerialNumberUnique {
         // no value present
         return true;
       }
-      @SuppressWarnings("unchecked")
-      final Map<String, String> pathVariables =
-          ((Map<String, String>)
-              request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
-      final String currentId = pathVariables.get("id");
+      final String currentId = currentId(cvContext);
       if (currentId != null
           && value.equalsIgnoreCase(
               assetService.get(UUID.fromString(currentId)).getSerialNumber())) {
@@ -62,5 +60,20 @@ public @interface AssetSerialNumberUnique {
       }
       return !assetService.serialNumberExists(value);
     }
+
+    private String currentId(final ConstraintValidatorContext cvContext) {
+      final ValidationTarget target =
+          cvContext
+              .unwrap(HibernateConstraintValidatorContext.class)
+              .getConstraintValidatorPayload(ValidationTarget.class);
+      if (target != null) {
+        return target.id() == null ? null : target.id().toString();
+      }
+      @SuppressWarnings("unchecked")
+      final Map<String, String> pathVariables =
+          ((Map<String, String>)
+              request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE));
+      return pathVariables.get("id");
+    }
   }
 }
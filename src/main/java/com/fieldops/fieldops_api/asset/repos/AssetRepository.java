@@ -1,12 +1,27 @@
 package com.fieldops.fieldops_api.asset.repos;
 
 import com.fieldops.fieldops_api.asset.domain.Asset;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface AssetRepository extends JpaRepository<Asset, UUID> {
 
   Asset findFirstByLocationId(UUID id);
 
   boolean existsBySerialNumber(String serialNumber);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Asset> streamAllBy();
+
+  List<Asset> findByChangeVersionBetweenOrderByChangeVersion(Long from, Long to, Limit limit);
 }
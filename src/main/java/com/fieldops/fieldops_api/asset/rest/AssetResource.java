@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.asset.rest;
 
 import com.fieldops.fieldops_api.asset.model.AssetDTO;
 import com.fieldops.fieldops_api.asset.service.AssetService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/assets", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AssetResource {
 
   private final AssetService assetService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public AssetResource(final AssetService assetService) {
+  public AssetResource(final AssetService assetService, final NdjsonExporter ndjsonExporter) {
     this.assetService = assetService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +36,11 @@ public class AssetResource {
     return ResponseEntity.ok(assetService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportAssets() {
+    return ResponseEntity.ok(ndjsonExporter.export(assetService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<AssetDTO> getAsset(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(assetService.get(id));
@@ -7,17 +7,22 @@ import com.fieldops.fieldops_api.events.BeforeDeleteAsset;
 import com.fieldops.fieldops_api.events.BeforeDeleteLocation;
 import com.fieldops.fieldops_api.location.domain.Location;
 import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class AssetService {
+public class AssetService implements ChangeFeed, ChangeSink<AssetDTO> {
 
   private final AssetRepository assetRepository;
   private final LocationRepository locationRepository;
@@ -37,6 +42,37 @@ public class AssetService {
     return assets.stream().map(asset -> mapToDTO(asset, new AssetDTO())).toList();
   }
 
+  public Stream<AssetDTO> streamAll() {
+    return assetRepository.streamAllBy().map(asset -> mapToDTO(asset, new AssetDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "asset";
+  }
+
+  @Override
+  public Class<Asset> entityType() {
+    return Asset.class;
+  }
+
+  @Override
+  public Class<AssetDTO> dtoType() {
+    return AssetDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<AssetDTO> rows =
+        assetRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(asset -> mapToDTO(asset, new AssetDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, AssetDTO::getChangeVersion);
+  }
+
   public AssetDTO get(final UUID id) {
     return assetRepository
         .findById(id)
@@ -77,20 +113,18 @@ public class AssetService {
   }
 
   private Asset mapToEntity(final AssetDTO assetDTO, final Asset asset) {
-    asset.setAssetTag(assetDTO.getAssetTag());
-    asset.setSerialNumber(assetDTO.getSerialNumber());
-    asset.setManufacturer(assetDTO.getManufacturer());
-    asset.setModel(assetDTO.getModel());
-    asset.setVersion(assetDTO.getVersion());
-    asset.setChangeVersion(assetDTO.getChangeVersion());
-    asset.setCreatedAt(assetDTO.getCreatedAt());
-    asset.setUpdatedAt(assetDTO.getUpdatedAt());
     final Location location =
         assetDTO.getLocation() == null
             ? null
             : locationRepository
                 .findById(assetDTO.getLocation())
                 .orElseThrow(() -> new NotFoundException("location not found"));
+    asset.setAssetTag(assetDTO.getAssetTag());
+    asset.setSerialNumber(assetDTO.getSerialNumber());
+    asset.setManufacturer(assetDTO.getManufacturer());
+    asset.setModel(assetDTO.getModel());
+    asset.setCreatedAt(assetDTO.getCreatedAt());
+    asset.setUpdatedAt(assetDTO.getUpdatedAt());
     asset.setLocation(location);
     return asset;
   }
@@ -9,8 +9,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -21,11 +23,16 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(indexes = @Index(name = "idx_attachment_content_hash", columnList = "content_hash"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class Attachment {
 
+  public static final String UPLOADING = "UPLOADING";
+  public static final String UPLOADED = "UPLOADED";
+  public static final String FAILED = "FAILED";
+
   @Id
   @Column(nullable = false, updatable = false)
   @GeneratedValue
@@ -46,6 +53,10 @@ public class Attachment {
 
   @Column private Long sizeBytes;
 
+  /** SHA-256 of the uploaded content, which is stored once per hash; see AttachmentContent. */
+  @Column(columnDefinition = "text")
+  private String contentHash;
+
   @Column(nullable = false, columnDefinition = "text")
   private String uploadStatus;
 
@@ -0,0 +1,41 @@
+package com.fieldops.fieldops_api.attachment.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Id;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+/**
+ * One stored copy of attachment content, keyed by its SHA-256, with the number of attachments
+ * pointing at it. Maintained with plain SQL by {@code AttachmentContentStore}.
+ */
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+public class AttachmentContent {
+
+  @Id
+  @Column(nullable = false, updatable = false, columnDefinition = "text")
+  private String sha256;
+
+  @Column(nullable = false)
+  private Long sizeBytes;
+
+  @Column(nullable = false)
+  private Long refCount;
+
+  @CreatedDate
+  @Column(nullable = false, updatable = false)
+  private OffsetDateTime dateCreated;
+
+  @LastModifiedDate
+  @Column(nullable = false)
+  private OffsetDateTime lastUpdated;
+}
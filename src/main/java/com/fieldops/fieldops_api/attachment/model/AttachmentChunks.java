@@ -0,0 +1,9 @@
+package com.fieldops.fieldops_api.attachment.model;
+
+import java.util.List;
+
+/** Progress of a chunked upload: the chunks received so far, in offset order. */
+public record AttachmentChunks(String uploadStatus, long receivedBytes, List<Chunk> chunks) {
+
+  public record Chunk(long offset, long length) {}
+}
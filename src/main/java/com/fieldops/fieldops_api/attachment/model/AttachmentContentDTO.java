@@ -0,0 +1,4 @@
+package com.fieldops.fieldops_api.attachment.model;
+
+/** Content already stored, which attachments can point at without uploading it again. */
+public record AttachmentContentDTO(String sha256, long sizeBytes) {}
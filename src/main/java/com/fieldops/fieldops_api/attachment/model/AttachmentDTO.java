@@ -22,6 +22,8 @@ public class AttachmentDTO {
 
   private Long sizeBytes;
 
+  private String contentHash;
+
   @NotNull private String uploadStatus;
 
   private String uploadedFromDevice;
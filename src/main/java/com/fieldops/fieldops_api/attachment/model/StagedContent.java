@@ -0,0 +1,4 @@
+package com.fieldops.fieldops_api.attachment.model;
+
+/** Uploaded bytes hashed into a staging blob, not yet claimed as stored content. */
+public record StagedContent(String stagingKey, String sha256, long sizeBytes) {}
@@ -1,8 +1,16 @@
 package com.fieldops.fieldops_api.attachment.repos;
 
 import com.fieldops.fieldops_api.attachment.domain.Attachment;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface AttachmentRepository extends JpaRepository<Attachment, UUID> {
 
@@ -11,4 +19,14 @@ public interface AttachmentRepository extends JpaRepository<Attachment, UUID> {
   Attachment findFirstByEventId(UUID id);
 
   Attachment findFirstByUploadedByUserId(UUID id);
+
+  /** The attachment, locked until the transaction ends, for changes to its content. */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<Attachment> findLockedById(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Attachment> streamAllBy();
 }
@@ -1,10 +1,22 @@
 package com.fieldops.fieldops_api.attachment.rest;
 
+import com.fieldops.fieldops_api.attachment.model.AttachmentChunks;
+import com.fieldops.fieldops_api.attachment.model.AttachmentContentDTO;
 import com.fieldops.fieldops_api.attachment.model.AttachmentDTO;
+import com.fieldops.fieldops_api.attachment.service.AttachmentContentStore;
 import com.fieldops.fieldops_api.attachment.service.AttachmentService;
+import com.fieldops.fieldops_api.attachment.service.AttachmentUploadService;
+import com.fieldops.fieldops_api.attachment.service.ThumbnailService;
+import com.fieldops.fieldops_api.blob.rest.BlobDownloads;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,17 +26,36 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/attachments", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AttachmentResource {
 
   private final AttachmentService attachmentService;
+  private final NdjsonExporter ndjsonExporter;
+  private final BlobDownloads blobDownloads;
+  private final AttachmentUploadService attachmentUploadService;
+  private final AttachmentContentStore attachmentContentStore;
+  private final ThumbnailService thumbnailService;
 
-  public AttachmentResource(final AttachmentService attachmentService) {
+  public AttachmentResource(
+      final AttachmentService attachmentService,
+      final NdjsonExporter ndjsonExporter,
+      final BlobDownloads blobDownloads,
+      final AttachmentUploadService attachmentUploadService,
+      final AttachmentContentStore attachmentContentStore,
+      final ThumbnailService thumbnailService) {
     this.attachmentService = attachmentService;
+    this.ndjsonExporter = ndjsonExporter;
+    this.blobDownloads = blobDownloads;
+    this.attachmentUploadService = attachmentUploadService;
+    this.attachmentContentStore = attachmentContentStore;
+    this.thumbnailService = thumbnailService;
   }
 
   @GetMapping
@@ -32,11 +63,121 @@ public class AttachmentResource {
     return ResponseEntity.ok(attachmentService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportAttachments() {
+    return ResponseEntity.ok(ndjsonExporter.export(attachmentService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<AttachmentDTO> getAttachment(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(attachmentService.get(id));
   }
 
+  @GetMapping(value = "/{id}/content", produces = MediaType.ALL_VALUE)
+  public void getAttachmentContent(
+      @PathVariable(name = "id") final UUID id,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    final AttachmentDTO attachment = attachmentService.getUploaded(id);
+    blobDownloads.send(
+        AttachmentService.contentKey(attachment),
+        attachment.getMimeType(),
+        attachment.getFileName(),
+        request,
+        response);
+  }
+
+  /**
+   * A JPEG thumbnail fitting within {@code size} pixels, rounded up to a generated size. Answers
+   * 202 while it is still being generated, or 503 if it can't be queued yet.
+   */
+  @GetMapping(value = "/{id}/thumbnail", produces = MediaType.ALL_VALUE)
+  public void getAttachmentThumbnail(
+      @PathVariable(name = "id") final UUID id,
+      @RequestParam(name = "size", required = false) final Integer size,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    final AttachmentDTO attachment = attachmentService.getUploaded(id);
+    if (attachment.getContentHash() == null
+        || !ThumbnailService.supports(attachment.getMimeType())
+        || thumbnailService.isUnreadable(attachment.getContentHash())) {
+      throw new NotFoundException("no thumbnail");
+    }
+    final int thumbnailSize = thumbnailService.sizeFor(size);
+    final String key = ThumbnailService.blobKey(attachment.getContentHash(), thumbnailSize);
+    if (!thumbnailService.exists(key)) {
+      thumbnailService.requestNow(attachment.getContentHash());
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      response.setStatus(HttpServletResponse.SC_ACCEPTED);
+      return;
+    }
+    // the attachment's content can be replaced, so clients revalidate with the ETag
+    blobDownloads.send(key, ThumbnailService.MIME_TYPE, thumbnailSize + ".jpg", request, response);
+  }
+
+  @PutMapping(value = "/{id}/content", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<AttachmentDTO> uploadAttachmentContent(
+      @PathVariable(name = "id") final UUID id,
+      @RequestHeader(name = "X-Device-Id", required = false) final String deviceId,
+      final HttpServletRequest request)
+      throws IOException {
+    return ResponseEntity.ok(
+        attachmentService.uploadContent(
+            id, request.getInputStream(), request.getContentType(), deviceId));
+  }
+
+  @GetMapping("/content/{sha256}")
+  public ResponseEntity<AttachmentContentDTO> getAttachmentContentByHash(
+      @PathVariable(name = "sha256") final String sha256) {
+    return ResponseEntity.ok(
+        attachmentContentStore
+            .find(AttachmentContentStore.normalize(sha256))
+            .orElseThrow(NotFoundException::new));
+  }
+
+  @PutMapping("/{id}/content/{sha256}")
+  public ResponseEntity<AttachmentDTO> linkAttachmentContent(
+      @PathVariable(name = "id") final UUID id,
+      @PathVariable(name = "sha256") final String sha256) {
+    return ResponseEntity.ok(attachmentService.linkContent(id, sha256));
+  }
+
+  @GetMapping("/{id}/chunks")
+  public ResponseEntity<AttachmentChunks> getAttachmentChunks(
+      @PathVariable(name = "id") final UUID id) throws IOException {
+    return ResponseEntity.ok(attachmentUploadService.getChunks(id));
+  }
+
+  @PutMapping(value = "/{id}/chunks/{offset}", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<AttachmentChunks> uploadAttachmentChunk(
+      @PathVariable(name = "id") final UUID id,
+      @PathVariable(name = "offset") final long offset,
+      @RequestHeader(name = "X-Chunk-Sha256") final String sha256,
+      @RequestHeader(name = "X-Device-Id", required = false) final String deviceId,
+      final HttpServletRequest request)
+      throws IOException {
+    return ResponseEntity.ok(
+        attachmentUploadService.receiveChunk(
+            id, offset, request.getInputStream(), sha256, deviceId));
+  }
+
+  @PostMapping("/{id}/chunks/complete")
+  public ResponseEntity<AttachmentDTO> completeAttachmentChunks(
+      @PathVariable(name = "id") final UUID id, @RequestParam(name = "size") final long size)
+      throws IOException {
+    attachmentUploadService.complete(id, size);
+    return ResponseEntity.ok(attachmentService.get(id));
+  }
+
+  @DeleteMapping("/{id}/chunks")
+  public ResponseEntity<Void> discardAttachmentChunks(@PathVariable(name = "id") final UUID id)
+      throws IOException {
+    attachmentUploadService.discard(id);
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping
   public ResponseEntity<UUID> createAttachment(
       @RequestBody @Valid final AttachmentDTO attachmentDTO) {
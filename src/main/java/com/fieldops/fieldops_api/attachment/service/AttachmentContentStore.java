@@ -0,0 +1,232 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import com.fieldops.fieldops_api.attachment.model.AttachmentContentDTO;
+import com.fieldops.fieldops_api.attachment.model.StagedContent;
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.events.AttachmentContentDeleted;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Attachment content stored once per SHA-256 under {@code sha256/<first two>/<hash>}, however many
+ * attachments use it, with a reference count per hash in {@code attachment_content}.
+ *
+ * <p>Uploads are hashed as they stream into a staging blob, outside any transaction. Claiming the
+ * staged content then runs in the caller's transaction, together with the attachment change it is
+ * for: if the hash is already stored the existing content gains a reference, otherwise the row is
+ * created and the staging copy moved into place. References are acquired and released in the
+ * caller's transaction too, so a rolled back change leaves the counts as they were.
+ *
+ * <p>Releasing the last reference leaves the row at zero. Its blob is collected only after that
+ * commits, in a transaction of its own that deletes the row only if it is still at zero. That
+ * delete takes the row lock, so a concurrent claim either revives the count first, and the blob
+ * stays, or waits until the blob is gone and then moves its own copy in. Rows left at zero by a
+ * crash before collection are picked up every {@code blobs.content.cleanup-interval-ms}.
+ */
+@Service
+public class AttachmentContentStore {
+
+  private static final Logger log = LoggerFactory.getLogger(AttachmentContentStore.class);
+
+  private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final BlobStore blobStore;
+  private final ApplicationEventPublisher publisher;
+
+  public AttachmentContentStore(
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      final BlobStore blobStore,
+      final ApplicationEventPublisher publisher) {
+    this.jdbcTemplate = jdbcTemplate;
+    // collection runs after the releasing transaction has committed, so it needs one of its own
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.blobStore = blobStore;
+    this.publisher = publisher;
+  }
+
+  public static String blobKey(final String sha256) {
+    return "sha256/" + sha256.substring(0, 2) + "/" + sha256;
+  }
+
+  /** Lower-cases a client-supplied hash, rejecting anything that isn't SHA-256 hex. */
+  public static String normalize(final String sha256) {
+    final String normalized = sha256 == null ? "" : sha256.toLowerCase();
+    if (!SHA256.matcher(normalized).matches()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid SHA-256");
+    }
+    return normalized;
+  }
+
+  public Optional<AttachmentContentDTO> find(final String sha256) {
+    final List<Long> sizes =
+        jdbcTemplate.queryForList(
+            "select size_bytes from attachment_content where sha256 = ? and ref_count > 0",
+            Long.class,
+            sha256);
+    return sizes.stream().findFirst().map(size -> new AttachmentContentDTO(sha256, size));
+  }
+
+  /** Take a reference to content already stored; empty if there is none. */
+  public Optional<AttachmentContentDTO> acquire(final String sha256) {
+    final List<Long> sizes =
+        jdbcTemplate.queryForList(
+            """
+            update attachment_content set ref_count = ref_count + 1, last_updated = ?
+            where sha256 = ? and ref_count > 0
+            returning size_bytes
+            """,
+            Long.class,
+            OffsetDateTime.now(),
+            sha256);
+    return sizes.stream().findFirst().map(size -> new AttachmentContentDTO(sha256, size));
+  }
+
+  /** Stream {@code content} into a staging blob, hashing it on the way. */
+  public StagedContent stage(final InputStream content, final long maxBytes) throws IOException {
+    final String staging = "staging/" + UUID.randomUUID();
+    final DigestInputStream hashing = new DigestInputStream(content, sha256Digest());
+    final BlobInfo staged = blobStore.write(staging, hashing, maxBytes);
+    return new StagedContent(
+        staging, HexFormat.of().formatHex(hashing.getMessageDigest().digest()), staged.size());
+  }
+
+  /**
+   * Take a reference to the staged content, storing the bytes only if nobody has uploaded the same
+   * content before. Call inside the transaction that records the reference.
+   */
+  public AttachmentContentDTO claim(final StagedContent staged) {
+    final Optional<AttachmentContentDTO> existing = acquire(staged.sha256());
+    if (existing.isPresent()) {
+      return existing.get();
+    }
+    final OffsetDateTime now = OffsetDateTime.now();
+    // the row first: waits out a collection of this hash, and revives a count left at zero
+    jdbcTemplate.update(
+        """
+        insert into attachment_content (sha256, size_bytes, ref_count, date_created, last_updated)
+        values (?, ?, 1, ?, ?)
+        on conflict (sha256) do update
+        set ref_count = attachment_content.ref_count + 1, last_updated = excluded.last_updated
+        """,
+        staged.sha256(),
+        staged.sizeBytes(),
+        now,
+        now);
+    try {
+      blobStore.move(staged.stagingKey(), blobKey(staged.sha256()));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new AttachmentContentDTO(staged.sha256(), staged.sizeBytes());
+  }
+
+  /** Drop the staging blob, if claiming didn't already move it into place. */
+  public void discard(final StagedContent staged) {
+    try {
+      blobStore.delete(staged.stagingKey());
+    } catch (final IOException e) {
+      log.warn("Could not delete staged upload {}: {}", staged.stagingKey(), e.getMessage());
+    }
+  }
+
+  /**
+   * Drop a reference inside the caller's transaction. Once that commits, content nothing points at
+   * any more is deleted and {@link AttachmentContentDeleted} published.
+   */
+  public void release(final String sha256) {
+    final List<Long> remaining =
+        jdbcTemplate.queryForList(
+            """
+            update attachment_content set ref_count = ref_count - 1, last_updated = ?
+            where sha256 = ? and ref_count > 0
+            returning ref_count
+            """,
+            Long.class,
+            OffsetDateTime.now(),
+            sha256);
+    if (remaining.isEmpty() || remaining.getFirst() > 0) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      collect(sha256);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            collect(sha256);
+          }
+        });
+  }
+
+  /** Collect content whose count was left at zero, say by a crash before it was collected. */
+  @Scheduled(fixedDelayString = "${blobs.content.cleanup-interval-ms:3600000}")
+  public void collectUnreferenced() {
+    jdbcTemplate
+        .queryForList(
+            "select sha256 from attachment_content where ref_count = 0 and last_updated < ?",
+            String.class,
+            OffsetDateTime.now().minusMinutes(10))
+        .forEach(this::collect);
+  }
+
+  /** Delete the content if its count is still zero. */
+  private void collect(final String sha256) {
+    final Boolean deleted =
+        transactionTemplate.execute(
+            status -> {
+              if (jdbcTemplate.update(
+                      "delete from attachment_content where sha256 = ? and ref_count = 0", sha256)
+                  == 0) {
+                return false;
+              }
+              // still holding the row lock, so no claim can move the hash in mid-delete
+              try {
+                blobStore.delete(blobKey(sha256));
+              } catch (final IOException e) {
+                log.warn("Could not delete unreferenced content {}: {}", sha256, e.getMessage());
+              }
+              return true;
+            });
+    if (Boolean.TRUE.equals(deleted)) {
+      publisher.publishEvent(new AttachmentContentDeleted(sha256));
+    }
+  }
+
+  private static MessageDigest sha256Digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
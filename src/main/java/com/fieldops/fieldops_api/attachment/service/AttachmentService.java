@@ -1,8 +1,12 @@
 package com.fieldops.fieldops_api.attachment.service;
 
 import com.fieldops.fieldops_api.attachment.domain.Attachment;
+import com.fieldops.fieldops_api.attachment.model.AttachmentContentDTO;
 import com.fieldops.fieldops_api.attachment.model.AttachmentDTO;
+import com.fieldops.fieldops_api.attachment.model.StagedContent;
 import com.fieldops.fieldops_api.attachment.repos.AttachmentRepository;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.events.AttachmentContentStored;
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrderEvent;
@@ -14,29 +18,61 @@ import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
 import com.fieldops.fieldops_api.work_order_event.domain.WorkOrderEvent;
 import com.fieldops.fieldops_api.work_order_event.repos.WorkOrderEventRepository;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class AttachmentService {
 
+  /**
+   * Content uploaded before deduplication lives under this prefix plus the attachment id. The
+   * client's storage key is only a label, so it never decides where content goes.
+   */
+  public static final String BLOB_PREFIX = "attachments/";
+
+  private static final Logger log = LoggerFactory.getLogger(AttachmentService.class);
+
   private final AttachmentRepository attachmentRepository;
   private final WorkOrderRepository workOrderRepository;
   private final WorkOrderEventRepository workOrderEventRepository;
   private final UserRepository userRepository;
+  private final BlobStore blobStore;
+  private final AttachmentContentStore contentStore;
+  private final ApplicationEventPublisher publisher;
+  private final TransactionTemplate transactionTemplate;
+  private final long maxUploadBytes;
 
   public AttachmentService(
       final AttachmentRepository attachmentRepository,
       final WorkOrderRepository workOrderRepository,
       final WorkOrderEventRepository workOrderEventRepository,
-      final UserRepository userRepository) {
+      final UserRepository userRepository,
+      final BlobStore blobStore,
+      final AttachmentContentStore contentStore,
+      final ApplicationEventPublisher publisher,
+      final PlatformTransactionManager transactionManager,
+      @Value("${blobs.max-upload-bytes:104857600}") final long maxUploadBytes) {
     this.attachmentRepository = attachmentRepository;
     this.workOrderRepository = workOrderRepository;
     this.workOrderEventRepository = workOrderEventRepository;
     this.userRepository = userRepository;
+    this.blobStore = blobStore;
+    this.contentStore = contentStore;
+    this.publisher = publisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.maxUploadBytes = maxUploadBytes;
   }
 
   public List<AttachmentDTO> findAll() {
@@ -46,6 +82,12 @@ public class AttachmentService {
         .toList();
   }
 
+  public Stream<AttachmentDTO> streamAll() {
+    return attachmentRepository
+        .streamAllBy()
+        .map(attachment -> mapToDTO(attachment, new AttachmentDTO()));
+  }
+
   public AttachmentDTO get(final UUID id) {
     return attachmentRepository
         .findById(id)
@@ -53,6 +95,98 @@ public class AttachmentService {
         .orElseThrow(NotFoundException::new);
   }
 
+  /** The attachment, if its content has been uploaded. */
+  public AttachmentDTO getUploaded(final UUID id) {
+    final AttachmentDTO attachmentDTO = get(id);
+    if (!Attachment.UPLOADED.equals(attachmentDTO.getUploadStatus())) {
+      throw new NotFoundException("content not uploaded");
+    }
+    return attachmentDTO;
+  }
+
+  /**
+   * Stream the attachment's content into the blob store. {@code uploadStatus} is committed as
+   * {@code UPLOADING} before the first byte is read, then {@code UPLOADED}, with {@code sizeBytes}
+   * and {@code contentHash} set, or {@code FAILED}. Content that is already stored is not stored
+   * again.
+   */
+  public AttachmentDTO uploadContent(
+      final UUID id, final InputStream content, final String contentType, final String deviceId)
+      throws IOException {
+    Attachment attachment = attachmentRepository.findById(id).orElseThrow(NotFoundException::new);
+    attachment.setUploadStatus(Attachment.UPLOADING);
+    if (deviceId != null) {
+      attachment.setUploadedFromDevice(deviceId);
+    }
+    attachment = attachmentRepository.save(attachment);
+    try {
+      final StagedContent staged = contentStore.stage(content, maxUploadBytes);
+      try {
+        return attachContent(id, staged, contentType);
+      } finally {
+        contentStore.discard(staged);
+      }
+    } catch (final IOException | RuntimeException e) {
+      attachment.setUploadStatus(Attachment.FAILED);
+      attachmentRepository.save(attachment);
+      throw e;
+    }
+  }
+
+  /**
+   * Point the attachment at content already stored under {@code sha256}, so a device that already
+   * knows the hash skips the upload entirely.
+   */
+  public AttachmentDTO linkContent(final UUID id, final String sha256) {
+    final String normalized = AttachmentContentStore.normalize(sha256);
+    return transactionTemplate.execute(
+        status -> {
+          final Attachment attachment =
+              attachmentRepository.findLockedById(id).orElseThrow(NotFoundException::new);
+          final AttachmentContentDTO content =
+              contentStore
+                  .acquire(normalized)
+                  .orElseThrow(() -> new NotFoundException("content not found"));
+          return attach(attachment, content, null);
+        });
+  }
+
+  /**
+   * Make staged content the attachment's, in one transaction with the attachment locked. The
+   * caller still discards the staging blob afterwards.
+   */
+  AttachmentDTO attachContent(final UUID id, final StagedContent staged, final String contentType) {
+    return transactionTemplate.execute(
+        status -> {
+          final Attachment attachment =
+              attachmentRepository.findLockedById(id).orElseThrow(NotFoundException::new);
+          return attach(attachment, contentStore.claim(staged), contentType);
+        });
+  }
+
+  /**
+   * Record content the caller has just taken a reference to, releasing the one it replaces, and
+   * publish {@link AttachmentContentStored}. Runs in the caller's transaction, with the attachment
+   * locked so that two changes can't both release the same previous content.
+   */
+  private AttachmentDTO attach(
+      final Attachment attachment, final AttachmentContentDTO content, final String contentType) {
+    final String previous = attachment.getContentHash();
+    attachment.setContentHash(content.sha256());
+    attachment.setSizeBytes(content.sizeBytes());
+    attachment.setUploadStatus(Attachment.UPLOADED);
+    if (attachment.getMimeType() == null && contentType != null) {
+      attachment.setMimeType(contentType);
+    }
+    final Attachment saved = attachmentRepository.save(attachment);
+    if (previous != null) {
+      contentStore.release(previous);
+    }
+    publisher.publishEvent(
+        new AttachmentContentStored(saved.getId(), saved.getContentHash(), saved.getMimeType()));
+    return mapToDTO(saved, new AttachmentDTO());
+  }
+
   public UUID create(final AttachmentDTO attachmentDTO) {
     final Attachment attachment = new Attachment();
     mapToEntity(attachmentDTO, attachment);
@@ -68,8 +202,35 @@ public class AttachmentService {
 
   public void delete(final UUID id) {
     final Attachment attachment =
-        attachmentRepository.findById(id).orElseThrow(NotFoundException::new);
-    attachmentRepository.delete(attachment);
+        transactionTemplate.execute(
+            status -> {
+              final Attachment deleted =
+                  attachmentRepository.findLockedById(id).orElseThrow(NotFoundException::new);
+              attachmentRepository.delete(deleted);
+              if (deleted.getContentHash() != null) {
+                contentStore.release(deleted.getContentHash());
+              }
+              return deleted;
+            });
+    if (attachment.getContentHash() == null) {
+      // uploaded before content was deduplicated, under a key of its own
+      try {
+        blobStore.delete(blobKey(id));
+      } catch (final IOException | IllegalArgumentException e) {
+        log.warn("Could not delete content of attachment {}: {}", id, e.getMessage());
+      }
+    }
+  }
+
+  public static String blobKey(final UUID id) {
+    return BLOB_PREFIX + id;
+  }
+
+  /** Where the attachment's content is in the blob store. */
+  public static String contentKey(final AttachmentDTO attachmentDTO) {
+    return attachmentDTO.getContentHash() != null
+        ? AttachmentContentStore.blobKey(attachmentDTO.getContentHash())
+        : blobKey(attachmentDTO.getId());
   }
 
   private AttachmentDTO mapToDTO(final Attachment attachment, final AttachmentDTO attachmentDTO) {
@@ -79,6 +240,7 @@ public class AttachmentService {
     attachmentDTO.setFileName(attachment.getFileName());
     attachmentDTO.setMimeType(attachment.getMimeType());
     attachmentDTO.setSizeBytes(attachment.getSizeBytes());
+    attachmentDTO.setContentHash(attachment.getContentHash());
     attachmentDTO.setUploadStatus(attachment.getUploadStatus());
     attachmentDTO.setUploadedFromDevice(attachment.getUploadedFromDevice());
     attachmentDTO.setCreatedAt(attachment.getCreatedAt());
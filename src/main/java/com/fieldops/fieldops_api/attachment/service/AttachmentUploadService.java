@@ -0,0 +1,286 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import com.fieldops.fieldops_api.attachment.domain.Attachment;
+import com.fieldops.fieldops_api.attachment.model.AttachmentChunks;
+import com.fieldops.fieldops_api.attachment.model.StagedContent;
+import com.fieldops.fieldops_api.attachment.repos.AttachmentRepository;
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.blob.service.BlobTooLargeException;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resumable, chunked upload of attachment content for devices on unreliable connections.
+ *
+ * <p>A device sends the file as chunks at byte offsets of its choosing, each with its SHA-256. A
+ * chunk is stored as its own blob under {@code chunks/<attachment>/} only if it arrives whole and
+ * matches its checksum, so after a dropped connection the device asks which offsets are already
+ * here and sends just the rest. Completing the upload checks the chunks cover the file without
+ * gaps, then copies them in order into the content store in one sequential write and drops
+ * them. Chunks left untouched for {@code blobs.chunks.expire-after} are discarded.
+ *
+ * <p>The chunks of one upload may add up to the attachment's declared {@code sizeBytes}, or {@code
+ * blobs.max-upload-bytes} if none was declared. Each chunk is cut off at whatever the others leave
+ * of that, so uploads racing each other overshoot by at most one chunk each.
+ */
+@Service
+public class AttachmentUploadService {
+
+  private static final Logger log = LoggerFactory.getLogger(AttachmentUploadService.class);
+
+  private static final String CHUNKS = "chunks";
+
+  private final AttachmentRepository attachmentRepository;
+  private final AttachmentService attachmentService;
+  private final AttachmentContentStore contentStore;
+  private final BlobStore blobStore;
+  private final long maxUploadBytes;
+  private final long maxChunkBytes;
+  private final Duration expireAfter;
+
+  public AttachmentUploadService(
+      final AttachmentRepository attachmentRepository,
+      final AttachmentService attachmentService,
+      final AttachmentContentStore contentStore,
+      final BlobStore blobStore,
+      @Value("${blobs.max-upload-bytes:104857600}") final long maxUploadBytes,
+      @Value("${blobs.chunks.max-chunk-bytes:8388608}") final long maxChunkBytes,
+      @Value("${blobs.chunks.expire-after:7d}") final Duration expireAfter) {
+    this.attachmentRepository = attachmentRepository;
+    this.attachmentService = attachmentService;
+    this.contentStore = contentStore;
+    this.blobStore = blobStore;
+    this.maxUploadBytes = maxUploadBytes;
+    this.maxChunkBytes = maxChunkBytes;
+    this.expireAfter = expireAfter;
+  }
+
+  public AttachmentChunks getChunks(final UUID id) throws IOException {
+    return chunks(attachmentRepository.findById(id).orElseThrow(NotFoundException::new));
+  }
+
+  /** Store one chunk, replacing any earlier one at the same offset, and report progress. */
+  public AttachmentChunks receiveChunk(
+      final UUID id,
+      final long offset,
+      final InputStream content,
+      final String sha256,
+      final String deviceId)
+      throws IOException {
+    final byte[] checksum;
+    try {
+      checksum = HexFormat.of().parseHex(sha256);
+    } catch (final IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid SHA-256 checksum");
+    }
+    Attachment attachment = attachmentRepository.findById(id).orElseThrow(NotFoundException::new);
+    if (Attachment.UPLOADED.equals(attachment.getUploadStatus())) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "Content already uploaded");
+    }
+    final long limit = uploadLimit(attachment);
+    if (offset < 0 || offset >= limit) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "offset out of range");
+    }
+    long received = 0;
+    for (final BlobInfo chunk : blobStore.list(chunkPrefix(id))) {
+      // a chunk at the same offset is replaced, so it doesn't count
+      if (offset(chunk) != offset) {
+        received += chunk.size();
+      }
+    }
+    if (received >= limit) {
+      throw new BlobTooLargeException(limit);
+    }
+    // saved only when something changes, not once per chunk
+    if (!Attachment.UPLOADING.equals(attachment.getUploadStatus())
+        || (deviceId != null && !deviceId.equals(attachment.getUploadedFromDevice()))) {
+      attachment.setUploadStatus(Attachment.UPLOADING);
+      if (deviceId != null) {
+        attachment.setUploadedFromDevice(deviceId);
+      }
+      attachment = attachmentRepository.save(attachment);
+    }
+    try {
+      blobStore.write(
+          chunkKey(id, offset),
+          new ChecksumVerifyingInputStream(content, checksum),
+          Math.min(maxChunkBytes, Math.min(limit - offset, limit - received)));
+    } catch (final ChecksumVerifyingInputStream.MismatchException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Chunk checksum mismatch");
+    }
+    return chunks(attachment);
+  }
+
+  /**
+   * Assemble the chunks into the attachment's content once they cover exactly {@code size} bytes.
+   * If assembly fails the chunks are kept, so completing can simply be retried.
+   */
+  public void complete(final UUID id, final long size) throws IOException {
+    if (size <= 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size must be positive");
+    }
+    final Attachment attachment =
+        attachmentRepository.findById(id).orElseThrow(NotFoundException::new);
+    if (!Attachment.UPLOADING.equals(attachment.getUploadStatus())) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "No chunked upload in progress");
+    }
+    final List<BlobInfo> chunks = blobStore.list(chunkPrefix(id));
+    if (chunks.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT, "No chunks received");
+    }
+    long covered = 0;
+    for (final BlobInfo chunk : chunks) {
+      if (offset(chunk) != covered) {
+        throw new ResponseStatusException(
+            HttpStatus.CONFLICT, "Chunks do not line up at offset " + covered);
+      }
+      covered += chunk.size();
+    }
+    if (covered != size) {
+      throw new ResponseStatusException(
+          HttpStatus.CONFLICT, "Received " + covered + " of " + size + " bytes");
+    }
+    final StagedContent staged;
+    try (InputStream joined = new SequenceInputStream(opening(chunks.iterator()))) {
+      staged = contentStore.stage(joined, maxUploadBytes);
+    }
+    try {
+      attachmentService.attachContent(id, staged, null);
+    } finally {
+      contentStore.discard(staged);
+    }
+    deleteChunks(chunks);
+  }
+
+  /** Abandon a chunked upload, dropping whatever was received. */
+  public void discard(final UUID id) throws IOException {
+    final Attachment attachment =
+        attachmentRepository.findById(id).orElseThrow(NotFoundException::new);
+    deleteChunks(blobStore.list(chunkPrefix(id)));
+    if (Attachment.UPLOADING.equals(attachment.getUploadStatus())) {
+      attachment.setUploadStatus(Attachment.FAILED);
+      attachmentRepository.save(attachment);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${blobs.chunks.cleanup-interval-ms:3600000}")
+  public void expireAbandonedUploads() throws IOException {
+    final Map<UUID, List<BlobInfo>> uploads = new LinkedHashMap<>();
+    for (final BlobInfo chunk : blobStore.list(CHUNKS)) {
+      final UUID id = attachmentId(chunk);
+      if (id == null) {
+        // not written by this service; leave it for whoever put it there
+        log.debug("Skipping {}, not an upload chunk", chunk.key());
+        continue;
+      }
+      uploads.computeIfAbsent(id, key -> new ArrayList<>()).add(chunk);
+    }
+    final Instant cutoff = Instant.now().minus(expireAfter);
+    uploads.forEach(
+        (id, chunks) -> {
+          final boolean idle =
+              chunks.stream().allMatch(chunk -> chunk.lastModified().isBefore(cutoff));
+          final Attachment attachment = attachmentRepository.findById(id).orElse(null);
+          if (!idle && attachment != null) {
+            return;
+          }
+          log.info("Discarding {} chunks of abandoned upload for attachment {}", chunks.size(), id);
+          deleteChunks(chunks);
+          if (attachment != null && Attachment.UPLOADING.equals(attachment.getUploadStatus())) {
+            attachment.setUploadStatus(Attachment.FAILED);
+            attachmentRepository.save(attachment);
+          }
+        });
+  }
+
+  /** The most bytes the chunks of an upload may add up to. */
+  private long uploadLimit(final Attachment attachment) {
+    final Long declared = attachment.getSizeBytes();
+    return declared != null && declared > 0 ? Math.min(declared, maxUploadBytes) : maxUploadBytes;
+  }
+
+  private AttachmentChunks chunks(final Attachment attachment) throws IOException {
+    final List<AttachmentChunks.Chunk> chunks =
+        blobStore.list(chunkPrefix(attachment.getId())).stream()
+            .map(chunk -> new AttachmentChunks.Chunk(offset(chunk), chunk.size()))
+            .toList();
+    final long received = chunks.stream().mapToLong(AttachmentChunks.Chunk::length).sum();
+    return new AttachmentChunks(attachment.getUploadStatus(), received, chunks);
+  }
+
+  private void deleteChunks(final List<BlobInfo> chunks) {
+    for (final BlobInfo chunk : chunks) {
+      try {
+        blobStore.delete(chunk.key());
+      } catch (final IOException e) {
+        log.warn("Could not delete upload chunk {}: {}", chunk.key(), e.getMessage());
+      }
+    }
+  }
+
+  /** Opens each chunk only when the previous one has been read. */
+  private Enumeration<InputStream> opening(final Iterator<BlobInfo> chunks) {
+    return new Enumeration<>() {
+      @Override
+      public boolean hasMoreElements() {
+        return chunks.hasNext();
+      }
+
+      @Override
+      public InputStream nextElement() {
+        try {
+          return blobStore.open(chunks.next().key());
+        } catch (final IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+    };
+  }
+
+  private static String chunkPrefix(final UUID id) {
+    return CHUNKS + "/" + id;
+  }
+
+  // zero-padded so key order is offset order
+  private static String chunkKey(final UUID id, final long offset) {
+    return chunkPrefix(id) + "/%019d".formatted(offset);
+  }
+
+  private static long offset(final BlobInfo chunk) {
+    return Long.parseLong(chunk.key().substring(chunk.key().lastIndexOf('/') + 1));
+  }
+
+  /** The chunk's attachment, or null if the key isn't {@code chunks/<uuid>/<offset>}. */
+  private static UUID attachmentId(final BlobInfo chunk) {
+    final String[] parts = chunk.key().split("/");
+    if (parts.length != 3 || !parts[2].chars().allMatch(Character::isDigit)) {
+      return null;
+    }
+    try {
+      return UUID.fromString(parts[1]);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
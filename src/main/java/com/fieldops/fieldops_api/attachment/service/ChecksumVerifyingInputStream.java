@@ -0,0 +1,77 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Passes a stream through while hashing it with SHA-256, and fails the read that reaches the end if
+ * the hash is not the expected one. A blob store writing from this stream therefore aborts before
+ * publishing content that arrived corrupted.
+ */
+final class ChecksumVerifyingInputStream extends FilterInputStream {
+
+  static final class MismatchException extends IOException {
+
+    MismatchException() {
+      super("SHA-256 of the content does not match");
+    }
+  }
+
+  private final MessageDigest digest;
+  private final byte[] expected;
+  private Boolean matches;
+
+  ChecksumVerifyingInputStream(final InputStream in, final byte[] expectedSha256) {
+    super(in);
+    try {
+      this.digest = MessageDigest.getInstance("SHA-256");
+    } catch (final NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+    this.expected = expectedSha256;
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int b = super.read();
+    if (b == -1) {
+      verify();
+    } else {
+      digest.update((byte) b);
+    }
+    return b;
+  }
+
+  @Override
+  public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+    final int read = super.read(buffer, offset, length);
+    if (read == -1) {
+      verify();
+    } else {
+      digest.update(buffer, offset, read);
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    throw new IOException("skip would bypass the checksum");
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  private void verify() throws MismatchException {
+    if (matches == null) {
+      matches = MessageDigest.isEqual(digest.digest(), expected);
+    }
+    if (!matches) {
+      throw new MismatchException();
+    }
+  }
+}
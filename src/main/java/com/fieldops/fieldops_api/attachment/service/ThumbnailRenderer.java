@@ -0,0 +1,142 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Scales an image down to JPEG thumbnails that fit within square bounds, keeping aspect ratio.
+ *
+ * <p>The source is decoded with subsampling, so a 12-megapixel photo is never held at full size:
+ * only at about twice the largest thumbnail. Smaller sizes are then scaled from the next larger
+ * one, halving at most each step, which keeps bilinear scaling sharp without a slow filter.
+ * Images already smaller than a size are not enlarged.
+ */
+final class ThumbnailRenderer {
+
+  private static final float JPEG_QUALITY = 0.85f;
+
+  private final int[] sizes;
+  private final long maxSourcePixels;
+
+  /**
+   * {@code sizes} are the bounding-box edges in pixels; images with more than {@code
+   * maxSourcePixels} pixels are refused before decoding.
+   */
+  ThumbnailRenderer(final int[] sizes, final long maxSourcePixels) {
+    this.sizes = Arrays.stream(sizes).sorted().toArray();
+    this.maxSourcePixels = maxSourcePixels;
+  }
+
+  static boolean canRead(final String mimeType) {
+    return mimeType != null && ImageIO.getImageReadersByMIMEType(mimeType).hasNext();
+  }
+
+  /**
+   * JPEG bytes for each size, or an empty map if the content isn't a readable image.
+   *
+   * @throws IIOException if the image is corrupt or too large, so retrying won't help
+   */
+  Map<Integer, byte[]> render(final InputStream content) throws IOException {
+    BufferedImage image = decode(content, sizes[sizes.length - 1] * 2);
+    if (image == null) {
+      return Map.of();
+    }
+    final Map<Integer, byte[]> thumbnails = new LinkedHashMap<>();
+    for (int i = sizes.length - 1; i >= 0; i--) {
+      image = fit(image, sizes[i]);
+      thumbnails.put(sizes[i], jpeg(image));
+    }
+    return thumbnails;
+  }
+
+  private BufferedImage decode(final InputStream content, final int maxEdge)
+      throws IOException {
+    try (ImageInputStream in = ImageIO.createImageInputStream(content)) {
+      final Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+      if (readers == null || !readers.hasNext()) {
+        return null;
+      }
+      final ImageReader reader = readers.next();
+      try {
+        reader.setInput(in, true, true);
+        final int width = reader.getWidth(0);
+        final int height = reader.getHeight(0);
+        if ((long) width * height > maxSourcePixels) {
+          throw new IIOException("Image of %dx%d pixels is too large".formatted(width, height));
+        }
+        final int edge = Math.max(width, height);
+        final ImageReadParam param = reader.getDefaultReadParam();
+        final int step = Math.max(1, edge / maxEdge);
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /** Scale down to fit {@code bound}, halving at most per pass, onto an opaque RGB canvas. */
+  private static BufferedImage fit(final BufferedImage source, final int bound) {
+    BufferedImage image = source;
+    final double scale =
+        Math.min(1.0, (double) bound / Math.max(image.getWidth(), image.getHeight()));
+    final int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+    final int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+    do {
+      final int w = Math.max(width, image.getWidth() / 2);
+      final int h = Math.max(height, image.getHeight() / 2);
+      image = draw(image, w, h);
+    } while (image.getWidth() > width || image.getHeight() > height);
+    return image;
+  }
+
+  private static BufferedImage draw(final BufferedImage source, final int width, final int height) {
+    final BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    final Graphics2D g = target.createGraphics();
+    try {
+      g.setRenderingHint(
+          RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      // JPEG has no alpha; transparent areas become white rather than black
+      g.setColor(Color.WHITE);
+      g.fillRect(0, 0, width, height);
+      g.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      g.dispose();
+    }
+    return target;
+  }
+
+  private static byte[] jpeg(final BufferedImage image) throws IOException {
+    final ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+      writer.setOutput(out);
+      final ImageWriteParam param = writer.getDefaultWriteParam();
+      param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+      param.setCompressionQuality(JPEG_QUALITY);
+      writer.write(null, new IIOImage(image, null, null), param);
+    } finally {
+      writer.dispose();
+    }
+    return bytes.toByteArray();
+  }
+}
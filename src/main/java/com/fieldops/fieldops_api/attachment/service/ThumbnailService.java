@@ -0,0 +1,222 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.events.AttachmentContentDeleted;
+import com.fieldops.fieldops_api.events.AttachmentContentStored;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.IIOException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * JPEG thumbnails of image attachments, in each of {@code attachments.thumbnails.sizes}, stored in
+ * the blob store under {@code thumbnails/<sha256>/<size>}.
+ *
+ * <p>Thumbnails are keyed by content hash, so attachments sharing content share thumbnails, and
+ * they are never rewritten once stored. They are generated once content is stored, on a fixed pool
+ * of {@code threads} platform threads since scaling is CPU-bound, fed from a queue of at most
+ * {@code queue-capacity} jobs, once the transaction storing the content has committed. When the
+ * queue is full the job is dropped and counted; the thumbnail endpoint queues it again on first
+ * request, answering 503 if the queue is still full. Content that can't be decoded, or is over
+ * {@code max-source-pixels}, is remembered so it isn't tried again.
+ *
+ * <p>Thumbnails are deleted with their content. A job still rendering when the content is deleted
+ * checks the content is there after writing, and deletes what it wrote if not.
+ */
+@Service
+public class ThumbnailService {
+
+  public static final String MIME_TYPE = "image/jpeg";
+
+  private static final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+  private static final String PREFIX = "thumbnails/";
+
+  private final BlobStore blobStore;
+  private final ThumbnailRenderer renderer;
+  private final int[] sizes;
+  private final BlockingQueue<Runnable> queue;
+  private final ThreadPoolExecutor workers;
+  // hashes queued or being rendered, so repeated requests don't queue the same work
+  private final Set<String> pending = ConcurrentHashMap.newKeySet();
+  // content that turned out not to be a readable image despite its mime type, or too large
+  private final Set<String> unreadable = ConcurrentHashMap.newKeySet();
+  private final Counter done;
+  private final Counter failed;
+  private final Counter rejected;
+
+  public ThumbnailService(
+      final BlobStore blobStore,
+      final MeterRegistry meterRegistry,
+      @Value("${attachments.thumbnails.sizes:128,256,512}") final List<Integer> sizes,
+      @Value("${attachments.thumbnails.threads:0}") final int threads,
+      @Value("${attachments.thumbnails.queue-capacity:1000}") final int queueCapacity,
+      @Value("${attachments.thumbnails.max-source-pixels:100000000}") final long maxSourcePixels) {
+    this.blobStore = blobStore;
+    this.sizes = sizes.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+    this.renderer = new ThumbnailRenderer(this.sizes, maxSourcePixels);
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    final int poolSize =
+        threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    final AtomicInteger threadCount = new AtomicInteger();
+    this.workers =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0,
+            TimeUnit.MILLISECONDS,
+            queue,
+            task -> {
+              final Thread thread =
+                  new Thread(task, "attachment-thumbnails-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              thread.setPriority(Thread.NORM_PRIORITY - 1);
+              return thread;
+            });
+    this.done = meterRegistry.counter("attachment.thumbnails.generated", "result", "done");
+    this.failed = meterRegistry.counter("attachment.thumbnails.generated", "result", "failed");
+    this.rejected = meterRegistry.counter("attachment.thumbnails.generated", "result", "rejected");
+    Gauge.builder("attachment.thumbnails.queue", queue, BlockingQueue::size)
+        .register(meterRegistry);
+    Gauge.builder("attachment.thumbnails.active", workers, ThreadPoolExecutor::getActiveCount)
+        .register(meterRegistry);
+  }
+
+  public static boolean supports(final String mimeType) {
+    return ThumbnailRenderer.canRead(mimeType);
+  }
+
+  /** The smallest size covering {@code requested}, else the largest; the smallest if null. */
+  public int sizeFor(final Integer requested) {
+    if (requested == null) {
+      return sizes[0];
+    }
+    return Arrays.stream(sizes)
+        .filter(size -> size >= requested)
+        .findFirst()
+        .orElse(sizes[sizes.length - 1]);
+  }
+
+  public static String blobKey(final String sha256, final int size) {
+    return PREFIX + sha256 + "/" + size;
+  }
+
+  public boolean exists(final String key) throws IOException {
+    return blobStore.stat(key).isPresent();
+  }
+
+  public boolean isUnreadable(final String sha256) {
+    return unreadable.contains(sha256);
+  }
+
+  /** Queue thumbnails for a caller waiting on them; 503 if the queue is full. */
+  public void requestNow(final String sha256) {
+    if (!request(sha256)) {
+      throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Thumbnails are busy");
+    }
+  }
+
+  /** Queue thumbnails for the content unless already queued; false if the queue is full. */
+  public boolean request(final String sha256) {
+    if (!pending.add(sha256)) {
+      return true;
+    }
+    try {
+      workers.execute(() -> generate(sha256));
+      return true;
+    } catch (final RejectedExecutionException e) {
+      pending.remove(sha256);
+      rejected.increment();
+      return false;
+    }
+  }
+
+  @TransactionalEventListener(value = AttachmentContentStored.class, fallbackExecution = true)
+  public void on(final AttachmentContentStored event) {
+    if (supports(event.getMimeType())) {
+      request(event.getSha256());
+    }
+  }
+
+  @EventListener(AttachmentContentDeleted.class)
+  public void on(final AttachmentContentDeleted event) throws IOException {
+    unreadable.remove(event.getSha256());
+    deleteThumbnails(event.getSha256());
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    // queued jobs are dropped; their thumbnails are requested again when first fetched
+    workers.shutdownNow();
+    workers.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void generate(final String sha256) {
+    try {
+      if (blobStore.stat(blobKey(sha256, sizes[0])).isPresent()) {
+        // written by an earlier job; the smallest size is stored last
+        return;
+      }
+      final Map<Integer, byte[]> thumbnails;
+      try (InputStream content = blobStore.open(AttachmentContentStore.blobKey(sha256))) {
+        thumbnails = renderer.render(content);
+      }
+      if (thumbnails.isEmpty()) {
+        log.debug("Content {} is not a readable image", sha256);
+        unreadable.add(sha256);
+        failed.increment();
+        return;
+      }
+      for (final Map.Entry<Integer, byte[]> thumbnail : thumbnails.entrySet()) {
+        final byte[] jpeg = thumbnail.getValue();
+        blobStore.write(
+            blobKey(sha256, thumbnail.getKey()), new ByteArrayInputStream(jpeg), jpeg.length);
+      }
+      if (blobStore.stat(AttachmentContentStore.blobKey(sha256)).isEmpty()) {
+        // deleted while rendering, perhaps before these were written for the delete to find
+        deleteThumbnails(sha256);
+        return;
+      }
+      done.increment();
+    } catch (final IIOException e) {
+      log.debug("Content {} is not a usable image: {}", sha256, e.getMessage());
+      unreadable.add(sha256);
+      failed.increment();
+    } catch (final IOException | RuntimeException e) {
+      failed.increment();
+      log.warn("Could not generate thumbnails for {}: {}", sha256, e.getMessage());
+    } finally {
+      pending.remove(sha256);
+    }
+  }
+
+  private void deleteThumbnails(final String sha256) throws IOException {
+    for (final BlobInfo thumbnail : blobStore.list(PREFIX + sha256)) {
+      blobStore.delete(thumbnail.key());
+    }
+  }
+}
@@ -7,8 +7,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -19,6 +21,15 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(
+    indexes = {
+      @Index(
+          name = "idx_audit_log_table_name_record_id_changed_at",
+          columnList = "table_name, record_id, changed_at, id"),
+      @Index(
+          name = "idx_audit_log_changed_by_user_changed_at",
+          columnList = "changed_by_user_id, changed_at, id")
+    })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -0,0 +1,16 @@
+package com.fieldops.fieldops_api.audit_log.model;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A record's fields as of {@code at}, rebuilt from its audit history; {@code changedAt} is when the
+ * last change before then happened. Fields that were null at the time are left out.
+ */
+public record AuditRecordState(
+    String tableName,
+    UUID recordId,
+    OffsetDateTime at,
+    OffsetDateTime changedAt,
+    Map<String, Object> values) {}
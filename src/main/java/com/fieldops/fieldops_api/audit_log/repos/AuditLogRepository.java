@@ -1,10 +1,50 @@
 package com.fieldops.fieldops_api.audit_log.repos;
 
 import com.fieldops.fieldops_api.audit_log.domain.AuditLog;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
 
   AuditLog findFirstByChangedByUserId(UUID id);
+
+  List<AuditLog> findByTableNameAndRecordIdAndChangedAtLessThanEqualOrderByChangedAt(
+      String tableName, UUID recordId, OffsetDateTime at);
+
+  /** A record's changes after the keyset {@code (changedAt, id)}, oldest first. */
+  @Query(
+      """
+      select a from AuditLog a
+      where a.tableName = :tableName and a.recordId = :recordId
+        and a.changedAt >= :changedAt and (a.changedAt > :changedAt or a.id > :id)
+      order by a.changedAt, a.id
+      """)
+  List<AuditLog> findRecordTimeline(
+      String tableName, UUID recordId, OffsetDateTime changedAt, UUID id, Limit limit);
+
+  /** A user's changes after the keyset {@code (changedAt, id)} and before {@code to}. */
+  @Query(
+      """
+      select a from AuditLog a
+      where a.changedByUser.id = :changedByUser and a.changedAt < :to
+        and a.changedAt >= :changedAt and (a.changedAt > :changedAt or a.id > :id)
+      order by a.changedAt, a.id
+      """)
+  List<AuditLog> findUserTimeline(
+      UUID changedByUser, OffsetDateTime to, OffsetDateTime changedAt, UUID id, Limit limit);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<AuditLog> streamAllBy();
 }
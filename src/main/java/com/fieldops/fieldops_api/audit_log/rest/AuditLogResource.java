@@ -1,10 +1,15 @@
 package com.fieldops.fieldops_api.audit_log.rest;
 
 import com.fieldops.fieldops_api.audit_log.model.AuditLogDTO;
+import com.fieldops.fieldops_api.audit_log.model.AuditRecordState;
 import com.fieldops.fieldops_api.audit_log.service.AuditLogService;
+import com.fieldops.fieldops_api.util.CursorPage;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,16 +20,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/auditLogs", produces = MediaType.APPLICATION_JSON_VALUE)
 public class AuditLogResource {
 
   private final AuditLogService auditLogService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public AuditLogResource(final AuditLogService auditLogService) {
+  public AuditLogResource(
+      final AuditLogService auditLogService, final NdjsonExporter ndjsonExporter) {
     this.auditLogService = auditLogService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +42,47 @@ public class AuditLogResource {
     return ResponseEntity.ok(auditLogService.findAll());
   }
 
+  @GetMapping(params = "recordId")
+  public ResponseEntity<CursorPage<AuditLogDTO>> getRecordTimeline(
+      @RequestParam(name = "tableName") final String tableName,
+      @RequestParam(name = "recordId") final UUID recordId,
+      @RequestParam(name = "after", required = false) final UUID after,
+      @RequestParam(name = "limit", required = false) final Integer limit) {
+    return ResponseEntity.ok(
+        auditLogService.findRecordTimeline(
+            tableName, recordId, after, CursorPage.clampLimit(limit)));
+  }
+
+  @GetMapping(params = "changedByUser")
+  public ResponseEntity<CursorPage<AuditLogDTO>> getUserTimeline(
+      @RequestParam(name = "changedByUser") final UUID changedByUser,
+      @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime from,
+      @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime to,
+      @RequestParam(name = "after", required = false) final UUID after,
+      @RequestParam(name = "limit", required = false) final Integer limit) {
+    return ResponseEntity.ok(
+        auditLogService.findUserTimeline(
+            changedByUser, from, to, after, CursorPage.clampLimit(limit)));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportAuditLogs() {
+    return ResponseEntity.ok(ndjsonExporter.export(auditLogService::streamAll));
+  }
+
+  @GetMapping("/state")
+  public ResponseEntity<AuditRecordState> getAuditRecordState(
+      @RequestParam(name = "tableName") final String tableName,
+      @RequestParam(name = "recordId") final UUID recordId,
+      @RequestParam(name = "at", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime at) {
+    return ResponseEntity.ok(
+        auditLogService.stateAt(tableName, recordId, at == null ? OffsetDateTime.now() : at));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<AuditLogDTO> getAuditLog(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(auditLogService.get(id));
@@ -0,0 +1,276 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.HttpServletRequest;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Records every committed insert, update and delete of an entity as an audit record.
+ *
+ * <p>Registered with Hibernate's post-commit events, so rolled-back changes are never audited and
+ * nothing here runs inside the caller's transaction. The listener only snapshots the change and
+ * request details and hands them to {@link AuditLogWriter}; the insert happens later on the
+ * writer's thread. Entities listed in {@code audit.exclude}, which by default are the audit, sync
+ * bookkeeping and GPS tables, and entities without a UUID id are skipped.
+ *
+ * <p>Writes that bypass Hibernate are not seen here. Those that change audited data report
+ * themselves through {@link #recordAfterCommit}, as work order event ingestion does. The others
+ * are left out on purpose: the {@code engineer_last_location} upserts and {@code sync_queue}
+ * status updates touch excluded tables, and {@code attachment_content} is keyed by hash and only
+ * holds reference counts.
+ *
+ * <p>Only what changed is kept: an insert stores its non-null fields as {@code newValues}, an
+ * update stores just the fields it changed, before and after, and a delete stores the last non-null
+ * fields as {@code oldValues}. Replaying a record's rows in order therefore rebuilds its state at
+ * any point, which is what {@link AuditLogService#stateAt} does. An update that changes only
+ * bookkeeping fields ({@code lastUpdated}, {@code changeVersion}, {@code version}) is not
+ * recorded. Properties listed in {@code audit.redact}, by default {@code password}, are stored as
+ * {@value #REDACTED}: a change to them still shows, but not their value, since the audit log is
+ * readable by every dispatcher.
+ */
+@Component
+public class AuditEventListener
+    implements PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+  public static final String DEVICE_ID_HEADER = "X-Device-Id";
+
+  static final String REDACTED = "[redacted]";
+
+  // bumped by every update, and changedAt already says when
+  private static final Set<String> UNAUDITED_PROPERTIES =
+      Set.of("lastUpdated", "changeVersion", "version");
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final AuditLogWriter writer;
+  private final Set<String> excluded;
+  private final Set<String> redacted;
+
+  public AuditEventListener(
+      final EntityManagerFactory entityManagerFactory,
+      final AuditLogWriter writer,
+      @Value(
+              "${audit.exclude:AuditLog,SyncQueue,OfflineChangesLog,DeviceSyncState,"
+                  + "EngineerLocation,EngineerLastLocation}")
+          final List<String> excluded,
+      @Value("${audit.redact:password}") final List<String> redacted) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.writer = writer;
+    this.excluded = Set.copyOf(excluded);
+    this.redacted = Set.copyOf(redacted);
+  }
+
+  @PostConstruct
+  void register() {
+    final EventListenerRegistry registry =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+    registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+    registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+    registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(final EntityPersister persister) {
+    return !excluded.contains(simpleName(persister));
+  }
+
+  @Override
+  public void onPostInsert(final PostInsertEvent event) {
+    record(
+        event.getPersister(),
+        event.getId(),
+        "INSERT",
+        null,
+        values(event.getPersister(), event.getState()));
+  }
+
+  @Override
+  public void onPostUpdate(final PostUpdateEvent event) {
+    final EntityPersister persister = event.getPersister();
+    final String[] names = persister.getPropertyNames();
+    final Type[] types = persister.getPropertyTypes();
+    final Object[] oldState = event.getOldState();
+    final Object[] state = event.getState();
+    final Map<String, Object> oldValues = new LinkedHashMap<>();
+    final Map<String, Object> newValues = new LinkedHashMap<>();
+    for (int i = 0; i < names.length; i++) {
+      if (!audited(names[i], types[i])) {
+        continue;
+      }
+      // without the loaded state (a detached entity updated blind) every field counts as changed
+      if (oldState != null) {
+        if (types[i].isEqual(oldState[i], state[i])) {
+          continue;
+        }
+        oldValues.put(names[i], value(names[i], types[i], oldState[i]));
+      }
+      newValues.put(names[i], value(names[i], types[i], state[i]));
+    }
+    if (!newValues.isEmpty()) {
+      record(persister, event.getId(), "UPDATE", oldState == null ? null : oldValues, newValues);
+    }
+  }
+
+  @Override
+  public void onPostDelete(final PostDeleteEvent event) {
+    record(
+        event.getPersister(),
+        event.getId(),
+        "DELETE",
+        values(event.getPersister(), event.getDeletedState()),
+        null);
+  }
+
+  @Override
+  public void onPostInsertCommitFailed(final PostInsertEvent event) {}
+
+  @Override
+  public void onPostUpdateCommitFailed(final PostUpdateEvent event) {}
+
+  @Override
+  public void onPostDeleteCommitFailed(final PostDeleteEvent event) {}
+
+  /**
+   * Audit a change written without Hibernate, say by plain JDBC, once the current transaction
+   * commits; without a transaction it is audited right away. Values follow the same rules as for
+   * entities: property names as keys, associations as ids, bookkeeping fields left out.
+   */
+  public void recordAfterCommit(
+      final String tableName,
+      final UUID recordId,
+      final String operation,
+      final Map<String, Object> oldValues,
+      final Map<String, Object> newValues) {
+    // request details are only at hand now, on the caller's thread
+    final AuditRecord record = record(tableName, recordId, operation, oldValues, newValues);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      writer.enqueue(record);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            writer.enqueue(record);
+          }
+        });
+  }
+
+  private void record(
+      final EntityPersister persister,
+      final Object id,
+      final String operation,
+      final Map<String, Object> oldValues,
+      final Map<String, Object> newValues) {
+    if (id instanceof UUID recordId) {
+      writer.enqueue(record(tableName(persister), recordId, operation, oldValues, newValues));
+    }
+  }
+
+  private static AuditRecord record(
+      final String tableName,
+      final UUID recordId,
+      final String operation,
+      final Map<String, Object> oldValues,
+      final Map<String, Object> newValues) {
+    final HttpServletRequest request = currentRequest();
+    return new AuditRecord(
+        UUID.randomUUID(),
+        tableName,
+        recordId,
+        operation,
+        oldValues,
+        newValues,
+        OffsetDateTime.now(),
+        request == null ? null : request.getRemoteAddr(),
+        request == null ? null : request.getHeader("User-Agent"),
+        request == null ? null : request.getHeader(DEVICE_ID_HEADER),
+        currentUserId());
+  }
+
+  /** The non-null audited properties of a whole row, as an insert or delete leaves them. */
+  private Map<String, Object> values(final EntityPersister persister, final Object[] state) {
+    if (state == null) {
+      return null;
+    }
+    final String[] names = persister.getPropertyNames();
+    final Type[] types = persister.getPropertyTypes();
+    final Map<String, Object> values = new LinkedHashMap<>();
+    for (int i = 0; i < names.length; i++) {
+      if (audited(names[i], types[i]) && state[i] != null) {
+        values.put(names[i], value(names[i], types[i], state[i]));
+      }
+    }
+    return values;
+  }
+
+  /** A property value as stored, with associations reduced to their ids and secrets masked. */
+  private Object value(final String property, final Type type, final Object value) {
+    if (redacted.contains(property) && value != null) {
+      return REDACTED;
+    }
+    if (type.isEntityType() && value != null) {
+      // works on uninitialized proxies too, without loading them
+      return entityManagerFactory.getPersistenceUnitUtil().getIdentifier(value);
+    }
+    return value;
+  }
+
+  private static boolean audited(final String property, final Type type) {
+    return !type.isCollectionType() && !UNAUDITED_PROPERTIES.contains(property);
+  }
+
+  private static String simpleName(final EntityPersister persister) {
+    final String name = persister.getEntityName();
+    return name.substring(name.lastIndexOf('.') + 1);
+  }
+
+  /** Snake case of the entity name, matching the table names used by sync. */
+  private static String tableName(final EntityPersister persister) {
+    return simpleName(persister).replaceAll("([a-z0-9])([A-Z])", "$1_$2").toLowerCase();
+  }
+
+  private static HttpServletRequest currentRequest() {
+    final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    return attributes instanceof ServletRequestAttributes servletAttributes
+        ? servletAttributes.getRequest()
+        : null;
+  }
+
+  private static UUID currentUserId() {
+    final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    return authentication != null && authentication.getPrincipal() instanceof UUID userId
+        ? userId
+        : null;
+  }
+}
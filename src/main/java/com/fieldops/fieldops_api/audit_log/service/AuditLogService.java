@@ -2,28 +2,48 @@ package com.fieldops.fieldops_api.audit_log.service;
 
 import com.fieldops.fieldops_api.audit_log.domain.AuditLog;
 import com.fieldops.fieldops_api.audit_log.model.AuditLogDTO;
+import com.fieldops.fieldops_api.audit_log.model.AuditRecordState;
 import com.fieldops.fieldops_api.audit_log.repos.AuditLogRepository;
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
+import com.fieldops.fieldops_api.util.CursorPage;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class AuditLogService {
 
+  // before any audit row, so a first page starts from the beginning of a timeline
+  private static final OffsetDateTime TIMELINE_START = Instant.EPOCH.atOffset(ZoneOffset.UTC);
+  private static final UUID FIRST_ID = new UUID(0, 0);
+
   private final AuditLogRepository auditLogRepository;
   private final UserRepository userRepository;
+  private final AuditValuesCodec codec;
 
   public AuditLogService(
-      final AuditLogRepository auditLogRepository, final UserRepository userRepository) {
+      final AuditLogRepository auditLogRepository,
+      final UserRepository userRepository,
+      final AuditValuesCodec codec) {
     this.auditLogRepository = auditLogRepository;
     this.userRepository = userRepository;
+    this.codec = codec;
   }
 
   public List<AuditLogDTO> findAll() {
@@ -31,6 +51,45 @@ public class AuditLogService {
     return auditLogs.stream().map(auditLog -> mapToDTO(auditLog, new AuditLogDTO())).toList();
   }
 
+  public Stream<AuditLogDTO> streamAll() {
+    return auditLogRepository.streamAllBy().map(auditLog -> mapToDTO(auditLog, new AuditLogDTO()));
+  }
+
+  /** One page of a record's changes, oldest first, continuing after audit row {@code after}. */
+  public CursorPage<AuditLogDTO> findRecordTimeline(
+      final String tableName, final UUID recordId, final UUID after, final int limit) {
+    final AuditLog cursor = cursor(after);
+    return page(
+        auditLogRepository.findRecordTimeline(
+            tableName,
+            recordId,
+            cursor == null ? TIMELINE_START : cursor.getChangedAt(),
+            cursor == null ? FIRST_ID : cursor.getId(),
+            Limit.of(limit + 1)),
+        limit);
+  }
+
+  /** One page of the changes a user made in {@code [from, to)}, oldest first. */
+  public CursorPage<AuditLogDTO> findUserTimeline(
+      final UUID changedByUser,
+      final OffsetDateTime from,
+      final OffsetDateTime to,
+      final UUID after,
+      final int limit) {
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+    final AuditLog cursor = cursor(after);
+    return page(
+        auditLogRepository.findUserTimeline(
+            changedByUser,
+            to,
+            cursor == null ? from : cursor.getChangedAt(),
+            cursor == null ? FIRST_ID : cursor.getId(),
+            Limit.of(limit + 1)),
+        limit);
+  }
+
   public AuditLogDTO get(final UUID id) {
     return auditLogRepository
         .findById(id)
@@ -38,6 +97,38 @@ public class AuditLogService {
         .orElseThrow(NotFoundException::new);
   }
 
+  /**
+   * Rebuild a record's fields as of {@code at} by replaying its audit rows in order: an insert sets
+   * them, each update overwrites the fields it changed, a delete clears them. History recorded
+   * before auditing started is unknown, so a record first seen through an update comes back with
+   * only the fields changed since.
+   */
+  public AuditRecordState stateAt(
+      final String tableName, final UUID recordId, final OffsetDateTime at) {
+    final List<AuditLog> history =
+        auditLogRepository.findByTableNameAndRecordIdAndChangedAtLessThanEqualOrderByChangedAt(
+            tableName, recordId, at);
+    Map<String, Object> values = null;
+    for (final AuditLog auditLog : history) {
+      if ("DELETE".equals(auditLog.getOperation())) {
+        values = null;
+        continue;
+      }
+      if (values == null || "INSERT".equals(auditLog.getOperation())) {
+        values = new LinkedHashMap<>();
+      }
+      final Map<String, Object> changes = codec.decode(auditLog.getNewValues());
+      if (changes != null) {
+        values.putAll(changes);
+      }
+    }
+    if (values == null) {
+      throw new NotFoundException();
+    }
+    values.values().removeIf(Objects::isNull);
+    return new AuditRecordState(tableName, recordId, at, history.getLast().getChangedAt(), values);
+  }
+
   public UUID create(final AuditLogDTO auditLogDTO) {
     final AuditLog auditLog = new AuditLog();
     mapToEntity(auditLogDTO, auditLog);
@@ -55,13 +146,33 @@ public class AuditLogService {
     auditLogRepository.delete(auditLog);
   }
 
+  private AuditLog cursor(final UUID after) {
+    if (after == null) {
+      return null;
+    }
+    return auditLogRepository
+        .findById(after)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown cursor"));
+  }
+
+  /** The first {@code limit} rows; one more was fetched to tell whether another page follows. */
+  private CursorPage<AuditLogDTO> page(final List<AuditLog> auditLogs, final int limit) {
+    final List<AuditLogDTO> items =
+        auditLogs.stream()
+            .limit(limit)
+            .map(auditLog -> mapToDTO(auditLog, new AuditLogDTO()))
+            .toList();
+    final UUID nextCursor = auditLogs.size() > limit ? items.getLast().getId() : null;
+    return new CursorPage<>(items, nextCursor);
+  }
+
   private AuditLogDTO mapToDTO(final AuditLog auditLog, final AuditLogDTO auditLogDTO) {
     auditLogDTO.setId(auditLog.getId());
     auditLogDTO.setTableName(auditLog.getTableName());
     auditLogDTO.setRecordId(auditLog.getRecordId());
     auditLogDTO.setOperation(auditLog.getOperation());
-    auditLogDTO.setOldValues(auditLog.getOldValues());
-    auditLogDTO.setNewValues(auditLog.getNewValues());
+    auditLogDTO.setOldValues(codec.toJson(auditLog.getOldValues()));
+    auditLogDTO.setNewValues(codec.toJson(auditLog.getNewValues()));
     auditLogDTO.setChangedAt(auditLog.getChangedAt());
     auditLogDTO.setIpAddress(auditLog.getIpAddress());
     auditLogDTO.setUserAgent(auditLog.getUserAgent());
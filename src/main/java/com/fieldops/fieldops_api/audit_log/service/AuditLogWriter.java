@@ -0,0 +1,189 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes captured changes to {@code audit_log} off the request path.
+ *
+ * <p>Records are queued in a bounded buffer and written by one background thread in JDBC batches
+ * of up to {@code flush-rows}, at least every {@code flush-interval-ms}; values are encoded by
+ * {@link AuditValuesCodec} on that thread too. A caller only waits if the buffer is full, and then
+ * for at most {@code enqueue-timeout-ms} before the record is dropped and counted. Whatever is
+ * buffered at shutdown is written before the application context closes, and records still arriving
+ * after that, from transactions committing late in shutdown, are written by their caller. If a
+ * batch fails, its rows are retried one at a time so a single bad row (say, one naming a
+ * since-deleted user) doesn't lose the others.
+ */
+@Service
+public class AuditLogWriter {
+
+  private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+  private static final String INSERT =
+      """
+      insert into audit_log (id, table_name, record_id, operation, old_values, new_values,
+          changed_at, ip_address, user_agent, device_id, changed_by_user_id, date_created,
+          last_updated)
+      values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AuditValuesCodec codec;
+  private final BlockingQueue<AuditRecord> buffer;
+  private final int flushRows;
+  private final long flushIntervalMs;
+  private final long enqueueTimeoutMs;
+  private final Counter dropped;
+  private final Counter written;
+  private final Counter failed;
+
+  private volatile boolean running = true;
+  // set once the flusher has finished; from then on callers write their own records
+  private volatile boolean stopped;
+  private Thread flusher;
+
+  public AuditLogWriter(
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      final AuditValuesCodec codec,
+      final MeterRegistry meterRegistry,
+      @Value("${audit.buffer-capacity:65536}") final int bufferCapacity,
+      @Value("${audit.flush-rows:500}") final int flushRows,
+      @Value("${audit.flush-interval-ms:500}") final long flushIntervalMs,
+      @Value("${audit.enqueue-timeout-ms:50}") final long enqueueTimeoutMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.codec = codec;
+    this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+    this.flushRows = flushRows;
+    this.flushIntervalMs = flushIntervalMs;
+    this.enqueueTimeoutMs = enqueueTimeoutMs;
+    this.dropped = meterRegistry.counter("audit.records", "result", "dropped");
+    this.written = meterRegistry.counter("audit.records", "result", "written");
+    this.failed = meterRegistry.counter("audit.records", "result", "failed");
+    Gauge.builder("audit.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    flusher = Thread.ofPlatform().name("audit-log-writer").daemon().start(this::runFlusher);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    flusher.join();
+    stopped = true;
+    writeBuffered();
+  }
+
+  void enqueue(final AuditRecord record) {
+    try {
+      if (buffer.offer(record, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+        // checked after queueing: either stop() has yet to drain the buffer, or the caller does
+        if (stopped) {
+          writeBuffered();
+        }
+        return;
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    dropped.increment();
+    log.error(
+        "Audit buffer full, dropped {} {} of {}",
+        record.operation(),
+        record.tableName(),
+        record.recordId());
+  }
+
+  private void runFlusher() {
+    final List<AuditRecord> batch = new ArrayList<>(flushRows);
+    while (running) {
+      try {
+        final AuditRecord first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        buffer.drainTo(batch, flushRows - 1);
+        write(batch);
+        batch.clear();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private synchronized void writeBuffered() {
+    final List<AuditRecord> batch = new ArrayList<>(flushRows);
+    while (buffer.drainTo(batch, flushRows) > 0) {
+      write(batch);
+      batch.clear();
+    }
+  }
+
+  private void write(final List<AuditRecord> batch) {
+    final OffsetDateTime now = OffsetDateTime.now();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  INSERT, batch, batch.size(), (ps, record) -> bind(ps, record, now)));
+      written.increment(batch.size());
+    } catch (final RuntimeException e) {
+      log.warn("Audit batch of {} failed, retrying rows singly: {}", batch.size(), e.getMessage());
+      for (final AuditRecord record : batch) {
+        try {
+          jdbcTemplate.update(INSERT, ps -> bind(ps, record, now));
+          written.increment();
+        } catch (final RuntimeException rowFailure) {
+          failed.increment();
+          log.error(
+              "Could not write audit record for {} {}: {}",
+              record.tableName(),
+              record.recordId(),
+              rowFailure.getMessage());
+        }
+      }
+    }
+  }
+
+  private void bind(final PreparedStatement ps, final AuditRecord record, final OffsetDateTime now)
+      throws SQLException {
+    ps.setObject(1, record.id());
+    ps.setString(2, record.tableName());
+    ps.setObject(3, record.recordId());
+    ps.setString(4, record.operation());
+    ps.setString(5, codec.encode(record.oldValues()));
+    ps.setString(6, codec.encode(record.newValues()));
+    ps.setObject(7, record.changedAt());
+    ps.setString(8, record.ipAddress());
+    ps.setString(9, record.userAgent());
+    ps.setString(10, record.deviceId());
+    ps.setObject(11, record.changedByUser());
+    ps.setObject(12, now);
+    ps.setObject(13, now);
+  }
+}
@@ -0,0 +1,19 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/** A captured change waiting in {@link AuditLogWriter} to become an {@code audit_log} row. */
+record AuditRecord(
+    UUID id,
+    String tableName,
+    UUID recordId,
+    String operation,
+    Map<String, Object> oldValues,
+    Map<String, Object> newValues,
+    OffsetDateTime changedAt,
+    String ipAddress,
+    String userAgent,
+    String deviceId,
+    UUID changedByUser) {}
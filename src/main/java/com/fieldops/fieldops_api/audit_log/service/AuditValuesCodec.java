@@ -0,0 +1,114 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Converts the field maps of an audit record to and from the {@code old_values}/{@code new_values}
+ * columns.
+ *
+ * <p>Values are stored as a JSON object of field to value. With {@code audit.compression.enabled},
+ * objects of at least {@code min-bytes} are gzipped and stored base64-encoded behind a {@value
+ * #GZIP_PREFIX} marker, but only when that comes out shorter. Postgres already compresses text
+ * values over about 2 kB itself, so this mainly pays off between the threshold and that size.
+ * Reading accepts both forms, so the setting can change at any time.
+ */
+@Component
+public class AuditValuesCodec {
+
+  static final String GZIP_PREFIX = "gz:";
+
+  private static final TypeReference<LinkedHashMap<String, Object>> FIELDS =
+      new TypeReference<>() {};
+
+  private final ObjectMapper objectMapper;
+  private final boolean compress;
+  private final int compressMinBytes;
+
+  public AuditValuesCodec(
+      final ObjectMapper objectMapper,
+      @Value("${audit.compression.enabled:false}") final boolean compress,
+      @Value("${audit.compression.min-bytes:512}") final int compressMinBytes) {
+    this.objectMapper = objectMapper;
+    this.compress = compress;
+    this.compressMinBytes = compressMinBytes;
+  }
+
+  public String encode(final Map<String, Object> values) {
+    if (values == null) {
+      return null;
+    }
+    final String json;
+    try {
+      json = objectMapper.writeValueAsString(values);
+    } catch (final JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+    if (!compress || json.length() < compressMinBytes) {
+      return json;
+    }
+    final String gzipped = GZIP_PREFIX + Base64.getEncoder().encodeToString(gzip(json));
+    return gzipped.length() < json.length() ? gzipped : json;
+  }
+
+  /**
+   * The stored value as plain JSON, decompressing it if needed. A value that merely looks
+   * compressed, such as text starting with the marker written by hand through the API, comes back
+   * as stored.
+   */
+  public String toJson(final String stored) {
+    if (stored == null || !stored.startsWith(GZIP_PREFIX)) {
+      return stored;
+    }
+    try {
+      return gunzip(Base64.getDecoder().decode(stored.substring(GZIP_PREFIX.length())));
+    } catch (final IllegalArgumentException | UncheckedIOException e) {
+      return stored;
+    }
+  }
+
+  /** The stored value as a field map, or null if it is empty or not a JSON object. */
+  public Map<String, Object> decode(final String stored) {
+    final String json = toJson(stored);
+    if (json == null || json.isBlank()) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json, FIELDS);
+    } catch (final JsonProcessingException e) {
+      // rows created by hand through the API can hold anything
+      return null;
+    }
+  }
+
+  private static byte[] gzip(final String json) {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 2);
+    try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static String gunzip(final byte[] gzipped) {
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
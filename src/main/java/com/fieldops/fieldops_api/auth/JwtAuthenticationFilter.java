@@ -6,7 +6,6 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.List;
-import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
@@ -21,10 +20,12 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
   private final JwtService jwtService;
+  private final VerifiedTokenCache tokenCache;
   private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-  public JwtAuthenticationFilter(final JwtService jwtService) {
+  public JwtAuthenticationFilter(final JwtService jwtService, final VerifiedTokenCache tokenCache) {
     this.jwtService = jwtService;
+    this.tokenCache = tokenCache;
   }
 
   @Override
@@ -43,29 +44,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     try {
       final String jwt = authHeader.substring(7);
 
-      if (jwtService.isTokenValid(jwt)) {
-        final UUID userId = jwtService.extractUserId(jwt);
-        final String role = jwtService.extractRole(jwt);
+      // Single parse: signature, expiry and claims are all checked in one pass, and repeat
+      // presentations of the same token are served from the cache until it expires
+      final VerifiedToken token = tokenCache.verify(jwt, jwtService::verify);
 
-        // Create authentication token with role as authority
-        List<SimpleGrantedAuthority> authorities =
-            List.of(new SimpleGrantedAuthority("ROLE_" + role));
+      // Create authentication token with role as authority
+      List<SimpleGrantedAuthority> authorities =
+          List.of(new SimpleGrantedAuthority("ROLE_" + token.role()));
 
-        UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(userId, null, authorities);
+      UsernamePasswordAuthenticationToken authToken =
+          new UsernamePasswordAuthenticationToken(token.userId(), null, authorities);
 
-        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-        SecurityContextHolder.getContext().setAuthentication(authToken);
-      } else {
-        // Invalid token provided: fail fast with 401
-        if (log.isDebugEnabled()) {
-          log.debug("Invalid JWT presented for URI {}", request.getRequestURI());
-        }
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        return;
-      }
+      authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+      SecurityContextHolder.getContext().setAuthentication(authToken);
     } catch (Exception e) {
-      // Malformed/tampered token: return 401
+      // Malformed, tampered or expired token: fail fast with 401
       if (log.isDebugEnabled()) {
         log.debug("JWT processing failed for URI {}: {}", request.getRequestURI(), e.getMessage());
       }
@@ -1,13 +1,13 @@
 package com.fieldops.fieldops_api.auth;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.UUID;
-import java.util.function.Function;
 import javax.crypto.SecretKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
@@ -15,11 +15,19 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
-  @Value("${jwt.secret}")
-  private String secretKey;
+  private final long jwtExpiration;
 
-  @Value("${jwt.expiration:86400000}") // Default: 24 hours in milliseconds
-  private long jwtExpiration;
+  // Both are immutable and thread-safe, so they are built once instead of per call
+  private final SecretKey signingKey;
+  private final JwtParser parser;
+
+  public JwtService(
+      @Value("${jwt.secret}") final String secretKey,
+      @Value("${jwt.expiration:86400000}") final long jwtExpiration) { // Default: 24 hours in ms
+    this.jwtExpiration = jwtExpiration;
+    this.signingKey = buildSigningKey(secretKey);
+    this.parser = Jwts.parser().verifyWith(signingKey).build();
+  }
 
   public String generateToken(UUID userId, String role, String email) {
     long now = System.currentTimeMillis();
@@ -29,51 +37,54 @@ public class JwtService {
         .claim("email", email)
         .issuedAt(new Date(now))
         .expiration(new Date(now + jwtExpiration))
-        .signWith(getSigningKey())
+        .signWith(signingKey)
         .compact();
   }
 
+  /**
+   * Parse the token once, verifying its signature and expiry, and return the claims the
+   * application needs.
+   *
+   * @param token the compact JWT
+   * @return the verified claims
+   * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+   */
+  public VerifiedToken verify(String token) {
+    final Claims claims = extractAllClaims(token);
+    return new VerifiedToken(
+        UUID.fromString(claims.getSubject()),
+        claims.get("role", String.class),
+        claims.get("email", String.class),
+        claims.getExpiration().toInstant());
+  }
+
   public UUID extractUserId(String token) {
-    String subject = extractClaim(token, Claims::getSubject);
-    return UUID.fromString(subject);
+    return verify(token).userId();
   }
 
   public String extractRole(String token) {
-    return extractClaim(token, claims -> claims.get("role", String.class));
+    return verify(token).role();
   }
 
   public String extractEmail(String token) {
-    return extractClaim(token, claims -> claims.get("email", String.class));
+    return verify(token).email();
   }
 
   public boolean isTokenValid(String token) {
     try {
-      // Parsing with verification validates structure and signature
-      extractAllClaims(token);
-      return !isTokenExpired(token);
+      // Parsing with verification validates structure, signature and expiry
+      verify(token);
+      return true;
     } catch (Exception e) {
       return false;
     }
   }
 
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
-  }
-
-  private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
-    return claimsResolver.apply(claims);
-  }
-
   private Claims extractAllClaims(String token) {
-    return Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token).getPayload();
+    return parser.parseSignedClaims(token).getPayload();
   }
 
-  private SecretKey getSigningKey() {
+  private static SecretKey buildSigningKey(String secretKey) {
     byte[] decoded;
     try {
       decoded = Decoders.BASE64.decode(secretKey);
@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.auth;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -43,7 +44,11 @@ public class SecurityConfig {
                         response.sendError(HttpServletResponse.SC_UNAUTHORIZED)))
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers(HttpMethod.POST, "/auth/login")
+                // async dispatches only finish a response whose request was already authorized,
+                // e.g. SSE and streamed exports, and carry no bearer token of their own
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
+                    .requestMatchers(HttpMethod.POST, "/auth/login")
                     .permitAll()
                     .requestMatchers(HttpMethod.GET, "/")
                     .permitAll()
@@ -0,0 +1,17 @@
+package com.fieldops.fieldops_api.auth;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The claims of a bearer token whose signature and expiry have already been checked.
+ *
+ * <p>Produced once per request by {@link JwtService#verify(String)} so that callers never need to
+ * re-parse the compact token to read individual claims.
+ */
+public record VerifiedToken(UUID userId, String role, String email, Instant expiresAt) {
+
+  public boolean isExpired(final Instant now) {
+    return expiresAt.isBefore(now);
+  }
+}
@@ -0,0 +1,122 @@
+package com.fieldops.fieldops_api.auth;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-memory cache of already-verified bearer tokens.
+ *
+ * <p>Entries are keyed by the SHA-256 digest of the compact token, so raw credentials are never
+ * retained. A hit skips signature verification entirely; an entry past its {@code exp} claim is
+ * dropped on access and the token is handed back to the verifier, which rejects it exactly as
+ * {@link JwtService#isTokenValid(String)} would. When full, the least recently used entry is
+ * evicted.
+ */
+@Component
+public class VerifiedTokenCache {
+
+  private final boolean enabled;
+  private final int maxSize;
+  private final Clock clock;
+  private final Map<String, VerifiedToken> entries;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  @Autowired
+  public VerifiedTokenCache(
+      @Value("${jwt.cache.enabled:true}") final boolean enabled,
+      @Value("${jwt.cache.max-size:10000}") final int maxSize,
+      final MeterRegistry meterRegistry) {
+    this(enabled, maxSize, meterRegistry, Clock.systemUTC());
+  }
+
+  VerifiedTokenCache(
+      final boolean enabled,
+      final int maxSize,
+      final MeterRegistry meterRegistry,
+      final Clock clock) {
+    this.enabled = enabled;
+    this.maxSize = maxSize;
+    this.clock = clock;
+    this.evictions = meterRegistry.counter("jwt.cache.evictions");
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, VerifiedToken> eldest) {
+            if (size() > VerifiedTokenCache.this.maxSize) {
+              evictions.increment();
+              return true;
+            }
+            return false;
+          }
+        };
+    this.hits = meterRegistry.counter("jwt.cache.requests", "result", "hit");
+    this.misses = meterRegistry.counter("jwt.cache.requests", "result", "miss");
+    Gauge.builder("jwt.cache.size", this, VerifiedTokenCache::size).register(meterRegistry);
+  }
+
+  /**
+   * Return the verified claims for the token, running the verifier only on a cache miss.
+   *
+   * @param token the compact JWT
+   * @param verifier verifies the token, throwing if it is invalid or expired
+   * @return the verified claims
+   */
+  public VerifiedToken verify(final String token, final Function<String, VerifiedToken> verifier) {
+    if (!enabled) {
+      return verifier.apply(token);
+    }
+
+    final String key = digest(token);
+    final VerifiedToken cached;
+    synchronized (entries) {
+      cached = entries.get(key);
+    }
+
+    if (cached != null) {
+      if (!cached.isExpired(clock.instant())) {
+        hits.increment();
+        return cached;
+      }
+      synchronized (entries) {
+        entries.remove(key);
+      }
+      evictions.increment();
+    }
+
+    misses.increment();
+    final VerifiedToken verified = verifier.apply(token);
+    synchronized (entries) {
+      entries.put(key, verified);
+    }
+    return verified;
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private static String digest(final String token) {
+    try {
+      final MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+}
@@ -0,0 +1,12 @@
+package com.fieldops.fieldops_api.blob.model;
+
+import java.time.Instant;
+
+/** What a {@code BlobStore} knows about stored content; enough to answer conditional requests. */
+public record BlobInfo(String key, long size, Instant lastModified) {
+
+  /** Validator from size and modification time, so it changes whenever the content is replaced. */
+  public String etag() {
+    return "\"%x-%x\"".formatted(size, lastModified.toEpochMilli());
+  }
+}
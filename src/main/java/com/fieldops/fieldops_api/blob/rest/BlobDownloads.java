@@ -0,0 +1,100 @@
+package com.fieldops.fieldops_api.blob.rest;
+
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Sends blob content as an HTTP response, straight from the {@link BlobStore} to the response
+ * stream.
+ *
+ * <p>Responses carry {@code ETag} and {@code Last-Modified}, and a matching {@code If-None-Match}
+ * or {@code If-Modified-Since} gets a 304 with no body. A single {@code Range} gets a 206 with just
+ * those bytes, so an interrupted download can resume; {@code If-Range} is honoured with the ETag.
+ * Several ranges in one request are answered with the whole blob rather than a multipart body.
+ */
+@Component
+public class BlobDownloads {
+
+  private final BlobStore blobStore;
+
+  public BlobDownloads(final BlobStore blobStore) {
+    this.blobStore = blobStore;
+  }
+
+  public void send(
+      final String key,
+      final String contentType,
+      final String fileName,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    final BlobInfo blob = blobStore.stat(key).orElseThrow(NotFoundException::new);
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    // the same key can be uploaded again, so revalidate rather than cache blindly
+    response.setHeader(
+        HttpHeaders.CACHE_CONTROL, CacheControl.noCache().cachePrivate().getHeaderValue());
+    if (new ServletWebRequest(request, response)
+        .checkNotModified(blob.etag(), blob.lastModified().toEpochMilli())) {
+      return;
+    }
+    long start = 0;
+    long length = blob.size();
+    final HttpRange range = singleRange(request, blob);
+    if (range != null) {
+      try {
+        start = range.getRangeStart(blob.size());
+        length = range.getRangeEnd(blob.size()) - start + 1;
+      } catch (final IllegalArgumentException e) {
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + blob.size());
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(
+          HttpHeaders.CONTENT_RANGE,
+          "bytes %d-%d/%d".formatted(start, start + length - 1, blob.size()));
+    }
+    response.setContentType(
+        contentType == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : contentType);
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.inline().filename(fileName, StandardCharsets.UTF_8).build().toString());
+    response.setContentLengthLong(length);
+    if (HttpMethod.HEAD.matches(request.getMethod())) {
+      return;
+    }
+    blobStore.transferTo(key, start, length, Channels.newChannel(response.getOutputStream()));
+  }
+
+  /** The requested range, or null to send the whole blob. */
+  private static HttpRange singleRange(final HttpServletRequest request, final BlobInfo blob) {
+    final String range = request.getHeader(HttpHeaders.RANGE);
+    final String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (range == null || (ifRange != null && !ifRange.equals(blob.etag()))) {
+      return null;
+    }
+    final List<HttpRange> ranges;
+    try {
+      ranges = HttpRange.parseRanges(range);
+    } catch (final IllegalArgumentException e) {
+      // a Range header that can't be parsed is ignored
+      return null;
+    }
+    return ranges.size() == 1 ? ranges.getFirst() : null;
+  }
+}
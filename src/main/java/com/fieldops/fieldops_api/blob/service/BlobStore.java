@@ -0,0 +1,50 @@
+package com.fieldops.fieldops_api.blob.service;
+
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where attachment and signature content lives.
+ *
+ * <p>Keys are always derived by the server, never taken from a client: {@code attachments/<id>}
+ * and {@code signatures/<id>} for content stored per entity, {@code sha256/<ab>/<hash>} for
+ * attachment content shared by hash, {@code thumbnails/<hash>/<size>} for its thumbnails, {@code
+ * chunks/<id>/..} for a resumable upload in progress and {@code staging/<uuid>} for content being
+ * written before it is moved into place.
+ *
+ * <p>Implementations stream in both directions and never hold a whole blob in memory. A write
+ * becomes visible only once complete, so readers never see a partial blob. Keys are relative,
+ * {@code /}-separated paths; an implementation rejects one it can't store safely with {@link
+ * IllegalArgumentException}.
+ */
+public interface BlobStore {
+
+  /**
+   * Store {@code content} under {@code key}, replacing what was there.
+   *
+   * @throws BlobTooLargeException if the content runs past {@code maxBytes}; nothing is stored
+   */
+  BlobInfo write(String key, InputStream content, long maxBytes) throws IOException;
+
+  Optional<BlobInfo> stat(String key) throws IOException;
+
+  /** Every blob whose key starts with {@code prefix + "/"}, in key order. */
+  List<BlobInfo> list(String prefix) throws IOException;
+
+  /** Read the blob from the start; the caller closes the stream. */
+  InputStream open(String key) throws IOException;
+
+  /** Copy {@code length} bytes of the blob, starting at {@code offset}, into {@code target}. */
+  void transferTo(String key, long offset, long length, WritableByteChannel target)
+      throws IOException;
+
+  /** Atomically put the blob at {@code from} under {@code to}, replacing what was there. */
+  BlobInfo move(String from, String to) throws IOException;
+
+  /** Returns whether there was anything to delete. */
+  boolean delete(String key) throws IOException;
+}
@@ -0,0 +1,12 @@
+package com.fieldops.fieldops_api.blob.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class BlobTooLargeException extends RuntimeException {
+
+  public BlobTooLargeException(final long maxBytes) {
+    super("Content is larger than " + maxBytes + " bytes");
+  }
+}
@@ -0,0 +1,178 @@
+package com.fieldops.fieldops_api.blob.service;
+
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BlobStore} on the local filesystem under {@code blobs.local.root}, one file per key.
+ *
+ * <p>Writes stream through a fixed buffer into a temporary file in {@code .uploads}, which is
+ * synced and then atomically renamed into place. Reads use {@link FileChannel#transferTo}, which
+ * lets the kernel do the copy when the target is a file or socket and otherwise copies through
+ * mapped file pages rather than a heap buffer.
+ */
+@Component
+@ConditionalOnProperty(name = "blobs.store", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final String UPLOADS = ".uploads";
+
+  private final Path root;
+
+  public LocalBlobStore(@Value("${blobs.local.root:data/blobs}") final String root)
+      throws IOException {
+    this.root = Path.of(root).toAbsolutePath().normalize();
+    Files.createDirectories(this.root.resolve(UPLOADS));
+  }
+
+  @Override
+  public BlobInfo write(final String key, final InputStream content, final long maxBytes)
+      throws IOException {
+    final Path target = resolve(key);
+    final Path temp = Files.createTempFile(root.resolve(UPLOADS), null, null);
+    try {
+      try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        final byte[] chunk = new byte[BUFFER_SIZE];
+        final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+        long written = 0;
+        int read;
+        while ((read = content.read(chunk)) != -1) {
+          written += read;
+          if (written > maxBytes) {
+            throw new BlobTooLargeException(maxBytes);
+          }
+          buffer.clear().limit(read);
+          while (buffer.hasRemaining()) {
+            out.write(buffer);
+          }
+        }
+        out.force(true);
+      }
+      Files.createDirectories(target.getParent());
+      Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    return info(key, target);
+  }
+
+  @Override
+  public Optional<BlobInfo> stat(final String key) throws IOException {
+    final Path path = resolve(key);
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+    return Optional.of(info(key, path));
+  }
+
+  @Override
+  public List<BlobInfo> list(final String prefix) throws IOException {
+    final Path directory = resolve(prefix);
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    final List<BlobInfo> blobs = new ArrayList<>();
+    try (Stream<Path> paths = Files.walk(directory)) {
+      for (final Path path : paths.filter(Files::isRegularFile).sorted().toList()) {
+        blobs.add(info(key(path), path));
+      }
+    }
+    return blobs;
+  }
+
+  @Override
+  public InputStream open(final String key) throws IOException {
+    return Files.newInputStream(resolve(key));
+  }
+
+  @Override
+  public void transferTo(
+      final String key, final long offset, final long length, final WritableByteChannel target)
+      throws IOException {
+    try (FileChannel in = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+      long position = offset;
+      final long end = offset + length;
+      while (position < end) {
+        final long sent = in.transferTo(position, end - position, target);
+        if (sent <= 0 && position >= in.size()) {
+          // replaced by a shorter blob since it was stat'ed
+          throw new EOFException(key);
+        }
+        position += sent;
+      }
+    }
+  }
+
+  @Override
+  public BlobInfo move(final String from, final String to) throws IOException {
+    final Path target = resolve(to);
+    Files.createDirectories(target.getParent());
+    Files.move(
+        resolve(from), target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    return info(to, target);
+  }
+
+  @Override
+  public boolean delete(final String key) throws IOException {
+    final Path path = resolve(key);
+    if (!Files.deleteIfExists(path)) {
+      return false;
+    }
+    // tidy up directories the delete left empty, stopping at the first one still in use
+    for (Path directory = path.getParent();
+        !directory.equals(root) && isEmpty(directory);
+        directory = directory.getParent()) {
+      try {
+        Files.delete(directory);
+      } catch (final IOException e) {
+        break;
+      }
+    }
+    return true;
+  }
+
+  private Path resolve(final String key) {
+    final Path path = root.resolve(key).normalize();
+    // only keys already in normal form, so "a/../b" can't reach into another prefix either
+    if (!path.startsWith(root)
+        || path.equals(root)
+        || !key(path).equals(key)
+        || key.startsWith(".")) {
+      throw new IllegalArgumentException("Invalid blob key: " + key);
+    }
+    return path;
+  }
+
+  private static boolean isEmpty(final Path directory) throws IOException {
+    try (Stream<Path> entries = Files.list(directory)) {
+      return entries.findAny().isEmpty();
+    }
+  }
+
+  private String key(final Path path) {
+    return root.relativize(path).toString().replace(path.getFileSystem().getSeparator(), "/");
+  }
+
+  private static BlobInfo info(final String key, final Path path) throws IOException {
+    final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+    return new BlobInfo(key, attributes.size(), attributes.lastModifiedTime().toInstant());
+  }
+}
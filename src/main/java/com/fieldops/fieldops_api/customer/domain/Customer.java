@@ -1,28 +1,36 @@
 package com.fieldops.fieldops_api.customer.domain;
 
 import com.fieldops.fieldops_api.location.domain.Location;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_customer_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class Customer {
+public class Customer implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -39,6 +47,7 @@ public class Customer {
   @Column(columnDefinition = "text")
   private String phone;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
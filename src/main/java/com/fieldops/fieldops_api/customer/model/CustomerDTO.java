@@ -18,9 +18,14 @@ public class CustomerDTO {
 
   private String phone;
 
-  @NotNull private Integer version;
-
-  @NotNull private Long changeVersion;
+  /**
+   * Incremented by the server on every write; ignored on input except as the base version of a
+   * sync push.
+   */
+  private Integer version;
+
+  /** Assigned by the server on every write; ignored on input. */
+  private Long changeVersion;
 
   @NotNull private OffsetDateTime createdAt;
 
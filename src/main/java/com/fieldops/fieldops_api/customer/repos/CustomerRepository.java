@@ -1,7 +1,23 @@
 package com.fieldops.fieldops_api.customer.repos;
 
 import com.fieldops.fieldops_api.customer.domain.Customer;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface CustomerRepository extends JpaRepository<Customer, UUID> {}
+public interface CustomerRepository extends JpaRepository<Customer, UUID> {
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Customer> streamAllBy();
+
+  List<Customer> findByChangeVersionBetweenOrderByChangeVersion(Long from, Long to, Limit limit);
+}
@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.customer.rest;
 
 import com.fieldops.fieldops_api.customer.model.CustomerDTO;
 import com.fieldops.fieldops_api.customer.service.CustomerService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/customers", produces = MediaType.APPLICATION_JSON_VALUE)
 public class CustomerResource {
 
   private final CustomerService customerService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public CustomerResource(final CustomerService customerService) {
+  public CustomerResource(
+      final CustomerService customerService, final NdjsonExporter ndjsonExporter) {
     this.customerService = customerService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class CustomerResource {
     return ResponseEntity.ok(customerService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportCustomers() {
+    return ResponseEntity.ok(ndjsonExporter.export(customerService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<CustomerDTO> getCustomer(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(customerService.get(id));
@@ -4,15 +4,20 @@ import com.fieldops.fieldops_api.customer.domain.Customer;
 import com.fieldops.fieldops_api.customer.model.CustomerDTO;
 import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
 import com.fieldops.fieldops_api.events.BeforeDeleteCustomer;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomerService {
+public class CustomerService implements ChangeFeed, ChangeSink<CustomerDTO> {
 
   private final CustomerRepository customerRepository;
   private final ApplicationEventPublisher publisher;
@@ -28,6 +33,37 @@ public class CustomerService {
     return customers.stream().map(customer -> mapToDTO(customer, new CustomerDTO())).toList();
   }
 
+  public Stream<CustomerDTO> streamAll() {
+    return customerRepository.streamAllBy().map(customer -> mapToDTO(customer, new CustomerDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "customer";
+  }
+
+  @Override
+  public Class<Customer> entityType() {
+    return Customer.class;
+  }
+
+  @Override
+  public Class<CustomerDTO> dtoType() {
+    return CustomerDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<CustomerDTO> rows =
+        customerRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(customer -> mapToDTO(customer, new CustomerDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, CustomerDTO::getChangeVersion);
+  }
+
   public CustomerDTO get(final UUID id) {
     return customerRepository
         .findById(id)
@@ -69,8 +105,6 @@ public class CustomerService {
     customer.setName(customerDTO.getName());
     customer.setExternalRef(customerDTO.getExternalRef());
     customer.setPhone(customerDTO.getPhone());
-    customer.setVersion(customerDTO.getVersion());
-    customer.setChangeVersion(customerDTO.getChangeVersion());
     customer.setCreatedAt(customerDTO.getCreatedAt());
     customer.setUpdatedAt(customerDTO.getUpdatedAt());
     return customer;
@@ -9,6 +9,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -19,6 +21,11 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_device_sync_state_device_table",
+            columnNames = {"device_id", "table_name"}))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -1,10 +1,47 @@
 package com.fieldops.fieldops_api.device_sync_state.repos;
 
 import com.fieldops.fieldops_api.device_sync_state.domain.DeviceSyncState;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface DeviceSyncStateRepository extends JpaRepository<DeviceSyncState, UUID> {
 
   DeviceSyncState findFirstByUserId(UUID id);
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  Optional<DeviceSyncState> findByDeviceIdAndTableName(String deviceId, String tableName);
+
+  /**
+   * Create the device's state row for the table unless it exists; concurrent first pulls of the
+   * same device would otherwise both insert and one fail on the unique constraint.
+   */
+  @Modifying
+  @Query(
+      value =
+          """
+          insert into device_sync_state (id, device_id, table_name, last_change_version,
+              last_sync_at, created_at, updated_at, user_id, date_created, last_updated)
+          values (gen_random_uuid(), :deviceId, :tableName, 0, :now, :now, :now, :userId, :now,
+              :now)
+          on conflict (device_id, table_name) do nothing
+          """,
+      nativeQuery = true)
+  void insertIfAbsent(String deviceId, String tableName, UUID userId, OffsetDateTime now);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<DeviceSyncState> streamAllBy();
 }
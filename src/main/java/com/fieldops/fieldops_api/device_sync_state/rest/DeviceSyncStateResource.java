@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.device_sync_state.rest;
 
 import com.fieldops.fieldops_api.device_sync_state.model.DeviceSyncStateDTO;
 import com.fieldops.fieldops_api.device_sync_state.service.DeviceSyncStateService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/deviceSyncStates", produces = MediaType.APPLICATION_JSON_VALUE)
 public class DeviceSyncStateResource {
 
   private final DeviceSyncStateService deviceSyncStateService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public DeviceSyncStateResource(final DeviceSyncStateService deviceSyncStateService) {
+  public DeviceSyncStateResource(
+      final DeviceSyncStateService deviceSyncStateService, final NdjsonExporter ndjsonExporter) {
     this.deviceSyncStateService = deviceSyncStateService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class DeviceSyncStateResource {
     return ResponseEntity.ok(deviceSyncStateService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportDeviceSyncStates() {
+    return ResponseEntity.ok(ndjsonExporter.export(deviceSyncStateService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<DeviceSyncStateDTO> getDeviceSyncState(
       @PathVariable(name = "id") final UUID id) {
@@ -10,6 +10,7 @@ import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -34,6 +35,12 @@ public class DeviceSyncStateService {
         .toList();
   }
 
+  public Stream<DeviceSyncStateDTO> streamAll() {
+    return deviceSyncStateRepository
+        .streamAllBy()
+        .map(deviceSyncState -> mapToDTO(deviceSyncState, new DeviceSyncStateDTO()));
+  }
+
   public DeviceSyncStateDTO get(final UUID id) {
     return deviceSyncStateRepository
         .findById(id)
@@ -7,8 +7,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -19,11 +21,19 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(
+    indexes =
+        @Index(
+            name = "idx_engineer_availability_end_time_start_time",
+            columnList = "end_time, start_time"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class EngineerAvailability {
 
+  /** Marks time the engineer can be dispatched; any other type makes them unavailable. */
+  public static final String AVAILABLE = "AVAILABLE";
+
   @Id
   @Column(nullable = false, updatable = false)
   @GeneratedValue
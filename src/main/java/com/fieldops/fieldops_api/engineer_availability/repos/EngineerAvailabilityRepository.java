@@ -1,10 +1,31 @@
 package com.fieldops.fieldops_api.engineer_availability.repos;
 
 import com.fieldops.fieldops_api.engineer_availability.domain.EngineerAvailability;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface EngineerAvailabilityRepository extends JpaRepository<EngineerAvailability, UUID> {
 
   EngineerAvailability findFirstByEngineerUserId(UUID id);
+
+  @Query(
+      """
+      select distinct a.engineerUser.id from EngineerAvailability a
+      where a.endTime > :at and a.startTime <= :at and a.availabilityType <> :available
+      """)
+  Set<UUID> findEngineerUserIdsUnavailableAt(OffsetDateTime at, String available);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<EngineerAvailability> streamAllBy();
 }
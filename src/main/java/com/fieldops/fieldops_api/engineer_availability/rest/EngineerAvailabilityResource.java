@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.engineer_availability.rest;
 
 import com.fieldops.fieldops_api.engineer_availability.model.EngineerAvailabilityDTO;
 import com.fieldops.fieldops_api.engineer_availability.service.EngineerAvailabilityService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,16 +17,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/engineerAvailabilities", produces = MediaType.APPLICATION_JSON_VALUE)
 public class EngineerAvailabilityResource {
 
   private final EngineerAvailabilityService engineerAvailabilityService;
+  private final NdjsonExporter ndjsonExporter;
 
   public EngineerAvailabilityResource(
-      final EngineerAvailabilityService engineerAvailabilityService) {
+      final EngineerAvailabilityService engineerAvailabilityService,
+      final NdjsonExporter ndjsonExporter) {
     this.engineerAvailabilityService = engineerAvailabilityService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -33,6 +38,11 @@ public class EngineerAvailabilityResource {
     return ResponseEntity.ok(engineerAvailabilityService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEngineerAvailabilities() {
+    return ResponseEntity.ok(ndjsonExporter.export(engineerAvailabilityService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<EngineerAvailabilityDTO> getEngineerAvailability(
       @PathVariable(name = "id") final UUID id) {
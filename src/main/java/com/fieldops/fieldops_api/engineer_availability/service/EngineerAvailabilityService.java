@@ -10,6 +10,7 @@ import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,12 @@ public class EngineerAvailabilityService {
         .toList();
   }
 
+  public Stream<EngineerAvailabilityDTO> streamAll() {
+    return engineerAvailabilityRepository
+        .streamAllBy()
+        .map(engineerAvailability -> mapToDTO(engineerAvailability, new EngineerAvailabilityDTO()));
+  }
+
   public EngineerAvailabilityDTO get(final UUID id) {
     return engineerAvailabilityRepository
         .findById(id)
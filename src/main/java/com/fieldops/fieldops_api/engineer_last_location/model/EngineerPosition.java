@@ -0,0 +1,17 @@
+package com.fieldops.fieldops_api.engineer_last_location.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** An engineer's latest known fix, as held in memory by {@code LastLocationStore}. */
+public record EngineerPosition(
+    UUID engineerUser,
+    double lat,
+    double lng,
+    Double accuracyMeters,
+    OffsetDateTime recordedAt) {
+
+  public boolean isNewerThan(final EngineerPosition other) {
+    return recordedAt.isAfter(other.recordedAt);
+  }
+}
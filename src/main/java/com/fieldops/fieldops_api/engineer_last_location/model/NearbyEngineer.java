@@ -0,0 +1,24 @@
+package com.fieldops.fieldops_api.engineer_last_location.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/** An engineer's last known position and its great-circle distance from a query point. */
+public record NearbyEngineer(
+    UUID engineerUser,
+    double lat,
+    double lng,
+    Double accuracyMeters,
+    OffsetDateTime recordedAt,
+    double distanceMeters) {
+
+  public static NearbyEngineer of(final EngineerPosition position, final double distanceMeters) {
+    return new NearbyEngineer(
+        position.engineerUser(),
+        position.lat(),
+        position.lng(),
+        position.accuracyMeters(),
+        position.recordedAt(),
+        distanceMeters);
+  }
+}
@@ -1,10 +1,21 @@
 package com.fieldops.fieldops_api.engineer_last_location.repos;
 
 import com.fieldops.fieldops_api.engineer_last_location.domain.EngineerLastLocation;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface EngineerLastLocationRepository extends JpaRepository<EngineerLastLocation, Long> {
 
   EngineerLastLocation findFirstByEngineerUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<EngineerLastLocation> streamAllBy();
 }
@@ -1,9 +1,14 @@
 package com.fieldops.fieldops_api.engineer_last_location.rest;
 
 import com.fieldops.fieldops_api.engineer_last_location.model.EngineerLastLocationDTO;
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.model.NearbyEngineer;
 import com.fieldops.fieldops_api.engineer_last_location.service.EngineerLastLocationService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
+import java.util.Collection;
 import java.util.List;
+import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,17 +19,25 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/engineerLastLocations", produces = MediaType.APPLICATION_JSON_VALUE)
 public class EngineerLastLocationResource {
 
+  private static final int DEFAULT_NEAREST = 10;
+  private static final int MAX_NEAREST = 100;
+
   private final EngineerLastLocationService engineerLastLocationService;
+  private final NdjsonExporter ndjsonExporter;
 
   public EngineerLastLocationResource(
-      final EngineerLastLocationService engineerLastLocationService) {
+      final EngineerLastLocationService engineerLastLocationService,
+      final NdjsonExporter ndjsonExporter) {
     this.engineerLastLocationService = engineerLastLocationService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +45,28 @@ public class EngineerLastLocationResource {
     return ResponseEntity.ok(engineerLastLocationService.findAll());
   }
 
+  @GetMapping("/live")
+  public ResponseEntity<Collection<EngineerPosition>> getLiveEngineerPositions() {
+    return ResponseEntity.ok(engineerLastLocationService.findAllLive());
+  }
+
+  @GetMapping("/nearest")
+  public ResponseEntity<List<NearbyEngineer>> getNearestEngineers(
+      @RequestParam(name = "location", required = false) final UUID location,
+      @RequestParam(name = "lat", required = false) final Double lat,
+      @RequestParam(name = "lng", required = false) final Double lng,
+      @RequestParam(name = "k", required = false) final Integer k,
+      @RequestParam(name = "availableOnly", defaultValue = "true") final boolean availableOnly) {
+    final int limit = k == null ? DEFAULT_NEAREST : Math.clamp(k, 1, MAX_NEAREST);
+    return ResponseEntity.ok(
+        engineerLastLocationService.findNearest(location, lat, lng, limit, availableOnly));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEngineerLastLocations() {
+    return ResponseEntity.ok(ndjsonExporter.export(engineerLastLocationService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<EngineerLastLocationDTO> getEngineerLastLocation(
       @PathVariable(name = "id") final Long id) {
@@ -1,29 +1,56 @@
 package com.fieldops.fieldops_api.engineer_last_location.service;
 
+import com.fieldops.fieldops_api.engineer_availability.domain.EngineerAvailability;
+import com.fieldops.fieldops_api.engineer_availability.repos.EngineerAvailabilityRepository;
 import com.fieldops.fieldops_api.engineer_last_location.domain.EngineerLastLocation;
 import com.fieldops.fieldops_api.engineer_last_location.model.EngineerLastLocationDTO;
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.model.NearbyEngineer;
 import com.fieldops.fieldops_api.engineer_last_location.repos.EngineerLastLocationRepository;
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
+import com.fieldops.fieldops_api.location.domain.Location;
+import com.fieldops.fieldops_api.location.repos.LocationRepository;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class EngineerLastLocationService {
 
   private final EngineerLastLocationRepository engineerLastLocationRepository;
   private final UserRepository userRepository;
+  private final LocationRepository locationRepository;
+  private final EngineerAvailabilityRepository engineerAvailabilityRepository;
+  private final LastLocationStore lastLocationStore;
 
   public EngineerLastLocationService(
       final EngineerLastLocationRepository engineerLastLocationRepository,
-      final UserRepository userRepository) {
+      final UserRepository userRepository,
+      final LocationRepository locationRepository,
+      final EngineerAvailabilityRepository engineerAvailabilityRepository,
+      final LastLocationStore lastLocationStore) {
     this.engineerLastLocationRepository = engineerLastLocationRepository;
     this.userRepository = userRepository;
+    this.locationRepository = locationRepository;
+    this.engineerAvailabilityRepository = engineerAvailabilityRepository;
+    this.lastLocationStore = lastLocationStore;
+  }
+
+  /** Every engineer's latest position, served from memory. */
+  public Collection<EngineerPosition> findAllLive() {
+    return lastLocationStore.all();
   }
 
   public List<EngineerLastLocationDTO> findAll() {
@@ -34,6 +61,51 @@ public class EngineerLastLocationService {
         .toList();
   }
 
+  public Stream<EngineerLastLocationDTO> streamAll() {
+    return engineerLastLocationRepository
+        .streamAllBy()
+        .map(engineerLastLocation -> mapToDTO(engineerLastLocation, new EngineerLastLocationDTO()));
+  }
+
+  /**
+   * The {@code k} engineers last seen nearest to a location or a point, from memory. With {@code
+   * availableOnly}, engineers inside an availability window of any type but {@link
+   * EngineerAvailability#AVAILABLE} are skipped; that costs one indexed query for who is away now.
+   */
+  public List<NearbyEngineer> findNearest(
+      final UUID locationId,
+      final Double lat,
+      final Double lng,
+      final int k,
+      final boolean availableOnly) {
+    final double queryLat;
+    final double queryLng;
+    if (locationId != null) {
+      final Location location =
+          locationRepository
+              .findById(locationId)
+              .orElseThrow(() -> new NotFoundException("location not found"));
+      if (location.getLat() == null || location.getLng() == null) {
+        throw new ResponseStatusException(
+            HttpStatus.BAD_REQUEST, "Location has no coordinates: " + locationId);
+      }
+      queryLat = location.getLat().doubleValue();
+      queryLng = location.getLng().doubleValue();
+    } else if (lat != null && lng != null) {
+      queryLat = lat;
+      queryLng = lng;
+    } else {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Either location or both lat and lng are required");
+    }
+    final Set<UUID> away =
+        availableOnly
+            ? engineerAvailabilityRepository.findEngineerUserIdsUnavailableAt(
+                OffsetDateTime.now(), EngineerAvailability.AVAILABLE)
+            : Set.of();
+    return lastLocationStore.nearest(queryLat, queryLng, k, id -> !away.contains(id));
+  }
+
   public EngineerLastLocationDTO get(final Long id) {
     return engineerLastLocationRepository
         .findById(id)
@@ -44,7 +116,9 @@ public class EngineerLastLocationService {
   public Long create(final EngineerLastLocationDTO engineerLastLocationDTO) {
     final EngineerLastLocation engineerLastLocation = new EngineerLastLocation();
     mapToEntity(engineerLastLocationDTO, engineerLastLocation);
-    return engineerLastLocationRepository.save(engineerLastLocation).getId();
+    final Long id = engineerLastLocationRepository.save(engineerLastLocation).getId();
+    remember(engineerLastLocation);
+    return id;
   }
 
   public void update(final Long id, final EngineerLastLocationDTO engineerLastLocationDTO) {
@@ -52,12 +126,31 @@ public class EngineerLastLocationService {
         engineerLastLocationRepository.findById(id).orElseThrow(NotFoundException::new);
     mapToEntity(engineerLastLocationDTO, engineerLastLocation);
     engineerLastLocationRepository.save(engineerLastLocation);
+    remember(engineerLastLocation);
   }
 
   public void delete(final Long id) {
     final EngineerLastLocation engineerLastLocation =
         engineerLastLocationRepository.findById(id).orElseThrow(NotFoundException::new);
     engineerLastLocationRepository.delete(engineerLastLocation);
+    if (engineerLastLocation.getEngineerUser() != null) {
+      lastLocationStore.remove(engineerLastLocation.getEngineerUser().getId());
+    }
+  }
+
+  private void remember(final EngineerLastLocation engineerLastLocation) {
+    if (engineerLastLocation.getEngineerUser() == null) {
+      return;
+    }
+    lastLocationStore.update(
+        new EngineerPosition(
+            engineerLastLocation.getEngineerUser().getId(),
+            engineerLastLocation.getLat().doubleValue(),
+            engineerLastLocation.getLng().doubleValue(),
+            engineerLastLocation.getAccuracyMeters() == null
+                ? null
+                : engineerLastLocation.getAccuracyMeters().doubleValue(),
+            engineerLastLocation.getRecordedAt()));
   }
 
   private EngineerLastLocationDTO mapToDTO(
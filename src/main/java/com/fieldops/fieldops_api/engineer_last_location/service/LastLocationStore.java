@@ -0,0 +1,222 @@
+package com.fieldops.fieldops_api.engineer_last_location.service;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.model.NearbyEngineer;
+import com.fieldops.fieldops_api.events.BeforeDeleteUser;
+import com.fieldops.fieldops_api.events.EngineerPositionChanged;
+import com.fieldops.fieldops_api.util.ReferencedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Every engineer's latest position, held in memory and written behind to {@code
+ * engineer_last_location}.
+ *
+ * <p>Updates come from the GPS ingest path and only ever move a position forward in {@code
+ * recordedAt}, so a late or replayed fix never replaces a newer one. Reads never touch the
+ * database. Changed engineers are marked dirty and flushed every {@code flush-interval-ms} with one
+ * upsert each, however many fixes arrived in between; the upsert repeats the {@code recordedAt}
+ * check so instances sharing the table can't move a row backwards either. The map is loaded from
+ * the table at startup.
+ *
+ * <p>Positions are also indexed in a {@link PositionGrid}, kept in step with every update, for
+ * nearest-engineer queries.
+ */
+@Component
+public class LastLocationStore {
+
+  private static final Logger log = LoggerFactory.getLogger(LastLocationStore.class);
+
+  private static final String UPSERT =
+      """
+      insert into engineer_last_location (id, lat, lng, accuracy_meters, recorded_at, updated_at,
+          engineer_user_id, date_created, last_updated)
+      values (nextval('primary_sequence'), ?, ?, ?, ?, ?, ?, ?, ?)
+      on conflict (engineer_user_id) do update
+      set lat = excluded.lat, lng = excluded.lng, accuracy_meters = excluded.accuracy_meters,
+          recorded_at = excluded.recorded_at, updated_at = excluded.updated_at,
+          last_updated = excluded.last_updated
+      where engineer_last_location.recorded_at < excluded.recorded_at
+      """;
+
+  private final Map<UUID, EngineerPosition> positions = new ConcurrentHashMap<>();
+  private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+  private final PositionGrid grid;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher publisher;
+
+  public LastLocationStore(
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      final ApplicationEventPublisher publisher,
+      final MeterRegistry meterRegistry,
+      @Value("${engineer-locations.grid.cell-degrees:0.05}") final double cellDegrees) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.grid = new PositionGrid(cellDegrees);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.publisher = publisher;
+    Gauge.builder("engineer_last_location.engineers", positions, Map::size)
+        .register(meterRegistry);
+    Gauge.builder("engineer_last_location.unflushed", dirty, Set::size).register(meterRegistry);
+    Gauge.builder("engineer_last_location.grid.cells", grid, PositionGrid::occupiedCells)
+        .register(meterRegistry);
+  }
+
+  /**
+   * Record a fix and publish {@link EngineerPositionChanged}; ignored if the engineer already has a
+   * newer one.
+   */
+  public void update(final EngineerPosition position) {
+    final EngineerPosition stored =
+        positions.compute(
+            position.engineerUser(),
+            (id, current) -> {
+              if (current != null && !position.isNewerThan(current)) {
+                return current;
+              }
+              // compute runs one update per engineer at a time, so grid moves can't interleave
+              grid.move(current, position);
+              return position;
+            });
+    if (stored == position) {
+      dirty.add(position.engineerUser());
+      publisher.publishEvent(new EngineerPositionChanged(position));
+    }
+  }
+
+  /** Forget an engineer whose row was deleted, so the next flush doesn't write it back. */
+  public void remove(final UUID engineerUser) {
+    dirty.remove(engineerUser);
+    positions.computeIfPresent(
+        engineerUser,
+        (id, current) -> {
+          grid.move(current, null);
+          return null;
+        });
+  }
+
+  public EngineerPosition get(final UUID engineerUser) {
+    return positions.get(engineerUser);
+  }
+
+  /** Live view of all positions; iterate it rather than copying when serving many readers. */
+  public Collection<EngineerPosition> all() {
+    return positions.values();
+  }
+
+  /** Up to {@code k} engineers accepted by {@code include}, nearest to the point first. */
+  public List<NearbyEngineer> nearest(
+      final double lat, final double lng, final int k, final Predicate<UUID> include) {
+    return grid.nearest(lat, lng, k, include, positions::get);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    jdbcTemplate.query(
+        "select engineer_user_id, lat, lng, accuracy_meters, recorded_at"
+            + " from engineer_last_location where engineer_user_id is not null",
+        rs -> {
+          final UUID engineerUser = rs.getObject("engineer_user_id", UUID.class);
+          final double accuracyMeters = rs.getDouble("accuracy_meters");
+          final boolean noAccuracy = rs.wasNull();
+          // fixes ingested before the load finished are newer than the table
+          final EngineerPosition position =
+              new EngineerPosition(
+                  engineerUser,
+                  rs.getDouble("lat"),
+                  rs.getDouble("lng"),
+                  noAccuracy ? null : accuracyMeters,
+                  rs.getObject("recorded_at", OffsetDateTime.class));
+          positions.computeIfAbsent(
+              engineerUser,
+              id -> {
+                grid.move(null, position);
+                return position;
+              });
+        });
+  }
+
+  @Scheduled(fixedDelayString = "${engineer-locations.last.flush-interval-ms:1000}")
+  @PreDestroy
+  public void flush() {
+    if (dirty.isEmpty()) {
+      return;
+    }
+    final List<EngineerPosition> pending = new ArrayList<>(dirty.size());
+    // unmark before reading, so an update racing this flush marks the engineer dirty again
+    final Iterator<UUID> ids = dirty.iterator();
+    while (ids.hasNext()) {
+      final UUID id = ids.next();
+      ids.remove();
+      final EngineerPosition position = positions.get(id);
+      if (position != null) {
+        pending.add(position);
+      }
+    }
+    if (pending.isEmpty()) {
+      return;
+    }
+    final OffsetDateTime now = OffsetDateTime.now();
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  UPSERT,
+                  pending,
+                  pending.size(),
+                  (ps, position) -> {
+                    ps.setDouble(1, position.lat());
+                    ps.setDouble(2, position.lng());
+                    if (position.accuracyMeters() == null) {
+                      ps.setNull(3, Types.NUMERIC);
+                    } else {
+                      ps.setDouble(3, position.accuracyMeters());
+                    }
+                    ps.setObject(4, position.recordedAt());
+                    ps.setObject(5, now);
+                    ps.setObject(6, position.engineerUser());
+                    ps.setObject(7, now);
+                    ps.setObject(8, now);
+                  }));
+    } catch (final RuntimeException e) {
+      // keep them dirty; the next flush tries again with whatever is latest by then
+      pending.forEach(position -> dirty.add(position.engineerUser()));
+      log.warn("Flushing {} last locations failed: {}", pending.size(), e.getMessage());
+    }
+  }
+
+  @EventListener(BeforeDeleteUser.class)
+  public void on(final BeforeDeleteUser event) {
+    // a position not yet flushed has no row for the table check to find
+    if (positions.containsKey(event.getId())) {
+      final ReferencedException referencedException = new ReferencedException();
+      referencedException.setKey("user.engineerLastLocation.engineerUser.referenced");
+      referencedException.addParam(event.getId());
+      throw referencedException;
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package com.fieldops.fieldops_api.engineer_last_location.service;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.model.NearbyEngineer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Uniform lat/lng grid over engineer positions, for k-nearest queries without scanning everyone.
+ *
+ * <p>Cells are {@code cellDegrees} square and only occupied cells exist. A query visits rings of
+ * cells outward from the query point and stops once no unvisited cell can hold anyone closer than
+ * the k-th best so far, or falls back to every occupied cell once the ring is larger than that. The
+ * grid only records which cell each engineer is in; distances are computed from the positions
+ * passed in at query time, so a reader racing a move never sees a stale coordinate. Longitude does
+ * not wrap at the antimeridian.
+ */
+final class PositionGrid {
+
+  static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+  private final double cellDegrees;
+  private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+
+  PositionGrid(final double cellDegrees) {
+    this.cellDegrees = cellDegrees;
+  }
+
+  /** Move an engineer between cells; either side may be {@code null} for an add or a remove. */
+  void move(final EngineerPosition from, final EngineerPosition to) {
+    final Long fromCell = from == null ? null : cellOf(from.lat(), from.lng());
+    final Long toCell = to == null ? null : cellOf(to.lat(), to.lng());
+    if (fromCell != null && fromCell.equals(toCell)) {
+      return;
+    }
+    if (toCell != null) {
+      cells.compute(
+          toCell,
+          (cell, ids) -> {
+            final Set<UUID> occupants = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            occupants.add(to.engineerUser());
+            return occupants;
+          });
+    }
+    if (fromCell != null) {
+      cells.computeIfPresent(
+          fromCell,
+          (cell, ids) -> {
+            ids.remove(from.engineerUser());
+            return ids.isEmpty() ? null : ids;
+          });
+    }
+  }
+
+  /**
+   * Up to {@code k} engineers accepted by {@code include}, nearest first.
+   *
+   * @param positions current position of an engineer, or {@code null} if it has gone
+   */
+  List<NearbyEngineer> nearest(
+      final double lat,
+      final double lng,
+      final int k,
+      final Predicate<UUID> include,
+      final Function<UUID, EngineerPosition> positions) {
+    // farthest of the best k at the head, so it is the one replaced
+    final PriorityQueue<NearbyEngineer> best =
+        new PriorityQueue<>(
+            Comparator.comparingDouble(NearbyEngineer::distanceMeters).reversed());
+    final Set<UUID> seen = new HashSet<>();
+    final int row = index(lat);
+    final int column = index(lng);
+    for (int ring = 0; ; ring++) {
+      final long side = 2L * ring + 1;
+      if (side * side >= cells.size()) {
+        cells.values().forEach(ids -> consider(ids, lat, lng, k, include, positions, best, seen));
+        break;
+      }
+      for (int dy = -ring; dy <= ring; dy++) {
+        final boolean edgeRow = dy == -ring || dy == ring;
+        for (int dx = -ring; dx <= ring; dx += edgeRow ? 1 : 2 * ring) {
+          final Set<UUID> ids = cells.get(key(row + dy, column + dx));
+          if (ids != null) {
+            consider(ids, lat, lng, k, include, positions, best, seen);
+          }
+        }
+      }
+      if (best.size() == k && best.peek().distanceMeters() <= outsideRing(lat, ring)) {
+        break;
+      }
+    }
+    final List<NearbyEngineer> result = new ArrayList<>(best);
+    result.sort(Comparator.comparingDouble(NearbyEngineer::distanceMeters));
+    return result;
+  }
+
+  int occupiedCells() {
+    return cells.size();
+  }
+
+  private void consider(
+      final Set<UUID> ids,
+      final double lat,
+      final double lng,
+      final int k,
+      final Predicate<UUID> include,
+      final Function<UUID, EngineerPosition> positions,
+      final PriorityQueue<NearbyEngineer> best,
+      final Set<UUID> seen) {
+    for (final UUID id : ids) {
+      if (!seen.add(id) || !include.test(id)) {
+        continue;
+      }
+      final EngineerPosition position = positions.apply(id);
+      if (position == null) {
+        continue;
+      }
+      final double distance = distanceMeters(lat, lng, position.lat(), position.lng());
+      if (best.size() < k) {
+        best.add(NearbyEngineer.of(position, distance));
+      } else if (distance < best.peek().distanceMeters()) {
+        best.poll();
+        best.add(NearbyEngineer.of(position, distance));
+      }
+    }
+  }
+
+  /**
+   * Lower bound on the distance from the query point to anything outside the square of rings up to
+   * {@code ring}: such a point is more than {@code ring} cells away in latitude, or in longitude at
+   * a latitude no further from the equator than the square reaches.
+   */
+  private double outsideRing(final double lat, final int ring) {
+    final double span = ring * cellDegrees;
+    final double latitudeBound = Math.toRadians(span) * EARTH_RADIUS_METERS;
+    final double farthestLat = Math.min(90, Math.abs(lat) + (ring + 1) * cellDegrees);
+    final double longitudeBound = distanceMeters(farthestLat, 0, farthestLat, span);
+    return Math.min(latitudeBound, longitudeBound);
+  }
+
+  static double distanceMeters(
+      final double lat1, final double lng1, final double lat2, final double lng2) {
+    final double dLat = Math.toRadians(lat2 - lat1);
+    final double dLng = Math.toRadians(lng2 - lng1);
+    final double a =
+        Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1))
+                * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2)
+                * Math.sin(dLng / 2);
+    return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  private long cellOf(final double lat, final double lng) {
+    return key(index(lat), index(lng));
+  }
+
+  private int index(final double degrees) {
+    return (int) Math.floor(degrees / cellDegrees);
+  }
+
+  private static long key(final int row, final int column) {
+    return ((long) row << 32) | (column & 0xffffffffL);
+  }
+}
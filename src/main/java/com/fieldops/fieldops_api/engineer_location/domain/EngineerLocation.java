@@ -7,8 +7,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -20,11 +22,20 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(
+    indexes =
+        @Index(
+            name = "idx_engineer_location_engineer_user_recorded_at",
+            columnList = "engineer_user_id, recorded_at"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class EngineerLocation {
 
+  // In production the table is range-partitioned by month on recorded_at (see
+  // db/engineer_location_partitioned.sql), so its primary key is (id, recorded_at). Mapping id
+  // alone still works: ids are random UUIDs and every lookup by id is unique across partitions.
+
   @Id
   @Column(nullable = false, updatable = false)
   @GeneratedValue
@@ -0,0 +1,8 @@
+package com.fieldops.fieldops_api.engineer_location.model;
+
+/**
+ * An engineer's path over a time range as a Google encoded polyline (precision 5), after
+ * simplification to within {@code toleranceMeters} of the recorded fixes.
+ */
+public record EngineerTrack(
+    String polyline, int recordedPoints, int encodedPoints, double toleranceMeters) {}
@@ -0,0 +1,22 @@
+package com.fieldops.fieldops_api.engineer_location.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class LocationFixBatchDTO {
+
+  /** The engineer the fixes belong to; defaults to the authenticated user. */
+  private UUID engineerUser;
+
+  @NotEmpty
+  @Size(max = 5000)
+  @Valid
+  private List<LocationFixDTO> fixes;
+}
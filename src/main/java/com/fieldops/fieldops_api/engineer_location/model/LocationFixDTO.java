@@ -0,0 +1,31 @@
+package com.fieldops.fieldops_api.engineer_location.model;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+/** One GPS fix as reported by a device; coordinates are plain JSON numbers in degrees. */
+@Getter
+@Setter
+public class LocationFixDTO {
+
+  @NotNull
+  @DecimalMin("-90")
+  @DecimalMax("90")
+  private Double lat;
+
+  @NotNull
+  @DecimalMin("-180")
+  @DecimalMax("180")
+  private Double lng;
+
+  @PositiveOrZero
+  @DecimalMax("999999.99")
+  private Double accuracyMeters;
+
+  @NotNull private OffsetDateTime recordedAt;
+}
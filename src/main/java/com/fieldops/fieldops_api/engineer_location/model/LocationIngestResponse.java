@@ -0,0 +1,17 @@
+package com.fieldops.fieldops_api.engineer_location.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class LocationIngestResponse {
+
+  private int accepted;
+
+  /**
+   * How full the ingest buffer is, from 0 to 1. Devices should stretch their reporting interval as
+   * this approaches 1; a full buffer rejects batches with 429 and {@code Retry-After}.
+   */
+  private double backlog;
+}
@@ -1,10 +1,39 @@
 package com.fieldops.fieldops_api.engineer_location.repos;
 
 import com.fieldops.fieldops_api.engineer_location.domain.EngineerLocation;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface EngineerLocationRepository extends JpaRepository<EngineerLocation, UUID> {
 
   EngineerLocation findFirstByEngineerUserId(UUID id);
+
+  /**
+   * An engineer's fixes after the keyset {@code (recordedAt, id)} and before {@code to}. Bounded on
+   * recorded_at, so Postgres only scans the monthly partitions the range touches.
+   */
+  @Query(
+      """
+      select l from EngineerLocation l
+      where l.engineerUser.id = :engineerUser and l.recordedAt < :to
+        and l.recordedAt >= :recordedAt and (l.recordedAt > :recordedAt or l.id > :id)
+      order by l.recordedAt, l.id
+      """)
+  List<EngineerLocation> findHistory(
+      UUID engineerUser, OffsetDateTime to, OffsetDateTime recordedAt, UUID id, Limit limit);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<EngineerLocation> streamAllBy();
 }
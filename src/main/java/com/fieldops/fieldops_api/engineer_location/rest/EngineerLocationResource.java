@@ -1,10 +1,21 @@
 package com.fieldops.fieldops_api.engineer_location.rest;
 
+import com.fieldops.fieldops_api.auth.AuthenticationHelper;
 import com.fieldops.fieldops_api.engineer_location.model.EngineerLocationDTO;
+import com.fieldops.fieldops_api.engineer_location.model.EngineerTrack;
+import com.fieldops.fieldops_api.engineer_location.model.LocationFixBatchDTO;
+import com.fieldops.fieldops_api.engineer_location.model.LocationIngestResponse;
+import com.fieldops.fieldops_api.engineer_location.service.EngineerLocationIngestService;
 import com.fieldops.fieldops_api.engineer_location.service.EngineerLocationService;
+import com.fieldops.fieldops_api.engineer_location.service.EngineerTrackService;
+import com.fieldops.fieldops_api.util.CursorPage;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,16 +26,31 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/engineerLocations", produces = MediaType.APPLICATION_JSON_VALUE)
 public class EngineerLocationResource {
 
   private final EngineerLocationService engineerLocationService;
+  private final EngineerLocationIngestService engineerLocationIngestService;
+  private final EngineerTrackService engineerTrackService;
+  private final AuthenticationHelper authHelper;
+  private final NdjsonExporter ndjsonExporter;
 
-  public EngineerLocationResource(final EngineerLocationService engineerLocationService) {
+  public EngineerLocationResource(
+      final EngineerLocationService engineerLocationService,
+      final EngineerLocationIngestService engineerLocationIngestService,
+      final EngineerTrackService engineerTrackService,
+      final AuthenticationHelper authHelper,
+      final NdjsonExporter ndjsonExporter) {
     this.engineerLocationService = engineerLocationService;
+    this.engineerLocationIngestService = engineerLocationIngestService;
+    this.engineerTrackService = engineerTrackService;
+    this.authHelper = authHelper;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +58,40 @@ public class EngineerLocationResource {
     return ResponseEntity.ok(engineerLocationService.findAll());
   }
 
+  @GetMapping("/history")
+  public ResponseEntity<CursorPage<EngineerLocationDTO>> getEngineerLocationHistory(
+      @RequestParam(name = "engineerUser") final UUID engineerUser,
+      @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime from,
+      @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime to,
+      @RequestParam(name = "after", required = false) final UUID after,
+      @RequestParam(name = "limit", required = false) final Integer limit) {
+    return ResponseEntity.ok(
+        engineerLocationService.findHistory(
+            engineerUser, from, to, after, CursorPage.clampLimit(limit)));
+  }
+
+  @GetMapping("/{engineerId}/track")
+  public ResponseEntity<EngineerTrack> getEngineerTrack(
+      @PathVariable(name = "engineerId") final UUID engineerId,
+      @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime from,
+      @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          final OffsetDateTime to,
+      @RequestParam(name = "tolerance", required = false) final Double tolerance) {
+    final double toleranceMeters =
+        tolerance == null
+            ? EngineerTrackService.DEFAULT_TOLERANCE_METERS
+            : Math.clamp(tolerance, 0, EngineerTrackService.MAX_TOLERANCE_METERS);
+    return ResponseEntity.ok(engineerTrackService.track(engineerId, from, to, toleranceMeters));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportEngineerLocations() {
+    return ResponseEntity.ok(ndjsonExporter.export(engineerLocationService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<EngineerLocationDTO> getEngineerLocation(
       @PathVariable(name = "id") final UUID id) {
@@ -45,6 +105,26 @@ public class EngineerLocationResource {
     return new ResponseEntity<>(createdId, HttpStatus.CREATED);
   }
 
+  @PostMapping("/bulk")
+  public ResponseEntity<LocationIngestResponse> ingestEngineerLocations(
+      @RequestBody @Valid final LocationFixBatchDTO locationFixBatchDTO) {
+    final UUID engineerUser =
+        locationFixBatchDTO.getEngineerUser() == null
+            ? authHelper.getCurrentUserId()
+            : locationFixBatchDTO.getEngineerUser();
+    if (!engineerLocationIngestService.submit(engineerUser, locationFixBatchDTO.getFixes())) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+          .header(
+              HttpHeaders.RETRY_AFTER,
+              String.valueOf(engineerLocationIngestService.retryAfterSeconds()))
+          .body(new LocationIngestResponse(0, engineerLocationIngestService.backlog()));
+    }
+    return ResponseEntity.accepted()
+        .body(
+            new LocationIngestResponse(
+                locationFixBatchDTO.getFixes().size(), engineerLocationIngestService.backlog()));
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<UUID> updateEngineerLocation(
       @PathVariable(name = "id") final UUID id,
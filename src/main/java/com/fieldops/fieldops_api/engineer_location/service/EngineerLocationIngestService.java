@@ -0,0 +1,235 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.service.LastLocationStore;
+import com.fieldops.fieldops_api.engineer_location.model.LocationFixDTO;
+import com.fieldops.fieldops_api.events.BeforeDeleteUser;
+import com.fieldops.fieldops_api.user.repos.UserRepository;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * High-rate GPS ingest: fixes are accepted into a {@link LocationFixRingBuffer} and written to
+ * {@code engineer_location} by one background thread, in JDBC batches of up to {@code flush-rows}
+ * rows at least every {@code flush-interval-ms}.
+ *
+ * <p>A request costs one buffer append; the engineer is checked once and then remembered, so there
+ * is no per-fix lookup or transaction. When the buffer cannot take a batch it is refused and the
+ * caller answers 429, which tells devices to back off. Fixes are only durable once flushed; a batch
+ * that fails to write is logged and counted as dropped, as is anything still buffered if the
+ * process dies.
+ *
+ * <p>The newest fix of each accepted batch also goes to {@link LastLocationStore}, which keeps
+ * {@code engineer_last_location} current without a read or write per fix.
+ */
+@Service
+public class EngineerLocationIngestService {
+
+  private static final Logger log = LoggerFactory.getLogger(EngineerLocationIngestService.class);
+
+  static final String INSERT =
+      """
+      insert into engineer_location (id, lat, lng, accuracy_meters, recorded_at, created_at,
+          engineer_user_id, date_created, last_updated)
+      values (?, ?, ?, ?, ?, ?, ?, ?, ?)
+      """;
+
+  static final int JDBC_BATCH_SIZE = 1000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final UserRepository userRepository;
+  private final LastLocationStore lastLocationStore;
+  private final LocationFixRingBuffer buffer;
+  // only touched by the flusher thread, and by stop() once that thread has finished
+  private final LocationFixBatch batch;
+  private final long flushIntervalMs;
+  private final Set<UUID> knownEngineers = ConcurrentHashMap.newKeySet();
+  private final Counter accepted;
+  private final Counter rejected;
+  private final Counter flushed;
+  private final Counter dropped;
+  private final Timer flushTimer;
+
+  private volatile boolean running = true;
+  private Thread flusher;
+
+  public EngineerLocationIngestService(
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      final UserRepository userRepository,
+      final LastLocationStore lastLocationStore,
+      final MeterRegistry meterRegistry,
+      @Value("${engineer-locations.ingest.buffer-capacity:262144}") final int bufferCapacity,
+      @Value("${engineer-locations.ingest.flush-rows:5000}") final int flushRows,
+      @Value("${engineer-locations.ingest.flush-interval-ms:200}") final long flushIntervalMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.userRepository = userRepository;
+    this.lastLocationStore = lastLocationStore;
+    this.buffer = new LocationFixRingBuffer(bufferCapacity, flushRows);
+    this.batch = new LocationFixBatch(flushRows);
+    this.flushIntervalMs = flushIntervalMs;
+    this.accepted = meterRegistry.counter("engineer_location.ingest.fixes", "result", "accepted");
+    this.rejected = meterRegistry.counter("engineer_location.ingest.fixes", "result", "rejected");
+    this.flushed = meterRegistry.counter("engineer_location.ingest.fixes", "result", "flushed");
+    this.dropped = meterRegistry.counter("engineer_location.ingest.fixes", "result", "dropped");
+    this.flushTimer = meterRegistry.timer("engineer_location.ingest.flush");
+    Gauge.builder("engineer_location.ingest.buffered", buffer, LocationFixRingBuffer::size)
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    flusher =
+        Thread.ofPlatform().name("engineer-location-flusher").daemon().start(this::runFlusher);
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    flusher.join();
+    while (buffer.takeAvailable(batch) > 0) {
+      write();
+    }
+  }
+
+  /**
+   * Queue the fixes for writing.
+   *
+   * @return {@code false} if the buffer is too full to take them; nothing was queued
+   */
+  public boolean submit(final UUID engineerUserId, final List<LocationFixDTO> fixes) {
+    requireEngineer(engineerUserId);
+    if (!buffer.offerAll(engineerUserId, fixes, OffsetDateTime.now())) {
+      rejected.increment(fixes.size());
+      return false;
+    }
+    accepted.increment(fixes.size());
+    LocationFixDTO latest = null;
+    for (final LocationFixDTO fix : fixes) {
+      if (latest == null || fix.getRecordedAt().isAfter(latest.getRecordedAt())) {
+        latest = fix;
+      }
+    }
+    if (latest != null) {
+      lastLocationStore.update(
+          new EngineerPosition(
+              engineerUserId,
+              latest.getLat(),
+              latest.getLng(),
+              latest.getAccuracyMeters(),
+              latest.getRecordedAt()));
+    }
+    return true;
+  }
+
+  /** Fraction of the buffer in use, from 0 to 1. */
+  public double backlog() {
+    return (double) buffer.size() / buffer.capacity();
+  }
+
+  /** Seconds a device should wait before retrying a refused batch. */
+  public long retryAfterSeconds() {
+    return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(flushIntervalMs * 2));
+  }
+
+  private void requireEngineer(final UUID engineerUserId) {
+    if (!knownEngineers.contains(engineerUserId)) {
+      if (!userRepository.existsById(engineerUserId)) {
+        throw new NotFoundException("engineerUser not found");
+      }
+      knownEngineers.add(engineerUserId);
+    }
+  }
+
+  private void runFlusher() {
+    while (running) {
+      try {
+        buffer.takeBatch(batch, flushIntervalMs, TimeUnit.MILLISECONDS);
+        write();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void write() {
+    if (batch.size == 0) {
+      return;
+    }
+    final OffsetDateTime now = OffsetDateTime.now();
+    try {
+      // one commit per flush rather than one per row
+      flushTimer.record(
+          () -> transactionTemplate.executeWithoutResult(status -> insert(batch, now)));
+      flushed.increment(batch.size);
+    } catch (final RuntimeException e) {
+      dropped.increment(batch.size);
+      log.error("Dropped {} location fixes: {}", batch.size, e.getMessage());
+    }
+  }
+
+  void insert(final LocationFixBatch batch, final OffsetDateTime now) {
+    for (int offset = 0; offset < batch.size; offset += JDBC_BATCH_SIZE) {
+      final int first = offset;
+      final int count = Math.min(JDBC_BATCH_SIZE, batch.size - offset);
+      jdbcTemplate.batchUpdate(
+          INSERT,
+          new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(final PreparedStatement ps, final int index)
+                throws SQLException {
+              final int i = first + index;
+              ps.setObject(1, UUID.randomUUID());
+              ps.setDouble(2, LocationFixBatch.fromE7(batch.latsE7[i]));
+              ps.setDouble(3, LocationFixBatch.fromE7(batch.lngsE7[i]));
+              if (batch.accuraciesCm[i] == LocationFixBatch.NO_ACCURACY) {
+                ps.setNull(4, Types.NUMERIC);
+              } else {
+                ps.setDouble(4, batch.accuraciesCm[i] / 100.0);
+              }
+              ps.setObject(5, batch.recordedAts[i]);
+              ps.setObject(6, batch.receivedAts[i]);
+              ps.setObject(7, batch.engineerUserIds[i]);
+              ps.setObject(8, now);
+              ps.setObject(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+              return count;
+            }
+          });
+    }
+  }
+
+  @EventListener(BeforeDeleteUser.class)
+  public void on(final BeforeDeleteUser event) {
+    knownEngineers.remove(event.getId());
+  }
+}
@@ -0,0 +1,243 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly partitions of {@code engineer_location} rolling: creates the current month and
+ * {@code months-ahead} more, and removes whole months older than {@code retention-months}, either
+ * dropping them or, with {@code archive}, detaching them as standalone tables for export.
+ *
+ * <p>Expiring history this way is a catalog change, not a delete of millions of rows, so it leaves
+ * no dead tuples behind and takes no longer for a busy month than a quiet one. The job runs at
+ * startup and daily, under a Postgres advisory lock so only one instance works at a time. It does
+ * nothing if the table has not been partitioned (see {@code db/engineer_location_partitioned.sql}).
+ *
+ * <p>Postgres refuses to create a month while the default partition holds rows for it, e.g. fixes
+ * from a device clock running far ahead. Such a month is created with the default partition
+ * detached and its rows are moved over, in one transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "engineer-locations.partitions.enabled", matchIfMissing = true)
+public class EngineerLocationPartitionManager {
+
+  private static final Logger log = LoggerFactory.getLogger(EngineerLocationPartitionManager.class);
+
+  private static final String TABLE = "engineer_location";
+  // "eng_loc" in ASCII; any key unique among the advisory locks this database uses
+  private static final long LOCK_KEY = 0x656e675f6c6f63L;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final String table;
+  private final Pattern partitionName;
+  private final int monthsAhead;
+  private final int retentionMonths;
+  private final boolean archive;
+
+  @Autowired
+  public EngineerLocationPartitionManager(
+      final JdbcTemplate jdbcTemplate,
+      @Value("${engineer-locations.partitions.months-ahead:2}") final int monthsAhead,
+      @Value("${engineer-locations.partitions.retention-months:12}") final int retentionMonths,
+      @Value("${engineer-locations.partitions.archive:false}") final boolean archive) {
+    this(jdbcTemplate, TABLE, monthsAhead, retentionMonths, archive);
+  }
+
+  EngineerLocationPartitionManager(
+      final JdbcTemplate jdbcTemplate,
+      final String table,
+      final int monthsAhead,
+      final int retentionMonths,
+      final boolean archive) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.table = table;
+    this.partitionName = Pattern.compile(table + "_p(\\d{4})_(\\d{2})");
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+    this.archive = archive;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${engineer-locations.partitions.cron:0 17 3 * * *}", zone = "UTC")
+  public void maintain() {
+    maintain(YearMonth.now(ZoneOffset.UTC));
+  }
+
+  void maintain(final YearMonth current) {
+    // autocommit on one connection, so a month that fails to create doesn't undo the others
+    jdbcTemplate.execute(
+        (ConnectionCallback<Void>)
+            connection -> {
+              if (!isPartitioned(connection) || !tryLock(connection)) {
+                return null;
+              }
+              try {
+                roll(connection, current);
+              } finally {
+                unlock(connection);
+              }
+              return null;
+            });
+  }
+
+  private void roll(final Connection connection, final YearMonth current) throws SQLException {
+    for (int i = 0; i <= monthsAhead; i++) {
+      final YearMonth month = current.plusMonths(i);
+      try {
+        create(connection, month);
+      } catch (final SQLException e) {
+        log.error("Could not create partition {}: {}", name(month), e.getMessage());
+      }
+    }
+    final YearMonth oldestKept = current.minusMonths(retentionMonths);
+    for (final String partition : partitions(connection)) {
+      final Matcher matcher = partitionName.matcher(partition);
+      if (!matcher.matches()) {
+        continue;
+      }
+      final YearMonth month =
+          YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+      if (month.isBefore(oldestKept)) {
+        try (Statement statement = connection.createStatement()) {
+          if (archive) {
+            statement.execute("alter table %s detach partition %s".formatted(table, partition));
+            log.info("Detached expired location partition {} for archiving", partition);
+          } else {
+            statement.execute("drop table %s".formatted(partition));
+            log.info("Dropped expired location partition {}", partition);
+          }
+        }
+      }
+    }
+  }
+
+  private void create(final Connection connection, final YearMonth month) throws SQLException {
+    final String create =
+        "create table if not exists %s partition of %s for values from ('%s') to ('%s')"
+            .formatted(name(month), table, start(month), start(month.plusMonths(1)));
+    final String defaultPartition = defaultPartition(connection);
+    if (defaultPartition == null
+        || exists(connection, "select to_regclass('%s')".formatted(name(month)))
+        || !exists(
+            connection,
+            "select 1 from %s where %s limit 1".formatted(defaultPartition, inMonth(month)))) {
+      execute(connection, create);
+      return;
+    }
+    connection.setAutoCommit(false);
+    try {
+      execute(connection, "alter table %s detach partition %s".formatted(table, defaultPartition));
+      execute(connection, create);
+      execute(
+          connection,
+          "insert into %s select * from %s where %s"
+              .formatted(table, defaultPartition, inMonth(month)));
+      execute(connection, "delete from %s where %s".formatted(defaultPartition, inMonth(month)));
+      execute(
+          connection,
+          "alter table %s attach partition %s default".formatted(table, defaultPartition));
+      connection.commit();
+      log.info("Moved fixes for {} out of {}", name(month), defaultPartition);
+    } catch (final SQLException e) {
+      connection.rollback();
+      throw e;
+    } finally {
+      connection.setAutoCommit(true);
+    }
+  }
+
+  private boolean isPartitioned(final Connection connection) throws SQLException {
+    return exists(
+        connection,
+        "select 1 from pg_partitioned_table where partrelid = to_regclass('%s')".formatted(table));
+  }
+
+  private String defaultPartition(final Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs =
+            statement.executeQuery(
+                ("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+                        + " where i.inhparent = to_regclass('%s')"
+                        + " and pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'")
+                    .formatted(table))) {
+      return rs.next() ? rs.getString(1) : null;
+    }
+  }
+
+  /** Whether {@code query} returns a row with a non-null first column. */
+  private static boolean exists(final Connection connection, final String query)
+      throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery(query)) {
+      return rs.next() && rs.getObject(1) != null;
+    }
+  }
+
+  private static void execute(final Connection connection, final String sql) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private List<String> partitions(final Connection connection) throws SQLException {
+    final List<String> partitions = new ArrayList<>();
+    try (Statement statement = connection.createStatement();
+        ResultSet rs =
+            statement.executeQuery(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+                    + " where i.inhparent = to_regclass('"
+                    + table
+                    + "')")) {
+      while (rs.next()) {
+        partitions.add(rs.getString(1));
+      }
+    }
+    return partitions;
+  }
+
+  private boolean tryLock(final Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("select pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+      rs.next();
+      return rs.getBoolean(1);
+    }
+  }
+
+  private void unlock(final Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("select pg_advisory_unlock(" + LOCK_KEY + ")");
+    }
+  }
+
+  private String name(final YearMonth month) {
+    return "%s_p%04d_%02d".formatted(table, month.getYear(), month.getMonthValue());
+  }
+
+  private static String inMonth(final YearMonth month) {
+    return "recorded_at >= '%s' and recorded_at < '%s'"
+        .formatted(start(month), start(month.plusMonths(1)));
+  }
+
+  private static String start(final YearMonth month) {
+    return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+  }
+}
@@ -6,17 +6,25 @@ import com.fieldops.fieldops_api.engineer_location.repos.EngineerLocationReposit
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
+import com.fieldops.fieldops_api.util.CursorPage;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class EngineerLocationService {
 
+  private static final UUID FIRST_ID = new UUID(0, 0);
+
   private final EngineerLocationRepository engineerLocationRepository;
   private final UserRepository userRepository;
 
@@ -35,6 +43,45 @@ public class EngineerLocationService {
         .toList();
   }
 
+  public Stream<EngineerLocationDTO> streamAll() {
+    return engineerLocationRepository
+        .streamAllBy()
+        .map(engineerLocation -> mapToDTO(engineerLocation, new EngineerLocationDTO()));
+  }
+
+  /** One page of an engineer's fixes recorded in {@code [from, to)}, oldest first. */
+  public CursorPage<EngineerLocationDTO> findHistory(
+      final UUID engineerUser,
+      final OffsetDateTime from,
+      final OffsetDateTime to,
+      final UUID after,
+      final int limit) {
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+    final EngineerLocation cursor =
+        after == null
+            ? null
+            : engineerLocationRepository
+                .findById(after)
+                .orElseThrow(
+                    () -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown cursor"));
+    final List<EngineerLocation> engineerLocations =
+        engineerLocationRepository.findHistory(
+            engineerUser,
+            to,
+            cursor == null ? from : cursor.getRecordedAt(),
+            cursor == null ? FIRST_ID : cursor.getId(),
+            Limit.of(limit + 1));
+    final List<EngineerLocationDTO> items =
+        engineerLocations.stream()
+            .limit(limit)
+            .map(engineerLocation -> mapToDTO(engineerLocation, new EngineerLocationDTO()))
+            .toList();
+    final UUID nextCursor = engineerLocations.size() > limit ? items.getLast().getId() : null;
+    return new CursorPage<>(items, nextCursor);
+  }
+
   public EngineerLocationDTO get(final UUID id) {
     return engineerLocationRepository
         .findById(id)
@@ -0,0 +1,77 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import com.fieldops.fieldops_api.engineer_location.model.EngineerTrack;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Builds the simplified, polyline-encoded track an engineer followed over a time range.
+ *
+ * <p>Only lat and lng are read, as doubles through a server-side cursor straight into primitive
+ * arrays, so a day of fixes never becomes entities, DTOs or BigDecimals.
+ */
+@Service
+public class EngineerTrackService {
+
+  public static final double DEFAULT_TOLERANCE_METERS = 5;
+  public static final double MAX_TOLERANCE_METERS = 1000;
+
+  private static final Duration MAX_RANGE = Duration.ofDays(31);
+
+  private static final String SELECT =
+      """
+      select lat, lng from engineer_location
+      where engineer_user_id = ? and recorded_at >= ? and recorded_at < ?
+      order by recorded_at
+      """;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public EngineerTrackService(
+      final JdbcTemplate jdbcTemplate, final PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  public EngineerTrack track(
+      final UUID engineerUser,
+      final OffsetDateTime from,
+      final OffsetDateTime to,
+      final double toleranceMeters) {
+    if (!from.isBefore(to)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
+    }
+    if (Duration.between(from, to).compareTo(MAX_RANGE) > 0) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Track range is limited to " + MAX_RANGE.toDays() + " days");
+    }
+    final TrackPolyline track = new TrackPolyline();
+    // the cursor only streams inside a transaction
+    readOnlyTransaction.executeWithoutResult(
+        status ->
+            jdbcTemplate.query(
+                connection -> {
+                  final PreparedStatement statement = connection.prepareStatement(SELECT);
+                  statement.setFetchSize(Integer.parseInt(NdjsonExporter.FETCH_SIZE));
+                  statement.setObject(1, engineerUser);
+                  statement.setObject(2, from);
+                  statement.setObject(3, to);
+                  return statement;
+                },
+                (RowCallbackHandler) rs -> track.add(rs.getDouble(1), rs.getDouble(2))));
+    final int[] kept = track.simplify(toleranceMeters);
+    return new EngineerTrack(track.encode(kept), track.size(), kept.length, toleranceMeters);
+  }
+}
@@ -0,0 +1,53 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Fixes taken off {@link LocationFixRingBuffer} for one flush, column by column.
+ *
+ * <p>Coordinates are fixed-point integers in units of 1e-7 degrees, the scale of the {@code lat}
+ * and {@code lng} columns, so a coordinate survives the round trip to the database exactly and
+ * takes four bytes instead of a boxed number. Accuracy is held in centimetres, the scale of its
+ * column, with {@link #NO_ACCURACY} for a fix that didn't report one. The flusher owns one instance
+ * and refills it for every flush.
+ */
+final class LocationFixBatch {
+
+  static final int NO_ACCURACY = -1;
+
+  private static final double E7 = 1e7;
+
+  final UUID[] engineerUserIds;
+  final int[] latsE7;
+  final int[] lngsE7;
+  final int[] accuraciesCm;
+  final OffsetDateTime[] recordedAts;
+  final OffsetDateTime[] receivedAts;
+  int size;
+
+  LocationFixBatch(final int capacity) {
+    this.engineerUserIds = new UUID[capacity];
+    this.latsE7 = new int[capacity];
+    this.lngsE7 = new int[capacity];
+    this.accuraciesCm = new int[capacity];
+    this.recordedAts = new OffsetDateTime[capacity];
+    this.receivedAts = new OffsetDateTime[capacity];
+  }
+
+  int capacity() {
+    return latsE7.length;
+  }
+
+  static int toE7(final double degrees) {
+    return (int) Math.round(degrees * E7);
+  }
+
+  static double fromE7(final int e7) {
+    return e7 / E7;
+  }
+
+  static int toCentimeters(final Double meters) {
+    return meters == null ? NO_ACCURACY : (int) Math.round(meters * 100);
+  }
+}
@@ -0,0 +1,138 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import com.fieldops.fieldops_api.engineer_location.model.LocationFixDTO;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed-capacity circular buffer between the request threads submitting fixes and the single
+ * thread writing them out.
+ *
+ * <p>A batch is admitted whole or not at all, so a device never has to work out which of its fixes
+ * made it. The consumer wakes up as soon as {@code batchSize} fixes are waiting, or when its
+ * timeout runs out with fewer.
+ *
+ * <p>Slots are parallel primitive arrays in the layout of {@link LocationFixBatch}, allocated once,
+ * so buffering a fix creates no objects: the engineer id and timestamps are references the request
+ * already holds, and coordinates are copied in as fixed-point ints.
+ */
+final class LocationFixRingBuffer {
+
+  private final UUID[] engineerUserIds;
+  private final int[] latsE7;
+  private final int[] lngsE7;
+  private final int[] accuraciesCm;
+  private final OffsetDateTime[] recordedAts;
+  private final OffsetDateTime[] receivedAts;
+  private final int batchSize;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition batchReady = lock.newCondition();
+
+  private int head;
+  private int size;
+
+  LocationFixRingBuffer(final int capacity, final int batchSize) {
+    this.engineerUserIds = new UUID[capacity];
+    this.latsE7 = new int[capacity];
+    this.lngsE7 = new int[capacity];
+    this.accuraciesCm = new int[capacity];
+    this.recordedAts = new OffsetDateTime[capacity];
+    this.receivedAts = new OffsetDateTime[capacity];
+    this.batchSize = batchSize;
+  }
+
+  /** Append every fix, or none if they don't all fit. */
+  boolean offerAll(
+      final UUID engineerUserId,
+      final List<LocationFixDTO> fixes,
+      final OffsetDateTime receivedAt) {
+    lock.lock();
+    try {
+      if (latsE7.length - size < fixes.size()) {
+        return false;
+      }
+      for (int i = 0; i < fixes.size(); i++) {
+        final LocationFixDTO fix = fixes.get(i);
+        final int slot = (head + size++) % latsE7.length;
+        engineerUserIds[slot] = engineerUserId;
+        latsE7[slot] = LocationFixBatch.toE7(fix.getLat());
+        lngsE7[slot] = LocationFixBatch.toE7(fix.getLng());
+        accuraciesCm[slot] = LocationFixBatch.toCentimeters(fix.getAccuracyMeters());
+        recordedAts[slot] = fix.getRecordedAt();
+        receivedAts[slot] = receivedAt;
+      }
+      if (size >= batchSize) {
+        batchReady.signal();
+      }
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Wait until a full batch is waiting or {@code timeout} has passed, then move up to {@code
+   * batchSize} fixes, oldest first, into {@code batch}. Returns how many were moved, which is 0 if
+   * nothing arrived in time.
+   */
+  int takeBatch(final LocationFixBatch batch, final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    lock.lock();
+    try {
+      long nanos = unit.toNanos(timeout);
+      while (size < batchSize && nanos > 0) {
+        nanos = batchReady.awaitNanos(nanos);
+      }
+      return drain(batch);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Move whatever is waiting, up to the batch's capacity, without waiting; used on shutdown. */
+  int takeAvailable(final LocationFixBatch batch) {
+    lock.lock();
+    try {
+      return drain(batch);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int size() {
+    lock.lock();
+    try {
+      return size;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  int capacity() {
+    return latsE7.length;
+  }
+
+  private int drain(final LocationFixBatch batch) {
+    final int count = Math.min(Math.min(batchSize, batch.capacity()), size);
+    for (int i = 0; i < count; i++) {
+      batch.engineerUserIds[i] = engineerUserIds[head];
+      batch.latsE7[i] = latsE7[head];
+      batch.lngsE7[i] = lngsE7[head];
+      batch.accuraciesCm[i] = accuraciesCm[head];
+      batch.recordedAts[i] = recordedAts[head];
+      batch.receivedAts[i] = receivedAts[head];
+      // drop references so drained requests can be collected
+      engineerUserIds[head] = null;
+      recordedAts[head] = null;
+      receivedAts[head] = null;
+      head = (head + 1) % latsE7.length;
+    }
+    size -= count;
+    batch.size = count;
+    return count;
+  }
+}
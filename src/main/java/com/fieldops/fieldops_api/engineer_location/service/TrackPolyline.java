@@ -0,0 +1,135 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import java.util.Arrays;
+
+/**
+ * A recorded track held as primitive arrays, simplified with Douglas-Peucker and written out as an
+ * encoded polyline.
+ *
+ * <p>Simplification keeps the fewest points such that no dropped fix lies further than the
+ * tolerance from the path drawn through the kept ones. Distances are measured on a flat projection
+ * centred on the first fix, which is accurate to well under a metre over the span of a working day.
+ * The recursion is unrolled onto an explicit stack so a long track can't overflow the thread's.
+ */
+final class TrackPolyline {
+
+  private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+  private static final double PRECISION = 1e5;
+
+  private double[] lats = new double[1024];
+  private double[] lngs = new double[1024];
+  private int size;
+
+  void add(final double lat, final double lng) {
+    if (size == lats.length) {
+      lats = Arrays.copyOf(lats, size * 2);
+      lngs = Arrays.copyOf(lngs, size * 2);
+    }
+    lats[size] = lat;
+    lngs[size] = lng;
+    size++;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Indexes of the points to keep, in order; always includes the first and last point. */
+  int[] simplify(final double toleranceMeters) {
+    if (size <= 2) {
+      return indexes(size);
+    }
+    final double scale = Math.toRadians(1) * EARTH_RADIUS_METERS;
+    final double lngScale = scale * Math.cos(Math.toRadians(lats[0]));
+    final double[] x = new double[size];
+    final double[] y = new double[size];
+    for (int i = 0; i < size; i++) {
+      x[i] = lngs[i] * lngScale;
+      y[i] = lats[i] * scale;
+    }
+    final boolean[] keep = new boolean[size];
+    keep[0] = true;
+    keep[size - 1] = true;
+    final double tolerance = toleranceMeters * toleranceMeters;
+    final int[] stack = new int[2 * size];
+    int top = 0;
+    stack[top++] = 0;
+    stack[top++] = size - 1;
+    while (top > 0) {
+      final int end = stack[--top];
+      final int start = stack[--top];
+      int farthest = -1;
+      double farthestDistance = tolerance;
+      for (int i = start + 1; i < end; i++) {
+        final double distance = segmentDistanceSquared(x, y, i, start, end);
+        if (distance > farthestDistance) {
+          farthest = i;
+          farthestDistance = distance;
+        }
+      }
+      if (farthest >= 0) {
+        keep[farthest] = true;
+        stack[top++] = start;
+        stack[top++] = farthest;
+        stack[top++] = farthest;
+        stack[top++] = end;
+      }
+    }
+    int kept = 0;
+    final int[] result = new int[size];
+    for (int i = 0; i < size; i++) {
+      if (keep[i]) {
+        result[kept++] = i;
+      }
+    }
+    return Arrays.copyOf(result, kept);
+  }
+
+  /** The given points as an encoded polyline, each coordinate rounded to 1e-5 degrees. */
+  String encode(final int[] indexes) {
+    final StringBuilder polyline = new StringBuilder(indexes.length * 8);
+    long previousLat = 0;
+    long previousLng = 0;
+    for (final int i : indexes) {
+      final long lat = Math.round(lats[i] * PRECISION);
+      final long lng = Math.round(lngs[i] * PRECISION);
+      encode(lat - previousLat, polyline);
+      encode(lng - previousLng, polyline);
+      previousLat = lat;
+      previousLng = lng;
+    }
+    return polyline.toString();
+  }
+
+  private static void encode(final long delta, final StringBuilder polyline) {
+    long value = delta < 0 ? ~(delta << 1) : delta << 1;
+    while (value >= 0x20) {
+      polyline.append((char) ((0x20 | (value & 0x1f)) + 63));
+      value >>= 5;
+    }
+    polyline.append((char) (value + 63));
+  }
+
+  private static double segmentDistanceSquared(
+      final double[] x, final double[] y, final int point, final int start, final int end) {
+    final double dx = x[end] - x[start];
+    final double dy = y[end] - y[start];
+    final double length = dx * dx + dy * dy;
+    double t = 0;
+    if (length > 0) {
+      t = ((x[point] - x[start]) * dx + (y[point] - y[start]) * dy) / length;
+      t = Math.clamp(t, 0, 1);
+    }
+    final double px = x[start] + t * dx - x[point];
+    final double py = y[start] + t * dy - y[point];
+    return px * px + py * py;
+  }
+
+  private static int[] indexes(final int count) {
+    final int[] indexes = new int[count];
+    for (int i = 0; i < count; i++) {
+      indexes[i] = i;
+    }
+    return indexes;
+  }
+}
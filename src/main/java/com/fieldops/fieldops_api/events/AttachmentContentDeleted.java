@@ -0,0 +1,12 @@
+package com.fieldops.fieldops_api.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** The last attachment using some content let go of it, and the stored copy was deleted. */
+@Getter
+@AllArgsConstructor
+public class AttachmentContentDeleted {
+
+  private String sha256;
+}
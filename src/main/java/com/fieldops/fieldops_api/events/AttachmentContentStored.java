@@ -0,0 +1,15 @@
+package com.fieldops.fieldops_api.events;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** An attachment now points at fully uploaded content, stored under its SHA-256. */
+@Getter
+@AllArgsConstructor
+public class AttachmentContentStored {
+
+  private UUID attachment;
+  private String sha256;
+  private String mimeType;
+}
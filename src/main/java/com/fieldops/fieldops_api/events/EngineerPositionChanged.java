@@ -0,0 +1,13 @@
+package com.fieldops.fieldops_api.events;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** An engineer's last known position moved forward. */
+@Getter
+@AllArgsConstructor
+public class EngineerPositionChanged {
+
+  private EngineerPosition position;
+}
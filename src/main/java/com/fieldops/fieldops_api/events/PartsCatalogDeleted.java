@@ -0,0 +1,13 @@
+package com.fieldops.fieldops_api.events;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A part was deleted from the catalog; published in the deleting transaction. */
+@Getter
+@AllArgsConstructor
+public class PartsCatalogDeleted {
+
+  private UUID id;
+}
@@ -0,0 +1,17 @@
+package com.fieldops.fieldops_api.events;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A work order was created or moved to another status; previousStatus is null on create. */
+@Getter
+@AllArgsConstructor
+public class WorkOrderStatusChanged {
+
+  private UUID workOrder;
+  private String previousStatus;
+  private String status;
+  private OffsetDateTime changedAt;
+}
@@ -0,0 +1,30 @@
+package com.fieldops.fieldops_api.live.model;
+
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * What a live feed subscriber wants to hear about; unset fields match everything.
+ *
+ * <p>The bounding box limits position updates and must be given whole. {@code workOrders} limits
+ * status changes. {@code types} picks the event types to receive, {@code position} and/or {@code
+ * workOrderStatus}.
+ */
+@Getter
+@Setter
+public class LiveFeedFilter {
+
+  private Double minLat;
+
+  private Double minLng;
+
+  private Double maxLat;
+
+  private Double maxLng;
+
+  private Set<UUID> workOrders;
+
+  private Set<String> types;
+}
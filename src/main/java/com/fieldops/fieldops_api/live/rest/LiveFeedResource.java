@@ -0,0 +1,25 @@
+package com.fieldops.fieldops_api.live.rest;
+
+import com.fieldops.fieldops_api.live.model.LiveFeedFilter;
+import com.fieldops.fieldops_api.live.service.LiveFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping(value = "/api/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+public class LiveFeedResource {
+
+  private final LiveFeed liveFeed;
+
+  public LiveFeedResource(final LiveFeed liveFeed) {
+    this.liveFeed = liveFeed;
+  }
+
+  @GetMapping
+  public SseEmitter subscribe(final LiveFeedFilter filter) {
+    return liveFeed.subscribe(filter);
+  }
+}
@@ -0,0 +1,144 @@
+package com.fieldops.fieldops_api.live.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fieldops.fieldops_api.events.EngineerPositionChanged;
+import com.fieldops.fieldops_api.events.WorkOrderStatusChanged;
+import com.fieldops.fieldops_api.live.model.LiveFeedFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes engineer position updates and work order status changes to dispatcher consoles over
+ * Server-Sent Events, so they no longer poll and re-download whole listings.
+ *
+ * <p>Each change is serialized once, the first time a subscriber's filter matches it, and the same
+ * JSON string is queued for every other match. Producers (the GPS ingest and committing
+ * transactions) never wait on a client; see {@link LiveSubscriber}. Status changes go out only
+ * after their transaction commits, so a rolled back edit is never announced.
+ */
+@Service
+public class LiveFeed {
+
+  public static final String POSITION = "position";
+  public static final String WORK_ORDER_STATUS = "workOrderStatus";
+  public static final String RESYNC = "resync";
+
+  private static final Logger log = LoggerFactory.getLogger(LiveFeed.class);
+
+  private final ObjectMapper objectMapper;
+  private final List<LiveSubscriber> subscribers = new CopyOnWriteArrayList<>();
+  private final int queueCapacity;
+  private final int maxSubscribers;
+  private final Duration timeout;
+  private final Counter dropped;
+
+  public LiveFeed(
+      final ObjectMapper objectMapper,
+      final MeterRegistry meterRegistry,
+      @Value("${live.queue-capacity:256}") final int queueCapacity,
+      @Value("${live.max-subscribers:1000}") final int maxSubscribers,
+      @Value("${live.timeout:30m}") final Duration timeout) {
+    this.objectMapper = objectMapper;
+    this.queueCapacity = queueCapacity;
+    this.maxSubscribers = maxSubscribers;
+    this.timeout = timeout;
+    this.dropped = meterRegistry.counter("live.events.dropped");
+    Gauge.builder("live.subscribers", subscribers, List::size).register(meterRegistry);
+  }
+
+  public SseEmitter subscribe(final LiveFeedFilter filter) {
+    return subscribe(filter, new SseEmitter(timeout.toMillis()));
+  }
+
+  SseEmitter subscribe(final LiveFeedFilter filter, final SseEmitter emitter) {
+    final boolean anyBound =
+        filter.getMinLat() != null
+            || filter.getMinLng() != null
+            || filter.getMaxLat() != null
+            || filter.getMaxLng() != null;
+    final boolean allBounds =
+        filter.getMinLat() != null
+            && filter.getMinLng() != null
+            && filter.getMaxLat() != null
+            && filter.getMaxLng() != null;
+    if (anyBound && !allBounds) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "minLat, minLng, maxLat and maxLng must be given together");
+    }
+    if (subscribers.size() >= maxSubscribers) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Too many live feed subscribers");
+    }
+    final LiveSubscriber subscriber = new LiveSubscriber(emitter, filter, queueCapacity);
+    final Runnable unsubscribe =
+        () -> {
+          subscribers.remove(subscriber);
+          subscriber.stop();
+        };
+    emitter.onCompletion(unsubscribe);
+    emitter.onTimeout(unsubscribe);
+    emitter.onError(e -> unsubscribe.run());
+    subscribers.add(subscriber);
+    subscriber.start();
+    return emitter;
+  }
+
+  @EventListener(EngineerPositionChanged.class)
+  public void on(final EngineerPositionChanged event) {
+    publish(POSITION, event.getPosition(), subscriber -> subscriber.wants(event.getPosition()));
+  }
+
+  @TransactionalEventListener(value = WorkOrderStatusChanged.class, fallbackExecution = true)
+  public void on(final WorkOrderStatusChanged event) {
+    publish(
+        WORK_ORDER_STATUS, event, subscriber -> subscriber.wantsWorkOrder(event.getWorkOrder()));
+  }
+
+  @Scheduled(fixedDelayString = "${live.heartbeat-interval-ms:15000}")
+  public void heartbeat() {
+    subscribers.forEach(LiveSubscriber::heartbeat);
+  }
+
+  private void publish(
+      final String type, final Object payload, final Predicate<LiveSubscriber> matches) {
+    String json = null;
+    for (final LiveSubscriber subscriber : subscribers) {
+      if (!matches.test(subscriber)) {
+        continue;
+      }
+      if (json == null) {
+        try {
+          json = objectMapper.writeValueAsString(payload);
+        } catch (final JsonProcessingException e) {
+          log.error("Could not serialize {} event: {}", type, e.getMessage());
+          return;
+        }
+      }
+      if (!subscriber.offer(type, json)) {
+        dropped.increment();
+      }
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    subscribers.forEach(LiveSubscriber::stop);
+  }
+}
@@ -0,0 +1,132 @@
+package com.fieldops.fieldops_api.live.service;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.live.model.LiveFeedFilter;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * One open SSE connection: its filter, a bounded queue of events already serialized by {@link
+ * LiveFeed}, and the virtual thread that writes them out.
+ *
+ * <p>Producers only ever {@code offer} to the queue, so a client that reads slowly stalls its own
+ * sender thread and nobody else. If the queue fills up the client has fallen too far behind to
+ * catch up event by event; the backlog is discarded and replaced with a single {@code resync}
+ * event telling it to reload current state. Several producers and the sender race over a full
+ * queue, so the drop is recorded in a flag rather than by the queue's contents: whichever message
+ * the sender takes next, it sees the flag, discards what is queued and sends the resync first.
+ */
+final class LiveSubscriber {
+
+  private static final Message HEARTBEAT = new Message(null, null);
+  private static final Message RESYNC = new Message(LiveFeed.RESYNC, "{}");
+  // wakes the sender after a drop; the resync itself is driven by the flag
+  private static final Message WAKE = new Message(null, null);
+
+  private final SseEmitter emitter;
+  private final BlockingQueue<Message> queue;
+  private final boolean positions;
+  private final boolean statuses;
+  private final boolean boxed;
+  private final double minLat;
+  private final double minLng;
+  private final double maxLat;
+  private final double maxLng;
+  private final Set<UUID> workOrders;
+  private final AtomicBoolean resync = new AtomicBoolean();
+
+  private volatile Thread sender;
+
+  LiveSubscriber(final SseEmitter emitter, final LiveFeedFilter filter, final int queueCapacity) {
+    this.emitter = emitter;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    final Set<String> types = filter.getTypes();
+    this.positions = types == null || types.isEmpty() || types.contains(LiveFeed.POSITION);
+    this.statuses = types == null || types.isEmpty() || types.contains(LiveFeed.WORK_ORDER_STATUS);
+    this.boxed = filter.getMinLat() != null;
+    this.minLat = boxed ? filter.getMinLat() : 0;
+    this.minLng = boxed ? filter.getMinLng() : 0;
+    this.maxLat = boxed ? filter.getMaxLat() : 0;
+    this.maxLng = boxed ? filter.getMaxLng() : 0;
+    this.workOrders =
+        filter.getWorkOrders() == null ? Set.of() : Set.copyOf(filter.getWorkOrders());
+  }
+
+  boolean wants(final EngineerPosition position) {
+    return positions
+        && (!boxed
+            || (position.lat() >= minLat
+                && position.lat() <= maxLat
+                && position.lng() >= minLng
+                && position.lng() <= maxLng));
+  }
+
+  boolean wantsWorkOrder(final UUID workOrder) {
+    return statuses && (workOrders.isEmpty() || workOrders.contains(workOrder));
+  }
+
+  /** Queue an event without blocking; returns {@code false} if the backlog had to be dropped. */
+  boolean offer(final String type, final String json) {
+    if (queue.offer(new Message(type, json))) {
+      return true;
+    }
+    resync.set(true);
+    queue.clear();
+    // if other producers refilled the queue the sender is awake anyway
+    queue.offer(WAKE);
+    return false;
+  }
+
+  /** Queue a keep-alive comment if nothing else is waiting to go out. */
+  void heartbeat() {
+    if (queue.isEmpty()) {
+      queue.offer(HEARTBEAT);
+    }
+  }
+
+  void start() {
+    sender = Thread.ofVirtual().name("live-feed-sender").start(this::send);
+  }
+
+  void stop() {
+    final Thread thread = sender;
+    if (thread != null) {
+      thread.interrupt();
+    }
+  }
+
+  private void send() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        final Message message = queue.take();
+        if (resync.getAndSet(false)) {
+          // anything queued so far is older than the state the client is about to reload
+          queue.clear();
+          send(RESYNC);
+        } else if (message == HEARTBEAT) {
+          emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else if (message != WAKE) {
+          send(message);
+        }
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final IOException | IllegalStateException e) {
+      // client went away or the emitter already completed
+      emitter.completeWithError(e);
+    }
+  }
+
+  private void send(final Message message) throws IOException {
+    emitter.send(
+        SseEmitter.event().name(message.type()).data(message.json(), MediaType.APPLICATION_JSON));
+  }
+
+  private record Message(String type, String json) {}
+}
@@ -2,6 +2,8 @@ package com.fieldops.fieldops_api.location.domain;
 
 import com.fieldops.fieldops_api.asset.domain.Asset;
 import com.fieldops.fieldops_api.customer.domain.Customer;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,9 +11,12 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
@@ -19,16 +24,19 @@ import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_location_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class Location {
+public class Location implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -66,6 +74,7 @@ public class Location {
   @Column(precision = 10, scale = 7)
   private BigDecimal lng;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
@@ -1,10 +1,25 @@
 package com.fieldops.fieldops_api.location.repos;
 
 import com.fieldops.fieldops_api.location.domain.Location;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface LocationRepository extends JpaRepository<Location, UUID> {
 
   Location findFirstByCustomerId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<Location> streamAllBy();
+
+  List<Location> findByChangeVersionBetweenOrderByChangeVersion(Long from, Long to, Limit limit);
 }
@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.location.rest;
 
 import com.fieldops.fieldops_api.location.model.LocationDTO;
 import com.fieldops.fieldops_api.location.service.LocationService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/locations", produces = MediaType.APPLICATION_JSON_VALUE)
 public class LocationResource {
 
   private final LocationService locationService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public LocationResource(final LocationService locationService) {
+  public LocationResource(
+      final LocationService locationService, final NdjsonExporter ndjsonExporter) {
     this.locationService = locationService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class LocationResource {
     return ResponseEntity.ok(locationService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportLocations() {
+    return ResponseEntity.ok(ndjsonExporter.export(locationService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<LocationDTO> getLocation(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(locationService.get(id));
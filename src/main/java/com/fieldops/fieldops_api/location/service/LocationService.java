@@ -7,17 +7,22 @@ import com.fieldops.fieldops_api.events.BeforeDeleteLocation;
 import com.fieldops.fieldops_api.location.domain.Location;
 import com.fieldops.fieldops_api.location.model.LocationDTO;
 import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class LocationService {
+public class LocationService implements ChangeFeed, ChangeSink<LocationDTO> {
 
   private final LocationRepository locationRepository;
   private final CustomerRepository customerRepository;
@@ -37,6 +42,37 @@ public class LocationService {
     return locations.stream().map(location -> mapToDTO(location, new LocationDTO())).toList();
   }
 
+  public Stream<LocationDTO> streamAll() {
+    return locationRepository.streamAllBy().map(location -> mapToDTO(location, new LocationDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "location";
+  }
+
+  @Override
+  public Class<Location> entityType() {
+    return Location.class;
+  }
+
+  @Override
+  public Class<LocationDTO> dtoType() {
+    return LocationDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<LocationDTO> rows =
+        locationRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(location -> mapToDTO(location, new LocationDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, LocationDTO::getChangeVersion);
+  }
+
   public LocationDTO get(final UUID id) {
     return locationRepository
         .findById(id)
@@ -83,6 +119,12 @@ public class LocationService {
   }
 
   private Location mapToEntity(final LocationDTO locationDTO, final Location location) {
+    final Customer customer =
+        locationDTO.getCustomer() == null
+            ? null
+            : customerRepository
+                .findById(locationDTO.getCustomer())
+                .orElseThrow(() -> new NotFoundException("customer not found"));
     location.setName(locationDTO.getName());
     location.setAddressLine1(locationDTO.getAddressLine1());
     location.setAddressLine2(locationDTO.getAddressLine2());
@@ -93,16 +135,8 @@ public class LocationService {
     location.setContactPhone(locationDTO.getContactPhone());
     location.setLat(locationDTO.getLat());
     location.setLng(locationDTO.getLng());
-    location.setVersion(locationDTO.getVersion());
-    location.setChangeVersion(locationDTO.getChangeVersion());
     location.setCreatedAt(locationDTO.getCreatedAt());
     location.setUpdatedAt(locationDTO.getUpdatedAt());
-    final Customer customer =
-        locationDTO.getCustomer() == null
-            ? null
-            : customerRepository
-                .findById(locationDTO.getCustomer())
-                .orElseThrow(() -> new NotFoundException("customer not found"));
     location.setCustomer(customer);
     return location;
   }
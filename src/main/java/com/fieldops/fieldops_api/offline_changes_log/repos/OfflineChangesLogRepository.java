@@ -1,10 +1,21 @@
 package com.fieldops.fieldops_api.offline_changes_log.repos;
 
 import com.fieldops.fieldops_api.offline_changes_log.domain.OfflineChangesLog;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface OfflineChangesLogRepository extends JpaRepository<OfflineChangesLog, UUID> {
 
   OfflineChangesLog findFirstByUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<OfflineChangesLog> streamAllBy();
 }
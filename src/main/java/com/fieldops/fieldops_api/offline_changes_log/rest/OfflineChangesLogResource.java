@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.offline_changes_log.rest;
 
 import com.fieldops.fieldops_api.offline_changes_log.model.OfflineChangesLogDTO;
 import com.fieldops.fieldops_api.offline_changes_log.service.OfflineChangesLogService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/offlineChangesLogs", produces = MediaType.APPLICATION_JSON_VALUE)
 public class OfflineChangesLogResource {
 
   private final OfflineChangesLogService offlineChangesLogService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public OfflineChangesLogResource(final OfflineChangesLogService offlineChangesLogService) {
+  public OfflineChangesLogResource(
+      final OfflineChangesLogService offlineChangesLogService,
+      final NdjsonExporter ndjsonExporter) {
     this.offlineChangesLogService = offlineChangesLogService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +38,11 @@ public class OfflineChangesLogResource {
     return ResponseEntity.ok(offlineChangesLogService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportOfflineChangesLogs() {
+    return ResponseEntity.ok(ndjsonExporter.export(offlineChangesLogService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<OfflineChangesLogDTO> getOfflineChangesLog(
       @PathVariable(name = "id") final UUID id) {
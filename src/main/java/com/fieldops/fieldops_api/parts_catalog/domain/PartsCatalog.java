@@ -1,12 +1,17 @@
 package com.fieldops.fieldops_api.parts_catalog.domain;
 
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.work_order_part.domain.WorkOrderPart;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
@@ -14,16 +19,19 @@ import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(indexes = @Index(name = "idx_parts_catalog_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class PartsCatalog {
+public class PartsCatalog implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -43,6 +51,7 @@ public class PartsCatalog {
   @Column(nullable = false)
   private Boolean active;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
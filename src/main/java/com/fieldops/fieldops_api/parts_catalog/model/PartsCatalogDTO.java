@@ -25,9 +25,14 @@ public class PartsCatalogDTO {
 
   @NotNull private Boolean active;
 
-  @NotNull private Integer version;
-
-  @NotNull private Long changeVersion;
+  /**
+   * Incremented by the server on every write; ignored on input except as the base version of a
+   * sync push.
+   */
+  private Integer version;
+
+  /** Assigned by the server on every write; ignored on input. */
+  private Long changeVersion;
 
   @NotNull private OffsetDateTime createdAt;
 
@@ -0,0 +1,13 @@
+package com.fieldops.fieldops_api.parts_catalog.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/** An active part matching a search, with its relevance; higher scores rank first. */
+public record PartsCatalogSearchResult(
+    UUID id,
+    String partNumber,
+    String description,
+    @JsonFormat(shape = JsonFormat.Shape.STRING) BigDecimal unitPrice,
+    int score) {}
@@ -1,7 +1,10 @@
 package com.fieldops.fieldops_api.parts_catalog.rest;
 
 import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogDTO;
+import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogSearchResult;
+import com.fieldops.fieldops_api.parts_catalog.service.PartsCatalogSearch;
 import com.fieldops.fieldops_api.parts_catalog.service.PartsCatalogService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -15,16 +18,28 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/partsCatalogs", produces = MediaType.APPLICATION_JSON_VALUE)
 public class PartsCatalogResource {
 
+  private static final int DEFAULT_SEARCH_LIMIT = 20;
+  private static final int MAX_SEARCH_LIMIT = 100;
+
   private final PartsCatalogService partsCatalogService;
+  private final NdjsonExporter ndjsonExporter;
+  private final PartsCatalogSearch partsCatalogSearch;
 
-  public PartsCatalogResource(final PartsCatalogService partsCatalogService) {
+  public PartsCatalogResource(
+      final PartsCatalogService partsCatalogService,
+      final NdjsonExporter ndjsonExporter,
+      final PartsCatalogSearch partsCatalogSearch) {
     this.partsCatalogService = partsCatalogService;
+    this.ndjsonExporter = ndjsonExporter;
+    this.partsCatalogSearch = partsCatalogSearch;
   }
 
   @GetMapping
@@ -32,6 +47,20 @@ public class PartsCatalogResource {
     return ResponseEntity.ok(partsCatalogService.findAll());
   }
 
+  @GetMapping("/search")
+  public ResponseEntity<List<PartsCatalogSearchResult>> searchPartsCatalogs(
+      @RequestParam(name = "q") final String q,
+      @RequestParam(name = "limit", required = false) final Integer limit) {
+    return ResponseEntity.ok(
+        partsCatalogSearch.search(
+            q, limit == null ? DEFAULT_SEARCH_LIMIT : Math.clamp(limit, 1, MAX_SEARCH_LIMIT)));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportPartsCatalogs() {
+    return ResponseEntity.ok(ndjsonExporter.export(partsCatalogService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<PartsCatalogDTO> getPartsCatalog(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(partsCatalogService.get(id));
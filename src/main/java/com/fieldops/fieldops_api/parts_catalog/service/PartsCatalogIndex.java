@@ -0,0 +1,413 @@
+package com.fieldops.fieldops_api.parts_catalog.service;
+
+import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogSearchResult;
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over part numbers and descriptions.
+ *
+ * <p>Both are split into lower-case alphanumeric terms; the part number is also indexed whole with
+ * its punctuation dropped, so {@code ab4471}, {@code AB-4471} and {@code 4471} all find {@code
+ * AB-4471}. Terms live in a sorted map, which answers prefix queries as a range scan the way a trie
+ * would, and their trigrams in a second map for substring and misspelling matches; misspellings
+ * are only looked for in words of five or more letters. Every query term must match some term of a
+ * part, by exact term, prefix, substring or trigram similarity in falling order of score; the
+ * part's score is the sum, plus a bonus when the whole query is its part number or the start of
+ * it. Equal scores rank by part number.
+ *
+ * <p>Each part has an int slot, and each term lists its parts' slots in a plain int array, so a
+ * search scores candidates in one int array indexed by slot instead of boxing them into maps.
+ * Reads share a lock and writes take it exclusively, so searches run concurrently with each other
+ * and wait only for the occasional changed part.
+ */
+final class PartsCatalogIndex {
+
+  private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private static final int PART_NUMBER_EXACT = 100;
+  private static final int PART_NUMBER_PREFIX = 50;
+  private static final int TERM_EXACT = 10;
+  private static final int TERM_PREFIX = 6;
+  private static final int TERM_SUBSTRING = 4;
+  private static final int TERM_SIMILAR = 3;
+  // Dice coefficient over padded trigrams; allows one wrong letter anywhere in words of 8 or more
+  private static final double MIN_SIMILARITY = 0.6;
+  private static final int MIN_SUBSTRING_LENGTH = 3;
+  // shorter words, and numbers, have too many near neighbours for a misspelling to be told apart
+  private static final int MIN_SIMILAR_LENGTH = 5;
+  // a one-letter prefix could otherwise visit most of the vocabulary
+  private static final int MAX_PREFIX_TERMS = 500;
+  // a search packs, per part, how many query terms it has matched above its score
+  private static final int SCORE_BITS = 24;
+  private static final int SCORE_MASK = (1 << SCORE_BITS) - 1;
+  private static final int MAX_QUERY_TERMS = 16;
+  // ties rank by this many leading characters of the compact part number
+  private static final int SORT_KEY_CHARS = 12;
+
+  private final Map<UUID, Integer> slots = new HashMap<>();
+  private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+  private final NavigableMap<String, Postings> terms = new TreeMap<>();
+  private final NavigableMap<String, Postings> partNumbers = new TreeMap<>();
+  private final Map<String, Set<Postings>> trigrams = new HashMap<>();
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+  private Part[] parts = new Part[1024];
+  private long[] sortKeys = new long[1024];
+  private int slotCount;
+
+  /** Add a part, or replace what is indexed for it. */
+  void put(
+      final UUID id,
+      final String partNumber,
+      final String description,
+      final BigDecimal unitPrice) {
+    final Set<String> partTerms = new LinkedHashSet<>(tokenize(partNumber));
+    partTerms.addAll(tokenize(description));
+    final String compactPartNumber = compact(partNumber);
+    if (!compactPartNumber.isEmpty()) {
+      partTerms.add(compactPartNumber);
+    }
+    final Part part =
+        new Part(id, partNumber, description, unitPrice, compactPartNumber, Set.copyOf(partTerms));
+    lock.writeLock().lock();
+    try {
+      final Integer existing = slots.get(id);
+      final int slot;
+      if (existing != null) {
+        slot = existing;
+        unindex(slot);
+      } else {
+        slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        slots.put(id, slot);
+        if (slot == parts.length) {
+          parts = Arrays.copyOf(parts, parts.length * 2);
+          sortKeys = Arrays.copyOf(sortKeys, sortKeys.length * 2);
+        }
+      }
+      parts[slot] = part;
+      sortKeys[slot] = sortKey(compactPartNumber);
+      partNumbers.computeIfAbsent(compactPartNumber, Postings::new).add(slot);
+      for (final String term : part.terms()) {
+        terms
+            .computeIfAbsent(
+                term,
+                added -> {
+                  final Postings postings = new Postings(added);
+                  for (final String trigram : trigrams(added)) {
+                    trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(postings);
+                  }
+                  return postings;
+                })
+            .add(slot);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  void remove(final UUID id) {
+    lock.writeLock().lock();
+    try {
+      final Integer slot = slots.remove(id);
+      if (slot != null) {
+        unindex(slot);
+        parts[slot] = null;
+        freeSlots.push(slot);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return slots.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Up to {@code limit} parts matching every term of {@code query}, best first. */
+  List<PartsCatalogSearchResult> search(final String query, final int limit) {
+    final List<String> queryTerms = tokenize(query);
+    if (queryTerms.isEmpty()) {
+      return List.of();
+    }
+    final int rounds = Math.min(queryTerms.size(), MAX_QUERY_TERMS);
+    final String compactQuery = compact(query);
+    lock.readLock().lock();
+    try {
+      // one int per part rather than a map entry, so even a common word costs microseconds
+      final int[] matches = new int[slotCount];
+      for (int round = 0; round < rounds; round++) {
+        if (match(queryTerms.get(round), round, matches) == 0) {
+          return List.of();
+        }
+      }
+      final Postings exactNumber = partNumbers.get(compactQuery);
+      if (exactNumber != null) {
+        exactNumber.bonus(rounds, PART_NUMBER_EXACT, matches);
+      }
+      int expanded = 0;
+      for (final Postings prefixedNumber :
+          partNumbers.subMap(compactQuery, false, compactQuery + Character.MAX_VALUE, false)
+              .values()) {
+        if (++expanded > MAX_PREFIX_TERMS) {
+          break;
+        }
+        prefixedNumber.bonus(rounds, PART_NUMBER_PREFIX, matches);
+      }
+      // scores and sort keys only, so ranking never follows a pointer to a part
+      final int[] topSlots = new int[limit];
+      final int[] topScores = new int[limit];
+      int found = 0;
+      for (int slot = 0; slot < matches.length; slot++) {
+        if (matches[slot] >>> SCORE_BITS != rounds) {
+          continue;
+        }
+        final int score = matches[slot] & SCORE_MASK;
+        if (found == limit
+            && !ranksBefore(score, slot, topScores[limit - 1], topSlots[limit - 1])) {
+          continue;
+        }
+        // insertion into the short sorted list of the best so far
+        int i = Math.min(found, limit - 1);
+        while (i > 0 && ranksBefore(score, slot, topScores[i - 1], topSlots[i - 1])) {
+          topSlots[i] = topSlots[i - 1];
+          topScores[i] = topScores[i - 1];
+          i--;
+        }
+        topSlots[i] = slot;
+        topScores[i] = score;
+        found = Math.min(found + 1, limit);
+      }
+      final List<PartsCatalogSearchResult> results = new ArrayList<>(found);
+      for (int i = 0; i < found; i++) {
+        final Part part = parts[topSlots[i]];
+        results.add(
+            new PartsCatalogSearchResult(
+                part.id(), part.partNumber(), part.description(), part.unitPrice(), topScores[i]));
+      }
+      return results;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private boolean ranksBefore(
+      final int score, final int slot, final int otherScore, final int otherSlot) {
+    return score > otherScore || (score == otherScore && sortKeys[slot] < sortKeys[otherSlot]);
+  }
+
+  /**
+   * Credit each part that matched the previous {@code round} query terms and has a term matching
+   * {@code queryTerm}. Matching terms are visited best kind first, so a part is credited with its
+   * best match. Returns how many parts were credited.
+   */
+  private int match(final String queryTerm, final int round, final int[] matches) {
+    int credited = 0;
+    final Postings exact = terms.get(queryTerm);
+    if (exact != null) {
+      credited += exact.credit(round, TERM_EXACT, matches);
+    }
+    int expanded = 0;
+    for (final Postings prefixed :
+        terms.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).values()) {
+      if (++expanded > MAX_PREFIX_TERMS) {
+        break;
+      }
+      credited += prefixed.credit(round, TERM_PREFIX, matches);
+    }
+    if (queryTerm.length() < MIN_SUBSTRING_LENGTH) {
+      return credited;
+    }
+    // any term containing the query term has all its trigrams, so scanning the rarest one will do
+    Set<Postings> rarest = null;
+    for (int i = 0; i + 3 <= queryTerm.length(); i++) {
+      final Set<Postings> containing =
+          trigrams.getOrDefault(queryTerm.substring(i, i + 3), Set.of());
+      if (rarest == null || containing.size() < rarest.size()) {
+        rarest = containing;
+      }
+    }
+    for (final Postings term : rarest) {
+      if (!term.term.startsWith(queryTerm) && term.term.contains(queryTerm)) {
+        credited += term.credit(round, TERM_SUBSTRING, matches);
+      }
+    }
+    if (queryTerm.length() < MIN_SIMILAR_LENGTH
+        || !queryTerm.chars().allMatch(Character::isLetter)) {
+      return credited;
+    }
+    final Set<String> queryTrigrams = trigrams(queryTerm);
+    // keyed by identity, so counting never hashes a string
+    final Map<Postings, Integer> shared = new HashMap<>();
+    for (final String trigram : queryTrigrams) {
+      final Set<Postings> containing = trigrams.get(trigram);
+      if (containing != null) {
+        containing.forEach(term -> shared.merge(term, 1, Integer::sum));
+      }
+    }
+    final List<Postings> similar = new ArrayList<>();
+    for (final Map.Entry<Postings, Integer> candidate : shared.entrySet()) {
+      final Postings term = candidate.getKey();
+      if (2.0 * candidate.getValue() / (queryTrigrams.size() + term.term.length())
+          >= MIN_SIMILARITY) {
+        similar.add(term);
+      }
+    }
+    // after every substring match, so those parts keep the better score
+    for (final Postings term : similar) {
+      credited += term.credit(round, TERM_SIMILAR, matches);
+    }
+    return credited;
+  }
+
+  private void unindex(final int slot) {
+    final Postings number = partNumbers.get(parts[slot].compactPartNumber());
+    number.remove(slot);
+    if (number.isEmpty()) {
+      partNumbers.remove(parts[slot].compactPartNumber());
+    }
+    for (final String term : parts[slot].terms()) {
+      final Postings postings = terms.get(term);
+      postings.remove(slot);
+      if (!postings.isEmpty()) {
+        continue;
+      }
+      terms.remove(term);
+      for (final String trigram : trigrams(term)) {
+        final Set<Postings> containing = trigrams.get(trigram);
+        containing.remove(postings);
+        if (containing.isEmpty()) {
+          trigrams.remove(trigram);
+        }
+      }
+    }
+  }
+
+  static List<String> tokenize(final String text) {
+    final List<String> tokens = new ArrayList<>();
+    if (text == null) {
+      return tokens;
+    }
+    for (final String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+      if (!token.isEmpty()) {
+        tokens.add(token);
+      }
+    }
+    return tokens;
+  }
+
+  static String compact(final String text) {
+    return text == null ? "" : SEPARATORS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
+  }
+
+  /**
+   * The first {@link #SORT_KEY_CHARS} characters of a compact part number as a number in the same
+   * order: digits, then letters, then anything else, with shorter part numbers first.
+   */
+  static long sortKey(final String compactPartNumber) {
+    long key = 0;
+    for (int i = 0; i < SORT_KEY_CHARS; i++) {
+      // 38 values per character, since 38^12 still fits a long
+      key *= 38;
+      if (i < compactPartNumber.length()) {
+        final char c = compactPartNumber.charAt(i);
+        key += c >= '0' && c <= '9' ? c - '0' + 1 : c >= 'a' && c <= 'z' ? c - 'a' + 11 : 37;
+      }
+    }
+    return key;
+  }
+
+  /**
+   * Trigrams of the term padded with a space each side, so a term of length n has n of them
+   * (fewer if some repeat) and short terms still have some.
+   */
+  private static Set<String> trigrams(final String term) {
+    final String padded = " " + term + " ";
+    final Set<String> trigrams = new HashSet<>();
+    for (int i = 0; i + 3 <= padded.length(); i++) {
+      trigrams.add(padded.substring(i, i + 3));
+    }
+    return trigrams;
+  }
+
+  /** Slots of the parts having one term, unordered. */
+  private static final class Postings {
+
+    private final String term;
+    private int[] slots = new int[4];
+    private int size;
+
+    Postings(final String term) {
+      this.term = term;
+    }
+
+    void add(final int slot) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+      }
+      slots[size++] = slot;
+    }
+
+    void remove(final int slot) {
+      for (int i = 0; i < size; i++) {
+        if (slots[i] == slot) {
+          slots[i] = slots[--size];
+          return;
+        }
+      }
+    }
+
+    boolean isEmpty() {
+      return size == 0;
+    }
+
+    /** Add {@code score} to each part that has matched {@code round} query terms so far. */
+    int credit(final int round, final int score, final int[] matches) {
+      int credited = 0;
+      for (int i = 0; i < size; i++) {
+        final int slot = slots[i];
+        final int match = matches[slot];
+        if (match >>> SCORE_BITS == round) {
+          matches[slot] = ((round + 1) << SCORE_BITS) | ((match & SCORE_MASK) + score);
+          credited++;
+        }
+      }
+      return credited;
+    }
+
+    /** Add {@code score} to each part that matched all {@code rounds} query terms. */
+    void bonus(final int rounds, final int score, final int[] matches) {
+      for (int i = 0; i < size; i++) {
+        if (matches[slots[i]] >>> SCORE_BITS == rounds) {
+          matches[slots[i]] += score;
+        }
+      }
+    }
+  }
+
+  private record Part(
+      UUID id,
+      String partNumber,
+      String description,
+      BigDecimal unitPrice,
+      String compactPartNumber,
+      Set<String> terms) {}
+}
@@ -0,0 +1,113 @@
+package com.fieldops.fieldops_api.parts_catalog.service;
+
+import com.fieldops.fieldops_api.events.PartsCatalogDeleted;
+import com.fieldops.fieldops_api.parts_catalog.domain.PartsCatalog;
+import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogSearchResult;
+import com.fieldops.fieldops_api.parts_catalog.repos.PartsCatalogRepository;
+import com.fieldops.fieldops_api.sync.service.ChangeVersionSequence;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Searches active parts by part number and description from a {@link PartsCatalogIndex} held in
+ * memory, so a search never touches the database.
+ *
+ * <p>The index follows the table by {@code changeVersion}: every {@code refresh-interval-ms} the
+ * parts changed since the last refresh are read, active ones indexed and inactive ones dropped. The
+ * first refresh after startup reads the whole catalog. Parts deleted through this instance leave
+ * the index as soon as the delete commits; since a deleted row leaves no change behind, the index
+ * is rebuilt from scratch every {@code rebuild-interval-ms} to drop parts deleted elsewhere.
+ * Refreshes read no further than {@link ChangeVersionSequence#stableVersion()}, so a part written
+ * by a transaction still in flight is picked up by a later refresh rather than skipped. Searches
+ * keep using the old index until the new one is complete.
+ */
+@Service
+public class PartsCatalogSearch {
+
+  private static final Logger log = LoggerFactory.getLogger(PartsCatalogSearch.class);
+
+  private final PartsCatalogRepository partsCatalogRepository;
+  private final ChangeVersionSequence changeVersionSequence;
+  private final int batchSize;
+  private final Timer searchTimer;
+
+  private volatile PartsCatalogIndex index = new PartsCatalogIndex();
+  // guarded by this
+  private long changeVersion;
+
+  public PartsCatalogSearch(
+      final PartsCatalogRepository partsCatalogRepository,
+      final ChangeVersionSequence changeVersionSequence,
+      final MeterRegistry meterRegistry,
+      @Value("${parts-catalog.search.batch-size:1000}") final int batchSize) {
+    this.partsCatalogRepository = partsCatalogRepository;
+    this.changeVersionSequence = changeVersionSequence;
+    this.batchSize = batchSize;
+    this.searchTimer = meterRegistry.timer("parts_catalog.search");
+    Gauge.builder("parts_catalog.search.parts", this, search -> search.index.size())
+        .register(meterRegistry);
+  }
+
+  /** Up to {@code limit} active parts matching every word of {@code query}, best first. */
+  public List<PartsCatalogSearchResult> search(final String query, final int limit) {
+    return searchTimer.record(() -> index.search(query, limit));
+  }
+
+  @Scheduled(fixedDelayString = "${parts-catalog.search.refresh-interval-ms:1000}")
+  public synchronized void refresh() {
+    changeVersion = load(index, changeVersion);
+  }
+
+  @Scheduled(
+      initialDelayString = "${parts-catalog.search.rebuild-interval-ms:3600000}",
+      fixedDelayString = "${parts-catalog.search.rebuild-interval-ms:3600000}")
+  public synchronized void rebuild() {
+    final PartsCatalogIndex rebuilt = new PartsCatalogIndex();
+    final long rebuiltChangeVersion = load(rebuilt, 0);
+    index = rebuilt;
+    changeVersion = rebuiltChangeVersion;
+    log.debug("Rebuilt parts search index with {} parts", rebuilt.size());
+  }
+
+  /** Drop a deleted part; waits for a rebuild in progress, which could otherwise bring it back. */
+  public synchronized void remove(final UUID id) {
+    index.remove(id);
+  }
+
+  @TransactionalEventListener(value = PartsCatalogDeleted.class, fallbackExecution = true)
+  public void on(final PartsCatalogDeleted event) {
+    remove(event.getId());
+  }
+
+  /** Apply committed changes above {@code since} to {@code target}; returns the new watermark. */
+  private long load(final PartsCatalogIndex target, final long since) {
+    final long upTo = changeVersionSequence.stableVersion();
+    long loaded = since;
+    List<PartsCatalog> page;
+    do {
+      page =
+          partsCatalogRepository.findByChangeVersionBetweenOrderByChangeVersion(
+              loaded + 1, upTo, Limit.of(batchSize));
+      for (final PartsCatalog part : page) {
+        if (Boolean.TRUE.equals(part.getActive())) {
+          target.put(
+              part.getId(), part.getPartNumber(), part.getDescription(), part.getUnitPrice());
+        } else {
+          target.remove(part.getId());
+        }
+        loaded = part.getChangeVersion();
+      }
+    } while (page.size() == batchSize);
+    return loaded;
+  }
+}
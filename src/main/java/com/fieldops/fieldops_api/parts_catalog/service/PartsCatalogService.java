@@ -1,18 +1,24 @@
 package com.fieldops.fieldops_api.parts_catalog.service;
 
 import com.fieldops.fieldops_api.events.BeforeDeletePartsCatalog;
+import com.fieldops.fieldops_api.events.PartsCatalogDeleted;
 import com.fieldops.fieldops_api.parts_catalog.domain.PartsCatalog;
 import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogDTO;
 import com.fieldops.fieldops_api.parts_catalog.repos.PartsCatalogRepository;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class PartsCatalogService {
+public class PartsCatalogService implements ChangeFeed, ChangeSink<PartsCatalogDTO> {
 
   private final PartsCatalogRepository partsCatalogRepository;
   private final ApplicationEventPublisher publisher;
@@ -31,6 +37,39 @@ public class PartsCatalogService {
         .toList();
   }
 
+  public Stream<PartsCatalogDTO> streamAll() {
+    return partsCatalogRepository
+        .streamAllBy()
+        .map(partsCatalog -> mapToDTO(partsCatalog, new PartsCatalogDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "parts_catalog";
+  }
+
+  @Override
+  public Class<PartsCatalog> entityType() {
+    return PartsCatalog.class;
+  }
+
+  @Override
+  public Class<PartsCatalogDTO> dtoType() {
+    return PartsCatalogDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<PartsCatalogDTO> rows =
+        partsCatalogRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(partsCatalog -> mapToDTO(partsCatalog, new PartsCatalogDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, PartsCatalogDTO::getChangeVersion);
+  }
+
   public PartsCatalogDTO get(final UUID id) {
     return partsCatalogRepository
         .findById(id)
@@ -56,6 +95,7 @@ public class PartsCatalogService {
         partsCatalogRepository.findById(id).orElseThrow(NotFoundException::new);
     publisher.publishEvent(new BeforeDeletePartsCatalog(id));
     partsCatalogRepository.delete(partsCatalog);
+    publisher.publishEvent(new PartsCatalogDeleted(id));
   }
 
   private PartsCatalogDTO mapToDTO(
@@ -78,8 +118,6 @@ public class PartsCatalogService {
     partsCatalog.setDescription(partsCatalogDTO.getDescription());
     partsCatalog.setUnitPrice(partsCatalogDTO.getUnitPrice());
     partsCatalog.setActive(partsCatalogDTO.getActive());
-    partsCatalog.setVersion(partsCatalogDTO.getVersion());
-    partsCatalog.setChangeVersion(partsCatalogDTO.getChangeVersion());
     partsCatalog.setCreatedAt(partsCatalogDTO.getCreatedAt());
     partsCatalog.setUpdatedAt(partsCatalogDTO.getUpdatedAt());
     return partsCatalog;
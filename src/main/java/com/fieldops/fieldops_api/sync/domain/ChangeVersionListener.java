@@ -0,0 +1,24 @@
+package com.fieldops.fieldops_api.sync.domain;
+
+import com.fieldops.fieldops_api.sync.service.ChangeVersionSequence;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Stamps {@link ChangeVersioned} entities with the next global change version whenever they are
+ * written. Instantiated by Hibernate through Spring, so the sequence is injected.
+ */
+public class ChangeVersionListener {
+
+  private final ChangeVersionSequence changeVersionSequence;
+
+  public ChangeVersionListener(final ChangeVersionSequence changeVersionSequence) {
+    this.changeVersionSequence = changeVersionSequence;
+  }
+
+  @PrePersist
+  @PreUpdate
+  public void assignChangeVersion(final ChangeVersioned entity) {
+    entity.setChangeVersion(changeVersionSequence.next());
+  }
+}
@@ -0,0 +1,12 @@
+package com.fieldops.fieldops_api.sync.domain;
+
+/**
+ * An entity whose {@code changeVersion} is assigned by the server on every insert and update, so
+ * that devices can pull "everything changed since version N".
+ */
+public interface ChangeVersioned {
+
+  Long getChangeVersion();
+
+  void setChangeVersion(Long changeVersion);
+}
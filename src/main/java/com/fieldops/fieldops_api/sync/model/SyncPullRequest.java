@@ -0,0 +1,26 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SyncPullRequest {
+
+  @NotNull private String deviceId;
+
+  /**
+   * Per table, the {@code changeVersion} of the last delta the device has applied; changes above it
+   * are returned. Tables missing here are pulled from the start.
+   */
+  private Map<String, Long> since;
+
+  /** Tables to pull; all syncable tables when empty. */
+  private List<String> tables;
+
+  /** Maximum rows per table; see {@code SyncPullService}. */
+  private Integer limit;
+}
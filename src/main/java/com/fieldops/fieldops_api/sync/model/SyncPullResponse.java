@@ -0,0 +1,16 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SyncPullResponse {
+
+  private OffsetDateTime serverTime;
+
+  /** Delta per table name; tables with {@code hasMore} should be pulled again. */
+  private Map<String, TableDelta> tables;
+}
@@ -0,0 +1,40 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.constraints.NotNull;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/** One queued offline edit. */
+@Getter
+@Setter
+public class SyncPushItem {
+
+  @NotNull private String tableName;
+
+  /** INSERT, UPDATE or DELETE. */
+  @NotNull private String operation;
+
+  /**
+   * Server id for UPDATE and DELETE. For INSERT, the id the device used locally; later items in
+   * the same batch may reference it and are rewritten to the server-assigned id.
+   */
+  private UUID recordId;
+
+  /**
+   * The resource DTO as JSON; not needed for DELETE. On UPDATE its {@code version} is the version
+   * the edit was based on.
+   */
+  private JsonNode data;
+
+  /**
+   * For UPDATE and DELETE of versioned tables, the row as last pulled by the device. Optional; when
+   * present, edits to fields the server has not touched since are merged instead of conflicting.
+   */
+  private JsonNode base;
+
+  /** When the edit was made on the device. */
+  private OffsetDateTime changedAt;
+}
@@ -0,0 +1,18 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SyncPushRequest {
+
+  @NotNull private String deviceId;
+
+  /** Edits in the order they were made on the device; applied in that order. */
+  @NotEmpty @Valid private List<SyncPushItem> items;
+}
@@ -0,0 +1,12 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class SyncPushResponse {
+
+  private List<SyncPushResult> results;
+}
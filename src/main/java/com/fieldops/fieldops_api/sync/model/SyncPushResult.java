@@ -0,0 +1,40 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Outcome of one pushed item, reported at the same index as the request item. */
+@Getter
+@AllArgsConstructor
+public class SyncPushResult {
+
+  public static final String APPLIED = "APPLIED";
+  public static final String FAILED = "FAILED";
+  public static final String CONFLICT = "CONFLICT";
+
+  private int index;
+
+  private String status;
+
+  /** The server id of the affected record; for INSERT this replaces the device-local id. */
+  private UUID recordId;
+
+  private String error;
+
+  /** The recorded {@code SyncConflict} when the edit was not applied because of a conflict. */
+  private UUID conflictId;
+
+  public static SyncPushResult applied(final int index, final UUID recordId) {
+    return new SyncPushResult(index, APPLIED, recordId, null, null);
+  }
+
+  public static SyncPushResult failed(final int index, final UUID recordId, final String error) {
+    return new SyncPushResult(index, FAILED, recordId, error, null);
+  }
+
+  public static SyncPushResult conflict(
+      final int index, final UUID recordId, final UUID conflictId) {
+    return new SyncPushResult(index, CONFLICT, recordId, null, conflictId);
+  }
+}
@@ -0,0 +1,61 @@
+package com.fieldops.fieldops_api.sync.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Changes for one table above a device's watermark. */
+@Getter
+@AllArgsConstructor
+public class TableDelta {
+
+  /** Rows created or updated since the watermark, as the resource's regular DTO. */
+  private List<Object> upserts;
+
+  /** Ids of rows soft-deleted since the watermark. */
+  private List<Object> tombstones;
+
+  /** The new watermark: the highest changeVersion included in this delta. */
+  private long changeVersion;
+
+  /** Whether more changes remain above {@link #changeVersion}. */
+  private boolean hasMore;
+
+  /**
+   * Build a delta from up to {@code limit + 1} rows above {@code since}, in ascending change order;
+   * the extra row only signals that another pull is needed.
+   */
+  public static <D> TableDelta of(
+      final List<D> rows,
+      final long since,
+      final int limit,
+      final Function<D, Long> changeVersionOf) {
+    return of(rows, since, limit, changeVersionOf, row -> false, row -> null);
+  }
+
+  public static <D> TableDelta of(
+      final List<D> rows,
+      final long since,
+      final int limit,
+      final Function<D, Long> changeVersionOf,
+      final Predicate<D> deleted,
+      final Function<D, ?> idOf) {
+    final boolean hasMore = rows.size() > limit;
+    final List<D> page = hasMore ? rows.subList(0, limit) : rows;
+    final List<Object> upserts = new ArrayList<>();
+    final List<Object> tombstones = new ArrayList<>();
+    long changeVersion = since;
+    for (final D row : page) {
+      if (deleted.test(row)) {
+        tombstones.add(idOf.apply(row));
+      } else {
+        upserts.add(row);
+      }
+      changeVersion = Math.max(changeVersion, changeVersionOf.apply(row));
+    }
+    return new TableDelta(upserts, tombstones, changeVersion, hasMore);
+  }
+}
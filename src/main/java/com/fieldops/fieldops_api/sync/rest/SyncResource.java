@@ -0,0 +1,41 @@
+package com.fieldops.fieldops_api.sync.rest;
+
+import com.fieldops.fieldops_api.sync.model.SyncPullRequest;
+import com.fieldops.fieldops_api.sync.model.SyncPullResponse;
+import com.fieldops.fieldops_api.sync.model.SyncPushRequest;
+import com.fieldops.fieldops_api.sync.model.SyncPushResponse;
+import com.fieldops.fieldops_api.sync.service.SyncPullService;
+import com.fieldops.fieldops_api.sync.service.SyncPushService;
+import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(value = "/api/sync", produces = MediaType.APPLICATION_JSON_VALUE)
+public class SyncResource {
+
+  private final SyncPullService syncPullService;
+  private final SyncPushService syncPushService;
+
+  public SyncResource(
+      final SyncPullService syncPullService, final SyncPushService syncPushService) {
+    this.syncPullService = syncPullService;
+    this.syncPushService = syncPushService;
+  }
+
+  @PostMapping("/pull")
+  public ResponseEntity<SyncPullResponse> pull(
+      @RequestBody @Valid final SyncPullRequest syncPullRequest) {
+    return ResponseEntity.ok(syncPullService.pull(syncPullRequest));
+  }
+
+  @PostMapping("/push")
+  public ResponseEntity<SyncPushResponse> push(
+      @RequestBody @Valid final SyncPushRequest syncPushRequest) {
+    return ResponseEntity.ok(syncPushService.push(syncPushRequest));
+  }
+}
@@ -0,0 +1,25 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+
+/**
+ * A syncable table that can list its rows changed after a given {@code changeVersion}.
+ *
+ * <p>Services of syncable entities implement this so {@link SyncPullService} can discover every
+ * table without knowing about each one.
+ */
+public interface ChangeFeed {
+
+  /** Table name as stored in {@code DeviceSyncState.tableName}. */
+  String tableName();
+
+  /**
+   * Rows with a {@code changeVersion} above the given watermark and at most {@code upTo}, in
+   * ascending change order.
+   *
+   * @param changeVersion the device's current watermark for this table
+   * @param upTo the highest version to include; see {@link ChangeVersionSequence#stableVersion()}
+   * @param limit the maximum number of rows to return
+   */
+  TableDelta changesSince(long changeVersion, long upTo, int limit);
+}
@@ -0,0 +1,34 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import java.util.UUID;
+
+/**
+ * A syncable table that accepts offline changes pushed by devices, using the same DTO and
+ * create/update/delete rules as its REST resource.
+ *
+ * @param <D> the resource DTO
+ */
+public interface ChangeSink<D> {
+
+  /** Table name as sent by devices, matching {@link ChangeFeed#tableName()}. */
+  String tableName();
+
+  /** The JPA entity behind the table, used to bulk-load referenced rows before a batch. */
+  Class<?> entityType();
+
+  Class<D> dtoType();
+
+  /** Current state of the row, compared against the device's base version on UPDATE/DELETE. */
+  D get(UUID id);
+
+  UUID create(D dto);
+
+  /**
+   * Apply the DTO to the row. Must look up everything it references before changing the entity:
+   * pushed items that fail are skipped, but the rest of the batch still flushes, so a half-applied
+   * entity would be saved.
+   */
+  void update(UUID id, D dto);
+
+  void delete(UUID id);
+}
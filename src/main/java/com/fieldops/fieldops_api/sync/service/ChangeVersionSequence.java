@@ -0,0 +1,86 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out change versions, and tells readers up to which version all changes are committed.
+ *
+ * <p>A version is the writing transaction's id ({@code pg_current_xact_id()}) in the high bits and
+ * a counter within the transaction in the low {@value #WRITE_BITS}. The id is fetched once, on a
+ * transaction's first write, so each transaction reserves a block of versions in one round trip
+ * and serves the rest from memory. Versions are unique across instances without coordination.
+ *
+ * <p>Versions are handed out in transaction-id order but committed in any order: a transaction
+ * can still be writing after a later one committed, and a reader that moved its cursor past the
+ * later one's versions would never see the earlier one's. {@link #stableVersion()} therefore reads
+ * only below the oldest transaction still in flight, {@code pg_snapshot_xmin}, which every running
+ * or future writer's id is at least. Neither side waits on the other.
+ */
+@Component
+public class ChangeVersionSequence {
+
+  static final int WRITE_BITS = 20;
+
+  private static final long MAX_WRITES = 1L << WRITE_BITS;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public ChangeVersionSequence(final JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /** The next change version; call inside the writing transaction. */
+  public long next() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Change versions are only handed out inside a transaction");
+    }
+    Block block = (Block) TransactionSynchronizationManager.getResource(this);
+    if (block == null) {
+      final long transactionId =
+          jdbcTemplate.queryForObject("select pg_current_xact_id()::text::bigint", Long.class);
+      block = new Block(transactionId << WRITE_BITS);
+      TransactionSynchronizationManager.bindResource(this, block);
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+              TransactionSynchronizationManager.unbindResourceIfPossible(
+                  ChangeVersionSequence.this);
+            }
+          });
+    }
+    return block.next();
+  }
+
+  /**
+   * The highest change version up to which every writing transaction has committed or rolled back,
+   * so no row can still appear at or below it. Readers should not move a cursor past this.
+   */
+  public long stableVersion() {
+    final long oldestRunning =
+        jdbcTemplate.queryForObject(
+            "select pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+    return (oldestRunning << WRITE_BITS) - 1;
+  }
+
+  /** The versions one transaction has left. */
+  private static final class Block {
+
+    private final long first;
+    private long used;
+
+    Block(final long first) {
+      this.first = first;
+    }
+
+    long next() {
+      if (used == MAX_WRITES) {
+        throw new IllegalStateException("More than " + MAX_WRITES + " versioned writes");
+      }
+      return first + used++;
+    }
+  }
+}
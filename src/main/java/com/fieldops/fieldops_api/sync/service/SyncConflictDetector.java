@@ -0,0 +1,186 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Three-way field comparison between a pushed edit, the row the device based it on, and the row as
+ * it is now on the server.
+ *
+ * <p>When the stored {@code version} still equals the version the edit was based on, the edit
+ * applies as-is. Otherwise only the fields the device actually changed are considered: if none of
+ * them was also changed on the server (to a different value), they are laid over the current server
+ * row and applied. Without a base snapshot the server's changes are unknown, so every field that
+ * differs from the server row counts as conflicting.
+ *
+ * <p>Values are compared as the DTO field's type, so timestamps are equal when they denote the same
+ * instant in any offset, and decimals when they are numerically equal whatever their scale or
+ * whether they were sent as strings.
+ */
+@Component
+public class SyncConflictDetector {
+
+  /**
+   * Maintained by the server, or stamped by the device on every edit so that they would always
+   * differ; never compared or merged.
+   */
+  private static final Set<String> SERVER_MANAGED =
+      Set.of(
+          "id",
+          "version",
+          "changeVersion",
+          "dateCreated",
+          "lastUpdated",
+          "createdAt",
+          "updatedAt");
+
+  private final ObjectMapper objectMapper;
+
+  public SyncConflictDetector(final ObjectMapper objectMapper) {
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * @param type the DTO the rows are serialized from, giving each field's type
+   * @param base the row as last pulled by the device, or {@code null} if the device did not send it
+   * @param local the row as edited on the device; its {@code version} is the base version
+   * @param server the row as currently stored
+   */
+  public Outcome detect(
+      final Class<?> type, final JsonNode base, final ObjectNode local, final ObjectNode server) {
+    final JsonNode baseVersion = local.get("version");
+    final JsonNode serverVersion = server.get("version");
+    if (serverVersion == null || baseVersion == null || sameValue(baseVersion, serverVersion)) {
+      return new Outcome(local, null, null);
+    }
+
+    final List<String> localChanges = new ArrayList<>();
+    final ObjectNode localDiff = JsonNodeFactory.instance.objectNode();
+    final ObjectNode serverDiff = JsonNodeFactory.instance.objectNode();
+    local
+        .fieldNames()
+        .forEachRemaining(
+            field -> {
+              if (SERVER_MANAGED.contains(field)) {
+                return;
+              }
+              final Class<?> fieldType = fieldType(type, field);
+              final JsonNode mine = value(local, field);
+              final JsonNode theirs = value(server, field);
+              final boolean changedLocally =
+                  !(base instanceof ObjectNode)
+                      || !sameValue(fieldType, mine, value(base, field));
+              if (!changedLocally || sameValue(fieldType, mine, theirs)) {
+                return;
+              }
+              final boolean changedOnServer =
+                  !(base instanceof ObjectNode)
+                      || !sameValue(fieldType, theirs, value(base, field));
+              if (changedOnServer) {
+                localDiff.set(field, mine);
+                serverDiff.set(field, theirs);
+              } else {
+                localChanges.add(field);
+              }
+            });
+
+    if (!localDiff.isEmpty()) {
+      return new Outcome(null, localDiff, serverDiff);
+    }
+    final ObjectNode merged = server.deepCopy();
+    localChanges.forEach(field -> merged.set(field, local.get(field)));
+    return new Outcome(merged, null, null);
+  }
+
+  /**
+   * A delete conflicts when the row was changed on the server after the device last pulled it.
+   *
+   * @param type the DTO the rows are serialized from, giving each field's type
+   * @param base the row as last pulled by the device, or {@code null} to delete unconditionally
+   * @param server the row as currently stored
+   */
+  public Outcome detectDelete(final Class<?> type, final JsonNode base, final ObjectNode server) {
+    final JsonNode baseVersion = base == null ? null : base.get("version");
+    final JsonNode serverVersion = server.get("version");
+    if (serverVersion == null || baseVersion == null || sameValue(baseVersion, serverVersion)) {
+      return new Outcome(server, null, null);
+    }
+    final ObjectNode serverDiff = JsonNodeFactory.instance.objectNode();
+    server
+        .fieldNames()
+        .forEachRemaining(
+            field -> {
+              if (!SERVER_MANAGED.contains(field)
+                  && !sameValue(
+                      fieldType(type, field), value(server, field), value(base, field))) {
+                serverDiff.set(field, server.get(field));
+              }
+            });
+    if (serverDiff.isEmpty()) {
+      return new Outcome(server, null, null);
+    }
+    return new Outcome(null, JsonNodeFactory.instance.objectNode(), serverDiff);
+  }
+
+  private static JsonNode value(final JsonNode row, final String field) {
+    final JsonNode value = row.get(field);
+    return value == null ? NullNode.getInstance() : value;
+  }
+
+  private static boolean sameValue(final JsonNode a, final JsonNode b) {
+    if (a.isNumber() && b.isNumber()) {
+      return a.decimalValue().compareTo(b.decimalValue()) == 0;
+    }
+    return a.equals(b);
+  }
+
+  private boolean sameValue(final Class<?> fieldType, final JsonNode a, final JsonNode b) {
+    if (a.isNull() || b.isNull() || fieldType == null) {
+      return sameValue(a, b);
+    }
+    try {
+      if (fieldType == OffsetDateTime.class) {
+        return objectMapper
+            .treeToValue(a, OffsetDateTime.class)
+            .isEqual(objectMapper.treeToValue(b, OffsetDateTime.class));
+      }
+      if (fieldType == BigDecimal.class) {
+        return objectMapper
+                .treeToValue(a, BigDecimal.class)
+                .compareTo(objectMapper.treeToValue(b, BigDecimal.class))
+            == 0;
+      }
+    } catch (final JsonProcessingException e) {
+      // not a valid value of the field's type; compare as sent
+    }
+    return sameValue(a, b);
+  }
+
+  private static Class<?> fieldType(final Class<?> type, final String field) {
+    final Field declared = type == null ? null : ReflectionUtils.findField(type, field);
+    return declared == null ? null : declared.getType();
+  }
+
+  /**
+   * Either {@code merged} is the row to apply, or {@code localDiff}/{@code serverDiff} hold the
+   * conflicting fields with the device's and the server's values.
+   */
+  public record Outcome(ObjectNode merged, ObjectNode localDiff, ObjectNode serverDiff) {
+
+    public boolean isConflict() {
+      return merged == null;
+    }
+  }
+}
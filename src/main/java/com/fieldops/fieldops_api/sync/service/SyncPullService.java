@@ -0,0 +1,104 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import com.fieldops.fieldops_api.auth.AuthenticationHelper;
+import com.fieldops.fieldops_api.device_sync_state.domain.DeviceSyncState;
+import com.fieldops.fieldops_api.device_sync_state.repos.DeviceSyncStateRepository;
+import com.fieldops.fieldops_api.sync.model.SyncPullRequest;
+import com.fieldops.fieldops_api.sync.model.SyncPullResponse;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+@Service
+public class SyncPullService {
+
+  public static final int DEFAULT_LIMIT = 500;
+  public static final int MAX_LIMIT = 5000;
+
+  private final Map<String, ChangeFeed> changeFeeds = new TreeMap<>();
+  private final ChangeVersionSequence changeVersionSequence;
+  private final DeviceSyncStateRepository deviceSyncStateRepository;
+  private final AuthenticationHelper authHelper;
+
+  public SyncPullService(
+      final List<ChangeFeed> changeFeeds,
+      final ChangeVersionSequence changeVersionSequence,
+      final DeviceSyncStateRepository deviceSyncStateRepository,
+      final AuthenticationHelper authHelper) {
+    changeFeeds.forEach(feed -> this.changeFeeds.put(feed.tableName(), feed));
+    this.changeVersionSequence = changeVersionSequence;
+    this.deviceSyncStateRepository = deviceSyncStateRepository;
+    this.authHelper = authHelper;
+  }
+
+  /**
+   * Return every change above the device's cursor for each table, as sent in {@code since}.
+   *
+   * <p>The deltas depend only on the cursors the device sends, so a response lost in transit is
+   * simply pulled again from the same cursors; the device moves a cursor to a delta's {@code
+   * changeVersion} only once it has applied that delta. The cursors are recorded in {@link
+   * DeviceSyncState} as the device's acknowledged progress, for monitoring. Concurrent pulls of the
+   * same device may return overlapping deltas; applying an upsert or tombstone twice is harmless.
+   *
+   * <p>Only changes up to {@link ChangeVersionSequence#stableVersion()} are returned, so a cursor
+   * never passes a version a transaction still in flight could commit.
+   */
+  @Transactional
+  public SyncPullResponse pull(final SyncPullRequest request) {
+    final int limit = clampLimit(request.getLimit());
+    final Map<String, Long> since = request.getSince() == null ? Map.of() : request.getSince();
+    final OffsetDateTime now = OffsetDateTime.now();
+    final long upTo = changeVersionSequence.stableVersion();
+    final Map<String, TableDelta> deltas = new LinkedHashMap<>();
+    for (final ChangeFeed feed : selectFeeds(request.getTables())) {
+      final Long sent = since.get(feed.tableName());
+      final long cursor = sent == null ? 0L : Math.max(0L, sent);
+      deltas.put(feed.tableName(), feed.changesSince(cursor, upTo, limit));
+      acknowledge(request.getDeviceId(), feed.tableName(), cursor, now);
+    }
+    return new SyncPullResponse(now, deltas);
+  }
+
+  private void acknowledge(
+      final String deviceId, final String tableName, final long cursor, final OffsetDateTime now) {
+    deviceSyncStateRepository.insertIfAbsent(
+        deviceId, tableName, authHelper.getCurrentUserId(), now);
+    final DeviceSyncState state =
+        deviceSyncStateRepository.findByDeviceIdAndTableName(deviceId, tableName).orElseThrow();
+    state.setLastChangeVersion(cursor);
+    state.setLastSyncAt(now);
+    state.setUpdatedAt(now);
+  }
+
+  private List<ChangeFeed> selectFeeds(final List<String> tables) {
+    if (tables == null || tables.isEmpty()) {
+      return List.copyOf(changeFeeds.values());
+    }
+    return tables.stream()
+        .distinct()
+        .map(
+            table -> {
+              final ChangeFeed feed = changeFeeds.get(table);
+              if (feed == null) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "Unknown sync table: " + table);
+              }
+              return feed;
+            })
+        .toList();
+  }
+
+  private static int clampLimit(final Integer limit) {
+    if (limit == null || limit < 1) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.min(limit, MAX_LIMIT);
+  }
+}
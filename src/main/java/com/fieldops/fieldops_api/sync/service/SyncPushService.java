@@ -0,0 +1,319 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fieldops.fieldops_api.auth.AuthenticationHelper;
+import com.fieldops.fieldops_api.offline_changes_log.domain.OfflineChangesLog;
+import com.fieldops.fieldops_api.offline_changes_log.repos.OfflineChangesLogRepository;
+import com.fieldops.fieldops_api.sync.model.SyncPushItem;
+import com.fieldops.fieldops_api.sync.model.SyncPushRequest;
+import com.fieldops.fieldops_api.sync.model.SyncPushResponse;
+import com.fieldops.fieldops_api.sync.model.SyncPushResult;
+import com.fieldops.fieldops_api.sync_conflict.domain.SyncConflict;
+import com.fieldops.fieldops_api.sync_conflict.repos.SyncConflictRepository;
+import com.fieldops.fieldops_api.user.domain.User;
+import com.fieldops.fieldops_api.user.repos.UserRepository;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import com.fieldops.fieldops_api.util.ReferencedException;
+import com.fieldops.fieldops_api.util.ValidationTarget;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ValidatorFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.hibernate.validator.HibernateValidatorFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Applies a device's queued offline edits as one batch.
+ *
+ * <p>The whole batch runs in a single transaction: every id referenced anywhere in the batch is
+ * loaded up front with one {@code in (...)} query per table, so the per-field {@code findById}
+ * lookups in the services are answered from the persistence context, and all inserts, updates and
+ * {@link OfflineChangesLog} rows go out together in JDBC batches on the final flush.
+ *
+ * <p>UPDATE and DELETE of versioned tables go through {@link SyncConflictDetector}: stale edits to
+ * fields nobody else touched are merged, true conflicts are stored as a {@link SyncConflict} with
+ * just the conflicting fields and left for a dispatcher to resolve.
+ *
+ * <p>Items that fail validation or reference missing rows are reported individually and skipped;
+ * a database error at flush time rejects the whole batch. Sinks reject such items before touching
+ * the entity (see {@link ChangeSink#update}), so a skipped item leaves no changes behind for the
+ * final flush.
+ */
+@Service
+public class SyncPushService {
+
+  public static final int MAX_BATCH_SIZE = 1000;
+
+  /** Both sides edited the same fields. */
+  public static final String UPDATE_UPDATE = "UPDATE_UPDATE";
+
+  /** The device deleted a row that was edited on the server after the device last pulled it. */
+  public static final String DELETE_UPDATE = "DELETE_UPDATE";
+
+  private final Map<String, ChangeSink<?>> changeSinks = new TreeMap<>();
+  private final OfflineChangesLogRepository offlineChangesLogRepository;
+  private final SyncConflictRepository syncConflictRepository;
+  private final SyncConflictDetector conflictDetector;
+  private final UserRepository userRepository;
+  private final AuthenticationHelper authHelper;
+  private final ObjectMapper objectMapper;
+  private final ValidatorFactory validatorFactory;
+  private final EntityManager entityManager;
+
+  public SyncPushService(
+      final List<ChangeSink<?>> changeSinks,
+      final OfflineChangesLogRepository offlineChangesLogRepository,
+      final SyncConflictRepository syncConflictRepository,
+      final SyncConflictDetector conflictDetector,
+      final UserRepository userRepository,
+      final AuthenticationHelper authHelper,
+      final ObjectMapper objectMapper,
+      final ValidatorFactory validatorFactory,
+      final EntityManager entityManager) {
+    changeSinks.forEach(sink -> this.changeSinks.put(sink.tableName(), sink));
+    this.offlineChangesLogRepository = offlineChangesLogRepository;
+    this.syncConflictRepository = syncConflictRepository;
+    this.conflictDetector = conflictDetector;
+    this.userRepository = userRepository;
+    this.authHelper = authHelper;
+    this.objectMapper = objectMapper;
+    this.validatorFactory = validatorFactory;
+    this.entityManager = entityManager;
+  }
+
+  @Transactional
+  public SyncPushResponse push(final SyncPushRequest syncPushRequest) {
+    return push(
+        syncPushRequest.getDeviceId(), authHelper.getCurrentUserId(), syncPushRequest.getItems());
+  }
+
+  /** Apply items on behalf of the given user, e.g. when draining the server-side sync queue. */
+  @Transactional
+  public SyncPushResponse push(
+      final String deviceId, final UUID userId, final List<SyncPushItem> items) {
+    if (items.size() > MAX_BATCH_SIZE) {
+      throw new ResponseStatusException(
+          HttpStatus.PAYLOAD_TOO_LARGE, "At most " + MAX_BATCH_SIZE + " items per push");
+    }
+    prefetchReferences(items);
+
+    final User user = userRepository.getReferenceById(userId);
+    final Batch batch = new Batch(deviceId, user, OffsetDateTime.now(), new HashMap<>());
+    final List<SyncPushResult> results = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      final SyncPushItem item = items.get(i);
+      try {
+        results.add(apply(i, sinkFor(item.getTableName()), item, batch));
+      } catch (final IllegalArgumentException | NotFoundException | ReferencedException e) {
+        results.add(SyncPushResult.failed(i, item.getRecordId(), e.getMessage()));
+      }
+    }
+    entityManager.flush();
+    return new SyncPushResponse(results);
+  }
+
+  private <D> SyncPushResult apply(
+      final int index, final ChangeSink<D> sink, final SyncPushItem item, final Batch batch) {
+    final UUID recordId;
+    switch (item.getOperation()) {
+      case "INSERT" -> {
+        recordId = sink.create(readDto(sink, resolveReferences(item, batch), null));
+        if (item.getRecordId() != null) {
+          batch.assignedIds().put(item.getRecordId().toString(), recordId.toString());
+        }
+      }
+      case "UPDATE" -> {
+        recordId = requireRecordId(item, batch);
+        final ObjectNode server = currentRow(sink, recordId);
+        final SyncConflictDetector.Outcome outcome =
+            conflictDetector.detect(
+                sink.dtoType(), item.getBase(), resolveReferences(item, batch), server);
+        if (outcome.isConflict()) {
+          final UUID conflictId =
+              recordConflict(item, recordId, UPDATE_UPDATE, outcome, server, batch);
+          return SyncPushResult.conflict(index, recordId, conflictId);
+        }
+        sink.update(recordId, readDto(sink, outcome.merged(), recordId));
+      }
+      case "DELETE" -> {
+        recordId = requireRecordId(item, batch);
+        final ObjectNode server = currentRow(sink, recordId);
+        final SyncConflictDetector.Outcome outcome =
+            conflictDetector.detectDelete(sink.dtoType(), item.getBase(), server);
+        if (outcome.isConflict()) {
+          final UUID conflictId =
+              recordConflict(item, recordId, DELETE_UPDATE, outcome, server, batch);
+          return SyncPushResult.conflict(index, recordId, conflictId);
+        }
+        sink.delete(recordId);
+      }
+      default -> throw new IllegalArgumentException("Unknown operation: " + item.getOperation());
+    }
+    offlineChangesLogRepository.save(logEntry(item, recordId, batch));
+    return SyncPushResult.applied(index, recordId);
+  }
+
+  private ObjectNode currentRow(final ChangeSink<?> sink, final UUID recordId) {
+    return objectMapper.valueToTree(sink.get(recordId));
+  }
+
+  private UUID recordConflict(
+      final SyncPushItem item,
+      final UUID recordId,
+      final String conflictType,
+      final SyncConflictDetector.Outcome outcome,
+      final ObjectNode server,
+      final Batch batch) {
+    final SyncConflict conflict = new SyncConflict();
+    conflict.setDeviceId(batch.deviceId());
+    conflict.setTableName(item.getTableName());
+    conflict.setRecordId(recordId);
+    conflict.setConflictType(conflictType);
+    conflict.setLocalVersion(version(item.getData() == null ? item.getBase() : item.getData()));
+    conflict.setServerVersion(version(server));
+    conflict.setLocalData(outcome.localDiff().toString());
+    conflict.setServerData(outcome.serverDiff().toString());
+    conflict.setResolved(false);
+    conflict.setCreatedAt(item.getChangedAt() == null ? batch.now() : item.getChangedAt());
+    return syncConflictRepository.save(conflict).getId();
+  }
+
+  private static Integer version(final JsonNode row) {
+    final JsonNode version = row == null ? null : row.get("version");
+    return version == null || !version.canConvertToInt() ? null : version.asInt();
+  }
+
+  private ChangeSink<?> sinkFor(final String tableName) {
+    final ChangeSink<?> sink = changeSinks.get(tableName);
+    if (sink == null) {
+      throw new IllegalArgumentException("Table does not accept pushes: " + tableName);
+    }
+    return sink;
+  }
+
+  private static UUID requireRecordId(final SyncPushItem item, final Batch batch) {
+    if (item.getRecordId() == null) {
+      throw new IllegalArgumentException("recordId is required for " + item.getOperation());
+    }
+    final String assigned = batch.assignedIds().get(item.getRecordId().toString());
+    return assigned == null ? item.getRecordId() : UUID.fromString(assigned);
+  }
+
+  /** The item's data, with device-local ids of rows inserted earlier in the batch rewritten. */
+  private static ObjectNode resolveReferences(final SyncPushItem item, final Batch batch) {
+    if (!(item.getData() instanceof ObjectNode data)) {
+      throw new IllegalArgumentException("data is required for " + item.getOperation());
+    }
+    final ObjectNode resolved = data.deepCopy();
+    resolved
+        .properties()
+        .forEach(
+            field -> {
+              final String assigned = batch.assignedIds().get(field.getValue().asText());
+              if (field.getValue().isTextual() && assigned != null) {
+                field.setValue(resolved.textNode(assigned));
+              }
+            });
+    return resolved;
+  }
+
+  private <D> D readDto(final ChangeSink<D> sink, final ObjectNode data, final UUID recordId) {
+    final D dto;
+    try {
+      dto = objectMapper.treeToValue(data, sink.dtoType());
+    } catch (final JsonProcessingException e) {
+      throw new IllegalArgumentException("Unreadable data: " + e.getOriginalMessage());
+    }
+    validate(dto, recordId);
+    return dto;
+  }
+
+  private void validate(final Object dto, final UUID recordId) {
+    // validators such as AssetSerialNumberUnique need to know which record is being updated
+    final Set<ConstraintViolation<Object>> violations =
+        validatorFactory
+            .unwrap(HibernateValidatorFactory.class)
+            .usingContext()
+            .constraintValidatorPayload(new ValidationTarget(recordId))
+            .getValidator()
+            .validate(dto);
+    if (!violations.isEmpty()) {
+      throw new IllegalArgumentException(
+          violations.stream()
+              .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+              .sorted()
+              .collect(Collectors.joining(", ")));
+    }
+  }
+
+  /** Load every row the batch mentions into the persistence context, one query per table. */
+  private void prefetchReferences(final List<SyncPushItem> items) {
+    final Set<UUID> ids = new HashSet<>();
+    for (final SyncPushItem item : items) {
+      if (item.getRecordId() != null) {
+        ids.add(item.getRecordId());
+      }
+      if (item.getData() instanceof ObjectNode data) {
+        data.properties().forEach(field -> parseUuid(field.getValue()).ifPresent(ids::add));
+      }
+    }
+    if (ids.isEmpty()) {
+      return;
+    }
+    for (final ChangeSink<?> sink : changeSinks.values()) {
+      final String entityName = entityManager.getMetamodel().entity(sink.entityType()).getName();
+      entityManager
+          .createQuery("select e from " + entityName + " e where e.id in :ids")
+          .setParameter("ids", ids)
+          .getResultList();
+    }
+  }
+
+  private static Optional<UUID> parseUuid(final JsonNode value) {
+    if (!value.isTextual() || value.asText().length() != 36) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(UUID.fromString(value.asText()));
+    } catch (final IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static OfflineChangesLog logEntry(
+      final SyncPushItem item, final UUID recordId, final Batch batch) {
+    final OfflineChangesLog entry = new OfflineChangesLog();
+    entry.setDeviceId(batch.deviceId());
+    entry.setTableName(item.getTableName());
+    entry.setRecordId(recordId);
+    entry.setOperation(item.getOperation());
+    entry.setChanges(item.getData() == null ? "{}" : item.getData().toString());
+    entry.setSyncedAt(batch.now());
+    entry.setCreatedAt(item.getChangedAt() == null ? batch.now() : item.getChangedAt());
+    entry.setUser(batch.user());
+    return entry;
+  }
+
+  /**
+   * State shared by the items of one push; {@code assignedIds} maps device-local ids of rows
+   * inserted earlier in the batch to their server-assigned ids.
+   */
+  private record Batch(
+      String deviceId, User user, OffsetDateTime now, Map<String, String> assignedIds) {}
+}
@@ -1,10 +1,21 @@
 package com.fieldops.fieldops_api.sync_conflict.repos;
 
 import com.fieldops.fieldops_api.sync_conflict.domain.SyncConflict;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface SyncConflictRepository extends JpaRepository<SyncConflict, UUID> {
 
   SyncConflict findFirstByResolvedByUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<SyncConflict> streamAllBy();
 }
@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.sync_conflict.rest;
 
 import com.fieldops.fieldops_api.sync_conflict.model.SyncConflictDTO;
 import com.fieldops.fieldops_api.sync_conflict.service.SyncConflictService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/syncConflicts", produces = MediaType.APPLICATION_JSON_VALUE)
 public class SyncConflictResource {
 
   private final SyncConflictService syncConflictService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public SyncConflictResource(final SyncConflictService syncConflictService) {
+  public SyncConflictResource(
+      final SyncConflictService syncConflictService, final NdjsonExporter ndjsonExporter) {
     this.syncConflictService = syncConflictService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class SyncConflictResource {
     return ResponseEntity.ok(syncConflictService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportSyncConflicts() {
+    return ResponseEntity.ok(ndjsonExporter.export(syncConflictService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<SyncConflictDTO> getSyncConflict(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(syncConflictService.get(id));
@@ -10,6 +10,7 @@ import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -33,6 +34,12 @@ public class SyncConflictService {
         .toList();
   }
 
+  public Stream<SyncConflictDTO> streamAll() {
+    return syncConflictRepository
+        .streamAllBy()
+        .map(syncConflict -> mapToDTO(syncConflict, new SyncConflictDTO()));
+  }
+
   public SyncConflictDTO get(final UUID id) {
     return syncConflictRepository
         .findById(id)
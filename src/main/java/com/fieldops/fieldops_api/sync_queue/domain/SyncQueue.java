@@ -7,8 +7,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -19,11 +21,21 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
+@Table(
+    indexes = {
+      @Index(name = "idx_sync_queue_status_next_retry_at", columnList = "status, next_retry_at"),
+      @Index(name = "idx_sync_queue_device_id_created_at", columnList = "device_id, created_at")
+    })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
 public class SyncQueue {
 
+  public static final String PENDING = "PENDING";
+  public static final String PROCESSING = "PROCESSING";
+  public static final String DONE = "DONE";
+  public static final String FAILED = "FAILED";
+
   @Id
   @Column(nullable = false, updatable = false)
   @GeneratedValue
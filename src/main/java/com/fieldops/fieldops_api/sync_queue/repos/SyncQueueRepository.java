@@ -1,10 +1,54 @@
 package com.fieldops.fieldops_api.sync_queue.repos;
 
 import com.fieldops.fieldops_api.sync_queue.domain.SyncQueue;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface SyncQueueRepository extends JpaRepository<SyncQueue, UUID> {
 
   SyncQueue findFirstByUserId(UUID id);
+
+  /**
+   * Lock up to {@code limit} items that are due, oldest first, skipping rows other workers already
+   * hold. Items stuck in PROCESSING since before {@code staleBefore} belonged to a worker that died
+   * and are claimed again. A device's items are applied in order, so none is due while an earlier
+   * one of the same device is still being applied or waiting for its retry.
+   */
+  @Query(
+      value =
+          """
+          select * from sync_queue q
+          where ((q.status = 'PENDING' and (q.next_retry_at is null or q.next_retry_at <= :now))
+                 or (q.status = 'PROCESSING' and q.last_updated < :staleBefore))
+            and not exists (
+                select 1 from sync_queue earlier
+                where earlier.device_id = q.device_id
+                  and earlier.created_at < q.created_at
+                  and ((earlier.status = 'PENDING' and earlier.next_retry_at > :now)
+                       or (earlier.status = 'PROCESSING' and earlier.last_updated >= :staleBefore)))
+          order by q.created_at
+          limit :limit
+          for update skip locked
+          """,
+      nativeQuery = true)
+  List<SyncQueue> lockDue(OffsetDateTime now, OffsetDateTime staleBefore, int limit);
+
+  long countByStatus(String status);
+
+  @Query("select min(q.createdAt) from SyncQueue q where q.status = :status")
+  OffsetDateTime findOldestCreatedAtByStatus(String status);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<SyncQueue> streamAllBy();
 }
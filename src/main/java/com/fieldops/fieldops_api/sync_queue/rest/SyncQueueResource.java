@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.sync_queue.rest;
 
 import com.fieldops.fieldops_api.sync_queue.model.SyncQueueDTO;
 import com.fieldops.fieldops_api.sync_queue.service.SyncQueueService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/syncQueues", produces = MediaType.APPLICATION_JSON_VALUE)
 public class SyncQueueResource {
 
   private final SyncQueueService syncQueueService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public SyncQueueResource(final SyncQueueService syncQueueService) {
+  public SyncQueueResource(
+      final SyncQueueService syncQueueService, final NdjsonExporter ndjsonExporter) {
     this.syncQueueService = syncQueueService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class SyncQueueResource {
     return ResponseEntity.ok(syncQueueService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportSyncQueues() {
+    return ResponseEntity.ok(ndjsonExporter.export(syncQueueService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<SyncQueueDTO> getSyncQueue(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(syncQueueService.get(id));
@@ -0,0 +1,336 @@
+package com.fieldops.fieldops_api.sync_queue.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fieldops.fieldops_api.sync.model.SyncPushItem;
+import com.fieldops.fieldops_api.sync.model.SyncPushResult;
+import com.fieldops.fieldops_api.sync.service.SyncPushService;
+import com.fieldops.fieldops_api.sync_queue.domain.SyncQueue;
+import com.fieldops.fieldops_api.sync_queue.repos.SyncQueueRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains {@link SyncQueue} by applying each due item through {@link SyncPushService}.
+ *
+ * <p>Items are claimed in batches with {@code select ... for update skip locked} and marked
+ * PROCESSING in a short transaction, so any number of instances can poll the same table without
+ * blocking each other or picking the same row. A failed item goes back to PENDING with {@code
+ * nextRetryAt} set by exponential backoff with jitter, until {@code max-retries} is reached and it
+ * is marked FAILED. An item left in PROCESSING by a crashed instance is claimed again once its
+ * lease has expired.
+ *
+ * <p>A device's edits depend on each other, so its items are applied in the order they were
+ * queued, as one push: an UPDATE can then refer to the device-local id of a row an earlier INSERT
+ * created. An item is not claimed while an earlier one of its device is still in flight or waiting
+ * to be retried, and when an item fails, the device's later items go back to PENDING unapplied.
+ * Devices are applied in parallel on at most {@code workers} threads, each holding one
+ * connection, which keeps the queue from taking the whole pool.
+ *
+ * <p>A poll claims at most {@code max-batches-per-poll} batches before returning, so a deep queue
+ * never holds a scheduler thread for longer than that; the rest waits for the next poll.
+ */
+@Component
+@ConditionalOnProperty(name = "sync.queue.worker.enabled", matchIfMissing = true)
+public class SyncQueueDispatcher {
+
+  private static final Logger log = LoggerFactory.getLogger(SyncQueueDispatcher.class);
+
+  private final SyncQueueRepository syncQueueRepository;
+  private final SyncPushService syncPushService;
+  private final ObjectMapper objectMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final ExecutorService workers;
+  private final int batchSize;
+  private final int maxBatchesPerPoll;
+  private final int maxRetries;
+  private final Duration backoffBase;
+  private final Duration backoffMax;
+  private final Duration lease;
+
+  private final AtomicLong depth = new AtomicLong();
+  private final AtomicLong oldestAgeSeconds = new AtomicLong();
+  private final Counter done;
+  private final Counter retried;
+  private final Counter failed;
+  private final Timer processing;
+
+  public SyncQueueDispatcher(
+      final SyncQueueRepository syncQueueRepository,
+      final SyncPushService syncPushService,
+      final ObjectMapper objectMapper,
+      final PlatformTransactionManager transactionManager,
+      final MeterRegistry meterRegistry,
+      @Value("${sync.queue.batch-size:50}") final int batchSize,
+      @Value("${sync.queue.max-batches-per-poll:10}") final int maxBatchesPerPoll,
+      @Value("${sync.queue.max-retries:10}") final int maxRetries,
+      @Value("${sync.queue.backoff-base:2s}") final Duration backoffBase,
+      @Value("${sync.queue.backoff-max:30m}") final Duration backoffMax,
+      @Value("${sync.queue.lease:5m}") final Duration lease,
+      @Value("${sync.queue.workers:4}") final int workerCount) {
+    this.syncQueueRepository = syncQueueRepository;
+    this.syncPushService = syncPushService;
+    this.objectMapper = objectMapper;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.maxBatchesPerPoll = Math.max(1, maxBatchesPerPoll);
+    this.maxRetries = maxRetries;
+    this.backoffBase = backoffBase;
+    this.backoffMax = backoffMax;
+    this.lease = lease;
+    this.workers =
+        Executors.newFixedThreadPool(
+            Math.max(1, workerCount), Thread.ofVirtual().name("sync-queue-", 0).factory());
+    Gauge.builder("sync.queue.depth", depth, AtomicLong::get)
+        .description("Items waiting to be applied")
+        .register(meterRegistry);
+    Gauge.builder("sync.queue.oldest.age", oldestAgeSeconds, AtomicLong::get)
+        .description("Age of the oldest waiting item")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+    this.done = meterRegistry.counter("sync.queue.processed", "result", "done");
+    this.retried = meterRegistry.counter("sync.queue.processed", "result", "retry");
+    this.failed = meterRegistry.counter("sync.queue.processed", "result", "failed");
+    this.processing = meterRegistry.timer("sync.queue.processing");
+  }
+
+  /**
+   * Claim and apply due items until a claim comes back short or {@code max-batches-per-poll}
+   * batches were claimed, then refresh the gauges.
+   */
+  @Scheduled(fixedDelayString = "${sync.queue.poll-interval-ms:1000}")
+  public void drain() {
+    List<SyncQueue> claimed;
+    int batches = 0;
+    do {
+      claimed = claim();
+      final List<Callable<Void>> tasks =
+          claimed.stream()
+              .collect(
+                  Collectors.groupingBy(
+                      SyncQueue::getDeviceId, LinkedHashMap::new, Collectors.toList()))
+              .values()
+              .stream()
+              .<Callable<Void>>map(
+                  items ->
+                      () -> {
+                        processing.record(() -> apply(items));
+                        return null;
+                      })
+              .toList();
+      try {
+        workers.invokeAll(tasks);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    } while (claimed.size() == batchSize && ++batches < maxBatchesPerPoll);
+    refreshGauges();
+  }
+
+  private List<SyncQueue> claim() {
+    return transactionTemplate.execute(
+        status -> {
+          final OffsetDateTime now = OffsetDateTime.now();
+          final List<SyncQueue> due =
+              syncQueueRepository.lockDue(now, now.minus(lease), batchSize);
+          due.forEach(
+              item -> {
+                item.setStatus(SyncQueue.PROCESSING);
+                item.setUpdatedAt(now);
+              });
+          return due;
+        });
+  }
+
+  /**
+   * Apply one device's items, oldest first, as few pushes as possible: one per run of items queued
+   * by the same user. Stops at the first item that fails and puts the rest back.
+   */
+  private void apply(final List<SyncQueue> items) {
+    int settled = 0;
+    while (settled < items.size()) {
+      final UUID userId = items.get(settled).getUser().getId();
+      int end = settled + 1;
+      while (end < items.size() && items.get(end).getUser().getId().equals(userId)) {
+        end++;
+      }
+      final List<String> errors = push(items.subList(settled, end));
+      for (final String error : errors) {
+        complete(items.get(settled++).getId(), error);
+      }
+      if (settled < end || errors.getLast() != null) {
+        break;
+      }
+    }
+    release(items.subList(settled, items.size()));
+  }
+
+  /**
+   * Push a leading part of {@code run}, which must share device and user, and return the outcome
+   * of each item it settled, in order: null if applied, else the error. Only the last may fail.
+   */
+  private List<String> push(final List<SyncQueue> run) {
+    final List<SyncPushItem> pushItems = new ArrayList<>(run.size());
+    for (final SyncQueue item : run) {
+      try {
+        pushItems.add(toPushItem(item));
+      } catch (final JsonProcessingException e) {
+        if (pushItems.isEmpty()) {
+          return List.of(message(e));
+        }
+        break;
+      }
+    }
+    final SyncQueue first = run.getFirst();
+    try {
+      return pushUpToFirstFailure(first.getDeviceId(), first.getUser().getId(), pushItems).stream()
+          .map(
+              result ->
+                  SyncPushResult.FAILED.equals(result.getStatus()) ? result.getError() : null)
+          .toList();
+    } catch (final RuntimeException e) {
+      if (pushItems.size() == 1) {
+        return List.of(message(e));
+      }
+      // the push rolled back as a whole, without saying which item broke it
+      return push(run.subList(0, 1));
+    }
+  }
+
+  /**
+   * Push {@code items} in one transaction, committing only if no item but the last one failed;
+   * otherwise push again just the items up to the first that failed.
+   */
+  private List<SyncPushResult> pushUpToFirstFailure(
+      final String deviceId, final UUID userId, final List<SyncPushItem> items) {
+    final int[] failedAt = {-1};
+    final List<SyncPushResult> results =
+        transactionTemplate.execute(
+            status -> {
+              final List<SyncPushResult> pushed =
+                  syncPushService.push(deviceId, userId, items).getResults();
+              failedAt[0] = firstFailed(pushed);
+              if (failedAt[0] < 0 || failedAt[0] == pushed.size() - 1) {
+                return pushed;
+              }
+              status.setRollbackOnly();
+              return null;
+            });
+    return results != null
+        ? results
+        : pushUpToFirstFailure(deviceId, userId, items.subList(0, failedAt[0] + 1));
+  }
+
+  private static int firstFailed(final List<SyncPushResult> results) {
+    for (int i = 0; i < results.size(); i++) {
+      if (SyncPushResult.FAILED.equals(results.get(i).getStatus())) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static String message(final Exception e) {
+    return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+  }
+
+  private SyncPushItem toPushItem(final SyncQueue item) throws JsonProcessingException {
+    final SyncPushItem pushItem = new SyncPushItem();
+    pushItem.setTableName(item.getTableName());
+    pushItem.setOperation(item.getOperationType());
+    pushItem.setRecordId(item.getRecordId());
+    pushItem.setData(objectMapper.readTree(item.getPayload()));
+    pushItem.setChangedAt(item.getCreatedAt());
+    return pushItem;
+  }
+
+  /** Put items back to PENDING without counting an attempt, as they were never applied. */
+  private void release(final List<SyncQueue> items) {
+    if (items.isEmpty()) {
+      return;
+    }
+    transactionTemplate.executeWithoutResult(
+        status ->
+            syncQueueRepository
+                .findAllById(items.stream().map(SyncQueue::getId).toList())
+                .forEach(
+                    item -> {
+                      item.setStatus(SyncQueue.PENDING);
+                      item.setUpdatedAt(OffsetDateTime.now());
+                    }));
+  }
+
+  private void complete(final UUID id, final String error) {
+    transactionTemplate.executeWithoutResult(
+        status ->
+            syncQueueRepository
+                .findById(id)
+                .ifPresent(
+                    item -> {
+                      final OffsetDateTime now = OffsetDateTime.now();
+                      item.setUpdatedAt(now);
+                      item.setLastError(error);
+                      if (error == null) {
+                        item.setStatus(SyncQueue.DONE);
+                        done.increment();
+                      } else if (item.getRetryCount() + 1 >= maxRetries) {
+                        item.setRetryCount(item.getRetryCount() + 1);
+                        item.setStatus(SyncQueue.FAILED);
+                        failed.increment();
+                        log.warn("Sync queue item {} failed permanently: {}", id, error);
+                      } else {
+                        item.setNextRetryAt(now.plus(backoff(item.getRetryCount())));
+                        item.setRetryCount(item.getRetryCount() + 1);
+                        item.setStatus(SyncQueue.PENDING);
+                        retried.increment();
+                      }
+                    }));
+  }
+
+  /**
+   * Delay before the next attempt: {@code base * 2^retryCount} capped at {@code max}, then a
+   * random point in its upper half, so items that failed together don't retry together.
+   */
+  Duration backoff(final int retryCount) {
+    final long cap =
+        Math.min(backoffMax.toMillis(), backoffBase.toMillis() << Math.min(retryCount, 30));
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(cap / 2, cap + 1));
+  }
+
+  private void refreshGauges() {
+    depth.set(syncQueueRepository.countByStatus(SyncQueue.PENDING));
+    final OffsetDateTime oldest =
+        syncQueueRepository.findOldestCreatedAtByStatus(SyncQueue.PENDING);
+    oldestAgeSeconds.set(
+        oldest == null ? 0 : Duration.between(oldest, OffsetDateTime.now()).toSeconds());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    workers.close();
+  }
+}
@@ -10,6 +10,7 @@ import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -31,6 +32,12 @@ public class SyncQueueService {
     return syncQueues.stream().map(syncQueue -> mapToDTO(syncQueue, new SyncQueueDTO())).toList();
   }
 
+  public Stream<SyncQueueDTO> streamAll() {
+    return syncQueueRepository
+        .streamAllBy()
+        .map(syncQueue -> mapToDTO(syncQueue, new SyncQueueDTO()));
+  }
+
   public SyncQueueDTO get(final UUID id) {
     return syncQueueRepository
         .findById(id)
@@ -7,6 +7,8 @@ import com.fieldops.fieldops_api.engineer_availability.domain.EngineerAvailabili
 import com.fieldops.fieldops_api.engineer_last_location.domain.EngineerLastLocation;
 import com.fieldops.fieldops_api.engineer_location.domain.EngineerLocation;
 import com.fieldops.fieldops_api.offline_changes_log.domain.OfflineChangesLog;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.sync_conflict.domain.SyncConflict;
 import com.fieldops.fieldops_api.sync_queue.domain.SyncQueue;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
@@ -19,25 +21,31 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@Table(name = "\"user\"")
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(
+    name = "\"user\"",
+    indexes = @Index(name = "idx_user_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class User {
+public class User implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -60,6 +68,7 @@ public class User {
   @Column(nullable = false)
   private Boolean active;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
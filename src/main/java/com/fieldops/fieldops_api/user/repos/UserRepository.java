@@ -1,11 +1,26 @@
 package com.fieldops.fieldops_api.user.repos;
 
 import com.fieldops.fieldops_api.user.domain.User;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
 
   Optional<User> findByEmail(String email);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<User> streamAllBy();
+
+  List<User> findByChangeVersionBetweenOrderByChangeVersion(Long from, Long to, Limit limit);
 }
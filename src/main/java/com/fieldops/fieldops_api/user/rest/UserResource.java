@@ -2,6 +2,7 @@ package com.fieldops.fieldops_api.user.rest;
 
 import com.fieldops.fieldops_api.user.model.UserDTO;
 import com.fieldops.fieldops_api.user.service.UserService;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -16,15 +17,18 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/users", produces = MediaType.APPLICATION_JSON_VALUE)
 public class UserResource {
 
   private final UserService userService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public UserResource(final UserService userService) {
+  public UserResource(final UserService userService, final NdjsonExporter ndjsonExporter) {
     this.userService = userService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +36,11 @@ public class UserResource {
     return ResponseEntity.ok(userService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportUsers() {
+    return ResponseEntity.ok(ndjsonExporter.export(userService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<UserDTO> getUser(@PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(userService.get(id));
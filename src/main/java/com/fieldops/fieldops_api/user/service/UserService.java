@@ -1,18 +1,22 @@
 package com.fieldops.fieldops_api.user.service;
 
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.model.UserDTO;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class UserService {
+public class UserService implements ChangeFeed {
 
   private final UserRepository userRepository;
   private final ApplicationEventPublisher publisher;
@@ -28,6 +32,27 @@ public class UserService {
     return users.stream().map(user -> mapToDTO(user, new UserDTO())).toList();
   }
 
+  public Stream<UserDTO> streamAll() {
+    return userRepository.streamAllBy().map(user -> mapToDTO(user, new UserDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "user";
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<UserDTO> rows =
+        userRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(user -> mapToDTO(user, new UserDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, UserDTO::getChangeVersion);
+  }
+
   public UserDTO get(final UUID id) {
     return userRepository
         .findById(id)
@@ -71,8 +96,6 @@ public class UserService {
     user.setFullName(userDTO.getFullName());
     user.setRole(userDTO.getRole());
     user.setActive(userDTO.getActive());
-    user.setVersion(userDTO.getVersion());
-    user.setChangeVersion(userDTO.getChangeVersion());
     user.setCreatedAt(userDTO.getCreatedAt());
     user.setUpdatedAt(userDTO.getUpdatedAt());
     return user;
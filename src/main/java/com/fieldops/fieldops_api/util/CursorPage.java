@@ -0,0 +1,28 @@
+package com.fieldops.fieldops_api.util;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code after} to fetch
+ * the following page; it is {@code null} on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  public static final int DEFAULT_LIMIT = 100;
+  public static final int MAX_LIMIT = 1000;
+
+  private List<T> items;
+  private UUID nextCursor;
+
+  public static int clampLimit(final Integer limit) {
+    if (limit == null || limit < 1) {
+      return DEFAULT_LIMIT;
+    }
+    return Math.min(limit, MAX_LIMIT);
+  }
+}
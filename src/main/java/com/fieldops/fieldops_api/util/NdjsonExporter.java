@@ -0,0 +1,67 @@
+package com.fieldops.fieldops_api.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes a repository stream to the response as newline-delimited JSON.
+ *
+ * <p>Rows are pulled through a server-side cursor (see {@link #FETCH_SIZE}) inside a read-only
+ * transaction, serialized one at a time and cleared from the persistence context straight away,
+ * so heap use stays flat no matter how many rows the table holds.
+ */
+@Component
+public class NdjsonExporter {
+
+  /** JDBC fetch size for the {@code streamAllBy()} repository queries feeding exports. */
+  public static final String FETCH_SIZE = "500";
+
+  private static final int FLUSH_EVERY = 500;
+
+  private final ObjectWriter writer;
+  private final EntityManager entityManager;
+  private final TransactionTemplate readOnlyTransaction;
+
+  public NdjsonExporter(
+      final ObjectMapper objectMapper,
+      final EntityManager entityManager,
+      final PlatformTransactionManager transactionManager) {
+    this.writer = objectMapper.writer();
+    this.entityManager = entityManager;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  public <T> StreamingResponseBody export(final Supplier<Stream<T>> rows) {
+    return out ->
+        readOnlyTransaction.executeWithoutResult(
+            status -> {
+              try (Stream<T> stream = rows.get()) {
+                int written = 0;
+                final Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                  out.write(writer.writeValueAsBytes(iterator.next()));
+                  out.write('\n');
+                  // the row has been mapped and written; nothing needs to stay managed
+                  entityManager.clear();
+                  if (++written % FLUSH_EVERY == 0) {
+                    out.flush();
+                  }
+                }
+                out.flush();
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+  }
+}
@@ -0,0 +1,11 @@
+package com.fieldops.fieldops_api.util;
+
+import java.util.UUID;
+
+/**
+ * The record a DTO is validated for when validation happens outside a {@code PUT
+ * /api/<resource>/{id}} request, passed to validators as Hibernate Validator constraint payload.
+ *
+ * @param id the record being updated, or {@code null} for a create
+ */
+public record ValidationTarget(UUID id) {}
@@ -3,6 +3,8 @@ package com.fieldops.fieldops_api.work_order.domain;
 import com.fieldops.fieldops_api.asset.domain.Asset;
 import com.fieldops.fieldops_api.attachment.domain.Attachment;
 import com.fieldops.fieldops_api.location.domain.Location;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.work_order_assignment.domain.WorkOrderAssignment;
 import com.fieldops.fieldops_api.work_order_event.domain.WorkOrderEvent;
@@ -15,25 +17,44 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
+@Table(
+    indexes = {
+      @Index(name = "idx_work_order_status_id", columnList = "status, id"),
+      @Index(name = "idx_work_order_priority_id", columnList = "priority, id"),
+      @Index(name = "idx_work_order_scheduled_start", columnList = "scheduled_start"),
+      @Index(name = "idx_work_order_location_id", columnList = "location_id, id"),
+      @Index(name = "idx_work_order_asset_id", columnList = "asset_id, id"),
+      @Index(name = "idx_work_order_change_version", columnList = "change_version")
+    })
+@EntityListeners({
+  AuditingEntityListener.class,
+  ChangeVersionListener.class,
+  WorkOrderStatusListener.class
+})
 @Getter
 @Setter
-public class WorkOrder {
+public class WorkOrder implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -56,6 +77,9 @@ public class WorkOrder {
   @Column(nullable = false, columnDefinition = "text")
   private String status;
 
+  /** Status as last read from or written to the database; see {@link WorkOrderStatusListener}. */
+  @Transient private String loadedStatus;
+
   @Column private OffsetDateTime scheduledStart;
 
   @Column private OffsetDateTime scheduledEnd;
@@ -73,6 +97,7 @@ public class WorkOrder {
 
   @Column private OffsetDateTime deletedAt;
 
+  @Version
   @Column(nullable = false)
   private Integer version;
 
@@ -0,0 +1,42 @@
+package com.fieldops.fieldops_api.work_order.domain;
+
+import com.fieldops.fieldops_api.events.WorkOrderStatusChanged;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Publishes {@link WorkOrderStatusChanged} whenever a work order is written with a status other
+ * than the one it was loaded with, however the write happened (REST, sync push or queue). Like
+ * {@code ChangeVersionListener} it is instantiated by Hibernate through Spring.
+ */
+public class WorkOrderStatusListener {
+
+  private final ApplicationEventPublisher publisher;
+
+  public WorkOrderStatusListener(final ApplicationEventPublisher publisher) {
+    this.publisher = publisher;
+  }
+
+  @PostLoad
+  public void remember(final WorkOrder workOrder) {
+    workOrder.setLoadedStatus(workOrder.getStatus());
+  }
+
+  @PostPersist
+  @PostUpdate
+  public void publishIfChanged(final WorkOrder workOrder) {
+    if (!Objects.equals(workOrder.getLoadedStatus(), workOrder.getStatus())) {
+      publisher.publishEvent(
+          new WorkOrderStatusChanged(
+              workOrder.getId(),
+              workOrder.getLoadedStatus(),
+              workOrder.getStatus(),
+              OffsetDateTime.now()));
+      workOrder.setLoadedStatus(workOrder.getStatus());
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.fieldops.fieldops_api.work_order.model;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.format.annotation.DateTimeFormat;
+
+/** Optional query-string filters for the work order listing; unset fields match everything. */
+@Getter
+@Setter
+public class WorkOrderFilter {
+
+  private String status;
+
+  private String priority;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private OffsetDateTime scheduledFrom;
+
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private OffsetDateTime scheduledTo;
+
+  private UUID location;
+
+  private UUID asset;
+}
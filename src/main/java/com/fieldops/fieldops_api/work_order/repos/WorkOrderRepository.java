@@ -1,14 +1,31 @@
 package com.fieldops.fieldops_api.work_order.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface WorkOrderRepository extends JpaRepository<WorkOrder, UUID> {
+public interface WorkOrderRepository
+    extends JpaRepository<WorkOrder, UUID>, JpaSpecificationExecutor<WorkOrder> {
 
   WorkOrder findFirstByLocationId(UUID id);
 
   WorkOrder findFirstByAssetId(UUID id);
 
   WorkOrder findFirstByLastModifiedById(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrder> streamAllBy();
+
+  List<WorkOrder> findByChangeVersionBetweenOrderByChangeVersion(Long from, Long to, Limit limit);
 }
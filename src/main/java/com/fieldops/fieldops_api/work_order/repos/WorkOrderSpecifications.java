@@ -0,0 +1,40 @@
+package com.fieldops.fieldops_api.work_order.repos;
+
+import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderFilter;
+import jakarta.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class WorkOrderSpecifications {
+
+  private WorkOrderSpecifications() {}
+
+  /** Translate the listing filter into predicates that line up with the work_order indexes. */
+  public static Specification<WorkOrder> matching(final WorkOrderFilter filter) {
+    return (root, query, cb) -> {
+      final List<Predicate> predicates = new ArrayList<>();
+      if (filter.getStatus() != null) {
+        predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+      }
+      if (filter.getPriority() != null) {
+        predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+      }
+      if (filter.getScheduledFrom() != null) {
+        predicates.add(
+            cb.greaterThanOrEqualTo(root.get("scheduledStart"), filter.getScheduledFrom()));
+      }
+      if (filter.getScheduledTo() != null) {
+        predicates.add(cb.lessThan(root.get("scheduledStart"), filter.getScheduledTo()));
+      }
+      if (filter.getLocation() != null) {
+        predicates.add(cb.equal(root.get("location").get("id"), filter.getLocation()));
+      }
+      if (filter.getAsset() != null) {
+        predicates.add(cb.equal(root.get("asset").get("id"), filter.getAsset()));
+      }
+      return cb.and(predicates.toArray(Predicate[]::new));
+    };
+  }
+}
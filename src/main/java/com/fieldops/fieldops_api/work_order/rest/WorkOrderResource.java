@@ -1,9 +1,11 @@
 package com.fieldops.fieldops_api.work_order.rest;
 
+import com.fieldops.fieldops_api.util.CursorPage;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order.model.WorkOrderDTO;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderFilter;
 import com.fieldops.fieldops_api.work_order.service.WorkOrderService;
 import jakarta.validation.Valid;
-import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -15,21 +17,35 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrders", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderResource {
 
   private final WorkOrderService workOrderService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public WorkOrderResource(final WorkOrderService workOrderService) {
+  public WorkOrderResource(
+      final WorkOrderService workOrderService, final NdjsonExporter ndjsonExporter) {
     this.workOrderService = workOrderService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
-  public ResponseEntity<List<WorkOrderDTO>> getAllWorkOrders() {
-    return ResponseEntity.ok(workOrderService.findAll());
+  public ResponseEntity<CursorPage<WorkOrderDTO>> getAllWorkOrders(
+      final WorkOrderFilter filter,
+      @RequestParam(name = "after", required = false) final UUID after,
+      @RequestParam(name = "limit", required = false) final Integer limit) {
+    return ResponseEntity.ok(
+        workOrderService.findPage(filter, after, CursorPage.clampLimit(limit)));
+  }
+
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrders() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderService::streamAll));
   }
 
   @GetMapping("/{id}")
@@ -8,22 +8,34 @@ import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
 import com.fieldops.fieldops_api.location.domain.Location;
 import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
+import com.fieldops.fieldops_api.util.CursorPage;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import com.fieldops.fieldops_api.work_order.model.WorkOrderDTO;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderFilter;
 import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
+import com.fieldops.fieldops_api.work_order.repos.WorkOrderSpecifications;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 @Service
-public class WorkOrderService {
+public class WorkOrderService implements ChangeFeed, ChangeSink<WorkOrderDTO> {
 
   private final WorkOrderRepository workOrderRepository;
   private final LocationRepository locationRepository;
@@ -44,9 +56,62 @@ public class WorkOrderService {
     this.publisher = publisher;
   }
 
-  public List<WorkOrderDTO> findAll() {
-    final List<WorkOrder> workOrders = workOrderRepository.findAll(Sort.by("id"));
-    return workOrders.stream().map(workOrder -> mapToDTO(workOrder, new WorkOrderDTO())).toList();
+  public Stream<WorkOrderDTO> streamAll() {
+    return workOrderRepository
+        .streamAllBy()
+        .map(workOrder -> mapToDTO(workOrder, new WorkOrderDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "work_order";
+  }
+
+  @Override
+  public Class<WorkOrder> entityType() {
+    return WorkOrder.class;
+  }
+
+  @Override
+  public Class<WorkOrderDTO> dtoType() {
+    return WorkOrderDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<WorkOrderDTO> rows =
+        workOrderRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(workOrder -> mapToDTO(workOrder, new WorkOrderDTO()))
+            .toList();
+    return TableDelta.of(
+        rows,
+        changeVersion,
+        limit,
+        WorkOrderDTO::getChangeVersion,
+        workOrder -> workOrder.getDeletedAt() != null,
+        WorkOrderDTO::getId);
+  }
+
+  /**
+   * Keyset-paginated listing ordered by id. Each page is a {@code where id > :after ... limit n}
+   * range scan, so its cost does not grow with how deep the client has paged.
+   */
+  public CursorPage<WorkOrderDTO> findPage(
+      final WorkOrderFilter filter, final UUID after, final int limit) {
+    final KeysetScrollPosition position =
+        after == null ? ScrollPosition.keyset() : ScrollPosition.forward(Map.of("id", after));
+    final Window<WorkOrder> window =
+        workOrderRepository.findBy(
+            WorkOrderSpecifications.matching(filter),
+            query -> query.sortBy(Sort.by("id")).limit(limit).scroll(position));
+    final List<WorkOrderDTO> items =
+        window.stream().map(workOrder -> mapToDTO(workOrder, new WorkOrderDTO())).toList();
+    final UUID nextCursor =
+        window.hasNext() && !items.isEmpty() ? items.get(items.size() - 1).getId() : null;
+    return new CursorPage<>(items, nextCursor);
   }
 
   public WorkOrderDTO get(final UUID id) {
@@ -104,43 +169,41 @@ public class WorkOrderService {
   }
 
   private WorkOrder mapToEntity(final WorkOrderDTO workOrderDTO, final WorkOrder workOrder) {
-    workOrder.setWorkOrderNo(workOrderDTO.getWorkOrderNo());
-    workOrder.setTitle(workOrderDTO.getTitle());
-    workOrder.setDescription(workOrderDTO.getDescription());
-    workOrder.setPriority(workOrderDTO.getPriority());
-    workOrder.setStatus(workOrderDTO.getStatus());
-    workOrder.setScheduledStart(workOrderDTO.getScheduledStart());
-    workOrder.setScheduledEnd(workOrderDTO.getScheduledEnd());
-    workOrder.setEstimatedDurationMinutes(workOrderDTO.getEstimatedDurationMinutes());
-    workOrder.setActualStart(workOrderDTO.getActualStart());
-    workOrder.setActualEnd(workOrderDTO.getActualEnd());
-    workOrder.setCompletedAt(workOrderDTO.getCompletedAt());
-    workOrder.setCompletionNotes(workOrderDTO.getCompletionNotes());
-    workOrder.setDeletedAt(workOrderDTO.getDeletedAt());
-    workOrder.setVersion(workOrderDTO.getVersion());
-    workOrder.setChangeVersion(workOrderDTO.getChangeVersion());
-    workOrder.setCreatedAt(workOrderDTO.getCreatedAt());
-    workOrder.setUpdatedAt(workOrderDTO.getUpdatedAt());
     final Location location =
         workOrderDTO.getLocation() == null
             ? null
             : locationRepository
                 .findById(workOrderDTO.getLocation())
                 .orElseThrow(() -> new NotFoundException("location not found"));
-    workOrder.setLocation(location);
     final Asset asset =
         workOrderDTO.getAsset() == null
             ? null
             : assetRepository
                 .findById(workOrderDTO.getAsset())
                 .orElseThrow(() -> new NotFoundException("asset not found"));
-    workOrder.setAsset(asset);
     final User lastModifiedBy =
         workOrderDTO.getLastModifiedBy() == null
             ? null
             : userRepository
                 .findById(workOrderDTO.getLastModifiedBy())
                 .orElseThrow(() -> new NotFoundException("lastModifiedBy not found"));
+    workOrder.setWorkOrderNo(workOrderDTO.getWorkOrderNo());
+    workOrder.setTitle(workOrderDTO.getTitle());
+    workOrder.setDescription(workOrderDTO.getDescription());
+    workOrder.setPriority(workOrderDTO.getPriority());
+    workOrder.setStatus(workOrderDTO.getStatus());
+    workOrder.setScheduledStart(workOrderDTO.getScheduledStart());
+    workOrder.setScheduledEnd(workOrderDTO.getScheduledEnd());
+    workOrder.setEstimatedDurationMinutes(workOrderDTO.getEstimatedDurationMinutes());
+    workOrder.setActualStart(workOrderDTO.getActualStart());
+    workOrder.setActualEnd(workOrderDTO.getActualEnd());
+    workOrder.setCompletedAt(workOrderDTO.getCompletedAt());
+    workOrder.setCompletionNotes(workOrderDTO.getCompletionNotes());
+    workOrder.setDeletedAt(workOrderDTO.getDeletedAt());
+    workOrder.setCreatedAt(workOrderDTO.getCreatedAt());
+    workOrder.setUpdatedAt(workOrderDTO.getUpdatedAt());
+    workOrder.setLocation(location);
+    workOrder.setAsset(asset);
     workOrder.setLastModifiedBy(lastModifiedBy);
     return workOrder;
   }
@@ -18,7 +18,8 @@ public class WorkOrderAssignmentDTO {
 
   @NotNull private Boolean active;
 
-  @NotNull private Long changeVersion;
+  /** Assigned by the server on every write; ignored on input. */
+  private Long changeVersion;
 
   @NotNull private UUID workOrder;
 
@@ -1,12 +1,28 @@
 package com.fieldops.fieldops_api.work_order_assignment.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_assignment.domain.WorkOrderAssignment;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface WorkOrderAssignmentRepository extends JpaRepository<WorkOrderAssignment, UUID> {
 
   WorkOrderAssignment findFirstByWorkOrderId(UUID id);
 
   WorkOrderAssignment findFirstByEngineerUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrderAssignment> streamAllBy();
+
+  List<WorkOrderAssignment> findByChangeVersionBetweenOrderByChangeVersion(
+      Long from, Long to, Limit limit);
 }
@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.work_order_assignment.rest;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_assignment.model.WorkOrderAssignmentDTO;
 import com.fieldops.fieldops_api.work_order_assignment.service.WorkOrderAssignmentService;
 import jakarta.validation.Valid;
@@ -16,15 +17,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrderAssignments", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderAssignmentResource {
 
   private final WorkOrderAssignmentService workOrderAssignmentService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public WorkOrderAssignmentResource(final WorkOrderAssignmentService workOrderAssignmentService) {
+  public WorkOrderAssignmentResource(
+      final WorkOrderAssignmentService workOrderAssignmentService,
+      final NdjsonExporter ndjsonExporter) {
     this.workOrderAssignmentService = workOrderAssignmentService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +38,11 @@ public class WorkOrderAssignmentResource {
     return ResponseEntity.ok(workOrderAssignmentService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrderAssignments() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderAssignmentService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<WorkOrderAssignmentDTO> getWorkOrderAssignment(
       @PathVariable(name = "id") final UUID id) {
@@ -2,6 +2,9 @@ package com.fieldops.fieldops_api.work_order_assignment.service;
 
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
 import com.fieldops.fieldops_api.util.NotFoundException;
@@ -13,12 +16,14 @@ import com.fieldops.fieldops_api.work_order_assignment.model.WorkOrderAssignment
 import com.fieldops.fieldops_api.work_order_assignment.repos.WorkOrderAssignmentRepository;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class WorkOrderAssignmentService {
+public class WorkOrderAssignmentService implements ChangeFeed, ChangeSink<WorkOrderAssignmentDTO> {
 
   private final WorkOrderAssignmentRepository workOrderAssignmentRepository;
   private final WorkOrderRepository workOrderRepository;
@@ -41,6 +46,39 @@ public class WorkOrderAssignmentService {
         .toList();
   }
 
+  public Stream<WorkOrderAssignmentDTO> streamAll() {
+    return workOrderAssignmentRepository
+        .streamAllBy()
+        .map(workOrderAssignment -> mapToDTO(workOrderAssignment, new WorkOrderAssignmentDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "work_order_assignment";
+  }
+
+  @Override
+  public Class<WorkOrderAssignment> entityType() {
+    return WorkOrderAssignment.class;
+  }
+
+  @Override
+  public Class<WorkOrderAssignmentDTO> dtoType() {
+    return WorkOrderAssignmentDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<WorkOrderAssignmentDTO> rows =
+        workOrderAssignmentRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(workOrderAssignment -> mapToDTO(workOrderAssignment, new WorkOrderAssignmentDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, WorkOrderAssignmentDTO::getChangeVersion);
+  }
+
   public WorkOrderAssignmentDTO get(final UUID id) {
     return workOrderAssignmentRepository
         .findById(id)
@@ -89,23 +127,22 @@ public class WorkOrderAssignmentService {
   private WorkOrderAssignment mapToEntity(
       final WorkOrderAssignmentDTO workOrderAssignmentDTO,
       final WorkOrderAssignment workOrderAssignment) {
-    workOrderAssignment.setAssignedAt(workOrderAssignmentDTO.getAssignedAt());
-    workOrderAssignment.setUnassignedAt(workOrderAssignmentDTO.getUnassignedAt());
-    workOrderAssignment.setActive(workOrderAssignmentDTO.getActive());
-    workOrderAssignment.setChangeVersion(workOrderAssignmentDTO.getChangeVersion());
     final WorkOrder workOrder =
         workOrderAssignmentDTO.getWorkOrder() == null
             ? null
             : workOrderRepository
                 .findById(workOrderAssignmentDTO.getWorkOrder())
                 .orElseThrow(() -> new NotFoundException("workOrder not found"));
-    workOrderAssignment.setWorkOrder(workOrder);
     final User engineerUser =
         workOrderAssignmentDTO.getEngineerUser() == null
             ? null
             : userRepository
                 .findById(workOrderAssignmentDTO.getEngineerUser())
                 .orElseThrow(() -> new NotFoundException("engineerUser not found"));
+    workOrderAssignment.setAssignedAt(workOrderAssignmentDTO.getAssignedAt());
+    workOrderAssignment.setUnassignedAt(workOrderAssignmentDTO.getUnassignedAt());
+    workOrderAssignment.setActive(workOrderAssignmentDTO.getActive());
+    workOrderAssignment.setWorkOrder(workOrder);
     workOrderAssignment.setEngineerUser(engineerUser);
     return workOrderAssignment;
   }
@@ -0,0 +1,18 @@
+package com.fieldops.fieldops_api.work_order_event.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class WorkOrderEventBatchDTO {
+
+  @NotEmpty
+  @Size(max = 1000)
+  @Valid
+  private List<WorkOrderEventDTO> events;
+}
@@ -0,0 +1,19 @@
+package com.fieldops.fieldops_api.work_order_event.model;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** Outcome of ingesting one event, reported at the same index as the submitted event. */
+@Getter
+@AllArgsConstructor
+public class WorkOrderEventIngestResult {
+
+  private UUID clientEventId;
+
+  /** The stored event; for a duplicate, the event stored by the earlier upload. */
+  private UUID id;
+
+  /** Whether {@code (deviceId, clientEventId)} had already been ingested. */
+  private boolean duplicate;
+}
@@ -1,12 +1,28 @@
 package com.fieldops.fieldops_api.work_order_event.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_event.domain.WorkOrderEvent;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface WorkOrderEventRepository extends JpaRepository<WorkOrderEvent, UUID> {
 
   WorkOrderEvent findFirstByWorkOrderId(UUID id);
 
   WorkOrderEvent findFirstByCreatedByUserId(UUID id);
+
+  List<WorkOrderEvent> findByDeviceIdAndClientEventIdIn(
+      String deviceId, Collection<UUID> clientEventIds);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrderEvent> streamAllBy();
 }
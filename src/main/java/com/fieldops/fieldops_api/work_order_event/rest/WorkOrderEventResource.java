@@ -1,6 +1,9 @@
 package com.fieldops.fieldops_api.work_order_event.rest;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventBatchDTO;
 import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventDTO;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventIngestResult;
 import com.fieldops.fieldops_api.work_order_event.service.WorkOrderEventService;
 import jakarta.validation.Valid;
 import java.util.List;
@@ -16,15 +19,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrderEvents", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderEventResource {
 
   private final WorkOrderEventService workOrderEventService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public WorkOrderEventResource(final WorkOrderEventService workOrderEventService) {
+  public WorkOrderEventResource(
+      final WorkOrderEventService workOrderEventService, final NdjsonExporter ndjsonExporter) {
     this.workOrderEventService = workOrderEventService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +39,11 @@ public class WorkOrderEventResource {
     return ResponseEntity.ok(workOrderEventService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrderEvents() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderEventService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<WorkOrderEventDTO> getWorkOrderEvent(
       @PathVariable(name = "id") final UUID id) {
@@ -45,6 +57,12 @@ public class WorkOrderEventResource {
     return new ResponseEntity<>(createdId, HttpStatus.CREATED);
   }
 
+  @PostMapping("/batch")
+  public ResponseEntity<List<WorkOrderEventIngestResult>> createWorkOrderEvents(
+      @RequestBody @Valid final WorkOrderEventBatchDTO workOrderEventBatchDTO) {
+    return ResponseEntity.ok(workOrderEventService.ingest(workOrderEventBatchDTO.getEvents()));
+  }
+
   @PutMapping("/{id}")
   public ResponseEntity<UUID> updateWorkOrderEvent(
       @PathVariable(name = "id") final UUID id,
@@ -0,0 +1,89 @@
+package com.fieldops.fieldops_api.work_order_event.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Short-lived memory of recently ingested {@code (deviceId, clientEventId)} keys and the event ids
+ * they were stored under, so a device retrying an upload it already made is answered without a
+ * database round trip.
+ *
+ * <p>Only keys that have been committed are remembered. Anything not found here (expired, evicted,
+ * or ingested by another instance) still falls through to the unique constraint, so this is purely
+ * a shortcut and never the source of truth.
+ */
+@Component
+public class RecentWorkOrderEvents {
+
+  private final Duration ttl;
+  private final int maxSize;
+  private final Clock clock;
+  private final Map<String, Seen> entries;
+
+  @Autowired
+  public RecentWorkOrderEvents(
+      @Value("${work-order-events.recent.ttl:10m}") final Duration ttl,
+      @Value("${work-order-events.recent.max-size:100000}") final int maxSize) {
+    this(ttl, maxSize, Clock.systemUTC());
+  }
+
+  RecentWorkOrderEvents(final Duration ttl, final int maxSize, final Clock clock) {
+    this.ttl = ttl;
+    this.maxSize = maxSize;
+    this.clock = clock;
+    // insertion order, so the eldest entry is also the first to expire
+    this.entries =
+        new LinkedHashMap<>() {
+          @Override
+          protected boolean removeEldestEntry(final Map.Entry<String, Seen> eldest) {
+            return size() > RecentWorkOrderEvents.this.maxSize || isExpired(eldest.getValue());
+          }
+        };
+  }
+
+  /** The stored event id, or {@code null} if the key was not seen recently. */
+  public UUID get(final String deviceId, final UUID clientEventId) {
+    if (deviceId == null) {
+      return null;
+    }
+    synchronized (entries) {
+      final Seen seen = entries.get(key(deviceId, clientEventId));
+      return seen == null || isExpired(seen) ? null : seen.eventId();
+    }
+  }
+
+  public void put(final String deviceId, final UUID clientEventId, final UUID eventId) {
+    if (deviceId == null) {
+      return;
+    }
+    final String key = key(deviceId, clientEventId);
+    synchronized (entries) {
+      // re-inserting moves the key to the young end, keeping the map ordered by seenAt
+      entries.remove(key);
+      entries.put(key, new Seen(eventId, clock.instant()));
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  private boolean isExpired(final Seen seen) {
+    return seen.seenAt().plus(ttl).isBefore(clock.instant());
+  }
+
+  private static String key(final String deviceId, final UUID clientEventId) {
+    return deviceId + '/' + clientEventId;
+  }
+
+  private record Seen(UUID eventId, Instant seenAt) {}
+}
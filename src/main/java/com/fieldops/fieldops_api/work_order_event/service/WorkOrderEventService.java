@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.work_order_event.service;
 
+import com.fieldops.fieldops_api.audit_log.service.AuditEventListener;
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrderEvent;
@@ -11,31 +12,66 @@ import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
 import com.fieldops.fieldops_api.work_order_event.domain.WorkOrderEvent;
 import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventDTO;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventIngestResult;
 import com.fieldops.fieldops_api.work_order_event.repos.WorkOrderEventRepository;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class WorkOrderEventService {
 
+  private static final String INSERT_IF_NEW =
+      """
+      insert into work_order_event (id, event_type, client_event_id, device_id, payload,
+          synced_at, created_at, work_order_id, created_by_user_id, date_created, last_updated)
+      values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+      on conflict (device_id, client_event_id) do nothing
+      """;
+
+  private static final int INSERT_BATCH_SIZE = 100;
+
   private final WorkOrderEventRepository workOrderEventRepository;
   private final WorkOrderRepository workOrderRepository;
   private final UserRepository userRepository;
   private final ApplicationEventPublisher publisher;
+  private final RecentWorkOrderEvents recentWorkOrderEvents;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final AuditEventListener auditEventListener;
 
   public WorkOrderEventService(
       final WorkOrderEventRepository workOrderEventRepository,
       final WorkOrderRepository workOrderRepository,
       final UserRepository userRepository,
-      final ApplicationEventPublisher publisher) {
+      final ApplicationEventPublisher publisher,
+      final RecentWorkOrderEvents recentWorkOrderEvents,
+      final JdbcTemplate jdbcTemplate,
+      final PlatformTransactionManager transactionManager,
+      final AuditEventListener auditEventListener) {
     this.workOrderEventRepository = workOrderEventRepository;
     this.workOrderRepository = workOrderRepository;
     this.userRepository = userRepository;
     this.publisher = publisher;
+    this.recentWorkOrderEvents = recentWorkOrderEvents;
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.auditEventListener = auditEventListener;
   }
 
   public List<WorkOrderEventDTO> findAll() {
@@ -45,6 +81,12 @@ public class WorkOrderEventService {
         .toList();
   }
 
+  public Stream<WorkOrderEventDTO> streamAll() {
+    return workOrderEventRepository
+        .streamAllBy()
+        .map(workOrderEvent -> mapToDTO(workOrderEvent, new WorkOrderEventDTO()));
+  }
+
   public WorkOrderEventDTO get(final UUID id) {
     return workOrderEventRepository
         .findById(id)
@@ -52,10 +94,182 @@ public class WorkOrderEventService {
         .orElseThrow(NotFoundException::new);
   }
 
+  /** Idempotent: a retried upload returns the id stored by the first one. */
   public UUID create(final WorkOrderEventDTO workOrderEventDTO) {
-    final WorkOrderEvent workOrderEvent = new WorkOrderEvent();
-    mapToEntity(workOrderEventDTO, workOrderEvent);
-    return workOrderEventRepository.save(workOrderEvent).getId();
+    return ingest(List.of(workOrderEventDTO)).getFirst().getId();
+  }
+
+  /**
+   * Store events at most once per {@code (deviceId, clientEventId)}.
+   *
+   * <p>Keys committed recently are answered from {@link RecentWorkOrderEvents}; the rest are
+   * written with {@code insert ... on conflict do nothing} in JDBC batches, so a retry racing the
+   * original upload is absorbed by the unique constraint rather than failing. Events without a
+   * {@code deviceId} are not covered by the constraint and are always stored. Since the inserts
+   * bypass Hibernate, the events actually stored are handed to the audit log here.
+   *
+   * @return one result per event, in order
+   */
+  public List<WorkOrderEventIngestResult> ingest(final List<WorkOrderEventDTO> workOrderEventDTOs) {
+    final int count = workOrderEventDTOs.size();
+    final UUID[] ids = new UUID[count];
+    final boolean[] duplicate = new boolean[count];
+    // a key repeated within the batch resolves to the same event as its first occurrence
+    final int[] sameAs = new int[count];
+    final Map<String, Integer> firstByKey = new HashMap<>();
+    final List<Integer> toInsert = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final WorkOrderEventDTO workOrderEventDTO = workOrderEventDTOs.get(i);
+      final String key =
+          workOrderEventDTO.getDeviceId() == null
+              ? null
+              : workOrderEventDTO.getDeviceId() + '/' + workOrderEventDTO.getClientEventId();
+      sameAs[i] = i;
+      ids[i] =
+          recentWorkOrderEvents.get(
+              workOrderEventDTO.getDeviceId(), workOrderEventDTO.getClientEventId());
+      if (ids[i] != null) {
+        duplicate[i] = true;
+      } else if (key != null && firstByKey.containsKey(key)) {
+        sameAs[i] = firstByKey.get(key);
+        duplicate[i] = true;
+      } else {
+        if (key != null) {
+          firstByKey.put(key, i);
+        }
+        ids[i] = UUID.randomUUID();
+        toInsert.add(i);
+      }
+    }
+
+    if (!toInsert.isEmpty()) {
+      transactionTemplate.executeWithoutResult(
+          status -> insertIfNew(workOrderEventDTOs, toInsert, ids, duplicate));
+    }
+
+    final List<WorkOrderEventIngestResult> results = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final WorkOrderEventDTO workOrderEventDTO = workOrderEventDTOs.get(i);
+      ids[i] = ids[sameAs[i]];
+      recentWorkOrderEvents.put(
+          workOrderEventDTO.getDeviceId(), workOrderEventDTO.getClientEventId(), ids[i]);
+      results.add(
+          new WorkOrderEventIngestResult(
+              workOrderEventDTO.getClientEventId(), ids[i], duplicate[i]));
+    }
+    return results;
+  }
+
+  private void insertIfNew(
+      final List<WorkOrderEventDTO> workOrderEventDTOs,
+      final List<Integer> toInsert,
+      final UUID[] ids,
+      final boolean[] duplicate) {
+    requireReferences(toInsert.stream().map(workOrderEventDTOs::get).toList());
+    final OffsetDateTime now = OffsetDateTime.now();
+    final int[][] updateCounts =
+        jdbcTemplate.batchUpdate(
+            INSERT_IF_NEW,
+            toInsert,
+            INSERT_BATCH_SIZE,
+            (ps, i) -> {
+              final WorkOrderEventDTO workOrderEventDTO = workOrderEventDTOs.get(i);
+              ps.setObject(1, ids[i]);
+              ps.setString(2, workOrderEventDTO.getEventType());
+              ps.setObject(3, workOrderEventDTO.getClientEventId());
+              ps.setString(4, workOrderEventDTO.getDeviceId());
+              ps.setString(5, workOrderEventDTO.getPayload());
+              ps.setObject(
+                  6,
+                  workOrderEventDTO.getSyncedAt() == null ? now : workOrderEventDTO.getSyncedAt());
+              ps.setObject(7, workOrderEventDTO.getCreatedAt());
+              ps.setObject(8, workOrderEventDTO.getWorkOrder());
+              ps.setObject(9, workOrderEventDTO.getCreatedByUser());
+              ps.setObject(10, now);
+              ps.setObject(11, now);
+            });
+
+    // rows not reported as inserted either hit the constraint or were part of a batch the driver
+    // rewrote (SUCCESS_NO_INFO); look up which event each key is stored under
+    final Map<String, List<Integer>> conflictedByDevice = new HashMap<>();
+    int position = 0;
+    for (final int[] batch : updateCounts) {
+      for (final int updated : batch) {
+        final int i = toInsert.get(position++);
+        if (updated != 1 && workOrderEventDTOs.get(i).getDeviceId() != null) {
+          conflictedByDevice
+              .computeIfAbsent(workOrderEventDTOs.get(i).getDeviceId(), d -> new ArrayList<>())
+              .add(i);
+        }
+      }
+    }
+    conflictedByDevice.forEach(
+        (deviceId, indexes) -> {
+          final Map<UUID, UUID> storedIds =
+              workOrderEventRepository
+                  .findByDeviceIdAndClientEventIdIn(
+                      deviceId,
+                      indexes.stream()
+                          .map(i -> workOrderEventDTOs.get(i).getClientEventId())
+                          .toList())
+                  .stream()
+                  .collect(
+                      Collectors.toMap(WorkOrderEvent::getClientEventId, WorkOrderEvent::getId));
+          for (final int i : indexes) {
+            final UUID storedId = storedIds.get(workOrderEventDTOs.get(i).getClientEventId());
+            duplicate[i] = !ids[i].equals(storedId);
+            ids[i] = storedId;
+          }
+        });
+    for (final int i : toInsert) {
+      if (!duplicate[i]) {
+        auditEventListener.recordAfterCommit(
+            "work_order_event",
+            ids[i],
+            "INSERT",
+            null,
+            auditValues(workOrderEventDTOs.get(i), now));
+      }
+    }
+  }
+
+  /** The stored fields as {@link AuditEventListener} would have captured them from the entity. */
+  private static Map<String, Object> auditValues(
+      final WorkOrderEventDTO workOrderEventDTO, final OffsetDateTime now) {
+    final Map<String, Object> values = new LinkedHashMap<>();
+    values.put("eventType", workOrderEventDTO.getEventType());
+    values.put("clientEventId", workOrderEventDTO.getClientEventId());
+    values.put("deviceId", workOrderEventDTO.getDeviceId());
+    values.put("payload", workOrderEventDTO.getPayload());
+    values.put(
+        "syncedAt",
+        workOrderEventDTO.getSyncedAt() == null ? now : workOrderEventDTO.getSyncedAt());
+    values.put("createdAt", workOrderEventDTO.getCreatedAt());
+    values.put("workOrder", workOrderEventDTO.getWorkOrder());
+    values.put("createdByUser", workOrderEventDTO.getCreatedByUser());
+    values.put("dateCreated", now);
+    values.values().removeIf(Objects::isNull);
+    return values;
+  }
+
+  /** Same checks as {@link #mapToEntity}, with one query per referenced table. */
+  private void requireReferences(final List<WorkOrderEventDTO> workOrderEventDTOs) {
+    final Set<UUID> workOrderIds =
+        workOrderEventDTOs.stream()
+            .map(WorkOrderEventDTO::getWorkOrder)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (workOrderRepository.findAllById(workOrderIds).size() != workOrderIds.size()) {
+      throw new NotFoundException("workOrder not found");
+    }
+    final Set<UUID> userIds =
+        workOrderEventDTOs.stream()
+            .map(WorkOrderEventDTO::getCreatedByUser)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    if (userRepository.findAllById(userIds).size() != userIds.size()) {
+      throw new NotFoundException("createdByUser not found");
+    }
   }
 
   public void update(final UUID id, final WorkOrderEventDTO workOrderEventDTO) {
@@ -1,6 +1,8 @@
 package com.fieldops.fieldops_api.work_order_part.domain;
 
 import com.fieldops.fieldops_api.parts_catalog.domain.PartsCatalog;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import jakarta.persistence.Column;
@@ -9,8 +11,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
@@ -22,10 +26,11 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Table(indexes = @Index(name = "idx_work_order_part_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class WorkOrderPart {
+public class WorkOrderPart implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
@@ -28,7 +28,8 @@ public class WorkOrderPartDTO {
   @JsonFormat(shape = JsonFormat.Shape.STRING)
   private BigDecimal unitPrice;
 
-  @NotNull private Long changeVersion;
+  /** Assigned by the server on every write; ignored on input. */
+  private Long changeVersion;
 
   @NotNull private OffsetDateTime createdAt;
 
@@ -1,8 +1,15 @@
 package com.fieldops.fieldops_api.work_order_part.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_part.domain.WorkOrderPart;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface WorkOrderPartRepository extends JpaRepository<WorkOrderPart, UUID> {
 
@@ -11,4 +18,13 @@ public interface WorkOrderPartRepository extends JpaRepository<WorkOrderPart, UU
   WorkOrderPart findFirstByPartId(UUID id);
 
   WorkOrderPart findFirstByRecordedByUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrderPart> streamAllBy();
+
+  List<WorkOrderPart> findByChangeVersionBetweenOrderByChangeVersion(
+      Long from, Long to, Limit limit);
 }
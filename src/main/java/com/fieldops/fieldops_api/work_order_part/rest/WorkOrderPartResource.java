@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.work_order_part.rest;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_part.model.WorkOrderPartDTO;
 import com.fieldops.fieldops_api.work_order_part.service.WorkOrderPartService;
 import jakarta.validation.Valid;
@@ -16,15 +17,19 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrderParts", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderPartResource {
 
   private final WorkOrderPartService workOrderPartService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public WorkOrderPartResource(final WorkOrderPartService workOrderPartService) {
+  public WorkOrderPartResource(
+      final WorkOrderPartService workOrderPartService, final NdjsonExporter ndjsonExporter) {
     this.workOrderPartService = workOrderPartService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +37,11 @@ public class WorkOrderPartResource {
     return ResponseEntity.ok(workOrderPartService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrderParts() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderPartService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<WorkOrderPartDTO> getWorkOrderPart(
       @PathVariable(name = "id") final UUID id) {
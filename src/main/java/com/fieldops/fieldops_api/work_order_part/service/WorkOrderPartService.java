@@ -5,6 +5,9 @@ import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
 import com.fieldops.fieldops_api.parts_catalog.domain.PartsCatalog;
 import com.fieldops.fieldops_api.parts_catalog.repos.PartsCatalogRepository;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
 import com.fieldops.fieldops_api.util.NotFoundException;
@@ -16,12 +19,14 @@ import com.fieldops.fieldops_api.work_order_part.model.WorkOrderPartDTO;
 import com.fieldops.fieldops_api.work_order_part.repos.WorkOrderPartRepository;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class WorkOrderPartService {
+public class WorkOrderPartService implements ChangeFeed, ChangeSink<WorkOrderPartDTO> {
 
   private final WorkOrderPartRepository workOrderPartRepository;
   private final WorkOrderRepository workOrderRepository;
@@ -46,6 +51,39 @@ public class WorkOrderPartService {
         .toList();
   }
 
+  public Stream<WorkOrderPartDTO> streamAll() {
+    return workOrderPartRepository
+        .streamAllBy()
+        .map(workOrderPart -> mapToDTO(workOrderPart, new WorkOrderPartDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "work_order_part";
+  }
+
+  @Override
+  public Class<WorkOrderPart> entityType() {
+    return WorkOrderPart.class;
+  }
+
+  @Override
+  public Class<WorkOrderPartDTO> dtoType() {
+    return WorkOrderPartDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<WorkOrderPartDTO> rows =
+        workOrderPartRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(workOrderPart -> mapToDTO(workOrderPart, new WorkOrderPartDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, WorkOrderPartDTO::getChangeVersion);
+  }
+
   public WorkOrderPartDTO get(final UUID id) {
     return workOrderPartRepository
         .findById(id)
@@ -94,32 +132,31 @@ public class WorkOrderPartService {
 
   private WorkOrderPart mapToEntity(
       final WorkOrderPartDTO workOrderPartDTO, final WorkOrderPart workOrderPart) {
-    workOrderPart.setPartNumber(workOrderPartDTO.getPartNumber());
-    workOrderPart.setDescription(workOrderPartDTO.getDescription());
-    workOrderPart.setQuantity(workOrderPartDTO.getQuantity());
-    workOrderPart.setUnitPrice(workOrderPartDTO.getUnitPrice());
-    workOrderPart.setChangeVersion(workOrderPartDTO.getChangeVersion());
-    workOrderPart.setCreatedAt(workOrderPartDTO.getCreatedAt());
     final WorkOrder workOrder =
         workOrderPartDTO.getWorkOrder() == null
             ? null
             : workOrderRepository
                 .findById(workOrderPartDTO.getWorkOrder())
                 .orElseThrow(() -> new NotFoundException("workOrder not found"));
-    workOrderPart.setWorkOrder(workOrder);
     final PartsCatalog part =
         workOrderPartDTO.getPart() == null
             ? null
             : partsCatalogRepository
                 .findById(workOrderPartDTO.getPart())
                 .orElseThrow(() -> new NotFoundException("part not found"));
-    workOrderPart.setPart(part);
     final User recordedByUser =
         workOrderPartDTO.getRecordedByUser() == null
             ? null
             : userRepository
                 .findById(workOrderPartDTO.getRecordedByUser())
                 .orElseThrow(() -> new NotFoundException("recordedByUser not found"));
+    workOrderPart.setPartNumber(workOrderPartDTO.getPartNumber());
+    workOrderPart.setDescription(workOrderPartDTO.getDescription());
+    workOrderPart.setQuantity(workOrderPartDTO.getQuantity());
+    workOrderPart.setUnitPrice(workOrderPartDTO.getUnitPrice());
+    workOrderPart.setCreatedAt(workOrderPartDTO.getCreatedAt());
+    workOrderPart.setWorkOrder(workOrder);
+    workOrderPart.setPart(part);
     workOrderPart.setRecordedByUser(recordedByUser);
     return workOrderPart;
   }
@@ -1,10 +1,21 @@
 package com.fieldops.fieldops_api.work_order_signature.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_signature.domain.WorkOrderSignature;
+import jakarta.persistence.QueryHint;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface WorkOrderSignatureRepository extends JpaRepository<WorkOrderSignature, UUID> {
 
   WorkOrderSignature findFirstByWorkOrderId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrderSignature> streamAllBy();
 }
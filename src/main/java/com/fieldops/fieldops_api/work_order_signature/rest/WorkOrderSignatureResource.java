@@ -1,8 +1,14 @@
 package com.fieldops.fieldops_api.work_order_signature.rest;
 
+import com.fieldops.fieldops_api.blob.rest.BlobDownloads;
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_signature.model.WorkOrderSignatureDTO;
 import com.fieldops.fieldops_api.work_order_signature.service.WorkOrderSignatureService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.net.URLConnection;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.http.HttpStatus;
@@ -16,15 +22,23 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrderSignatures", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderSignatureResource {
 
   private final WorkOrderSignatureService workOrderSignatureService;
+  private final NdjsonExporter ndjsonExporter;
+  private final BlobDownloads blobDownloads;
 
-  public WorkOrderSignatureResource(final WorkOrderSignatureService workOrderSignatureService) {
+  public WorkOrderSignatureResource(
+      final WorkOrderSignatureService workOrderSignatureService,
+      final NdjsonExporter ndjsonExporter,
+      final BlobDownloads blobDownloads) {
     this.workOrderSignatureService = workOrderSignatureService;
+    this.ndjsonExporter = ndjsonExporter;
+    this.blobDownloads = blobDownloads;
   }
 
   @GetMapping
@@ -32,12 +46,41 @@ public class WorkOrderSignatureResource {
     return ResponseEntity.ok(workOrderSignatureService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrderSignatures() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderSignatureService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<WorkOrderSignatureDTO> getWorkOrderSignature(
       @PathVariable(name = "id") final UUID id) {
     return ResponseEntity.ok(workOrderSignatureService.get(id));
   }
 
+  @GetMapping(value = "/{id}/content", produces = MediaType.ALL_VALUE)
+  public void getWorkOrderSignatureContent(
+      @PathVariable(name = "id") final UUID id,
+      final HttpServletRequest request,
+      final HttpServletResponse response)
+      throws IOException {
+    final WorkOrderSignatureDTO workOrderSignature = workOrderSignatureService.get(id);
+    // there is no mime type column; signature keys normally end in .png or .svg
+    blobDownloads.send(
+        WorkOrderSignatureService.blobKey(id),
+        URLConnection.guessContentTypeFromName(workOrderSignature.getStorageKey()),
+        "signature-" + id,
+        request,
+        response);
+  }
+
+  @PutMapping(value = "/{id}/content", consumes = MediaType.ALL_VALUE)
+  public ResponseEntity<Void> uploadWorkOrderSignatureContent(
+      @PathVariable(name = "id") final UUID id, final HttpServletRequest request)
+      throws IOException {
+    workOrderSignatureService.uploadContent(id, request.getInputStream());
+    return ResponseEntity.noContent().build();
+  }
+
   @PostMapping
   public ResponseEntity<UUID> createWorkOrderSignature(
       @RequestBody @Valid final WorkOrderSignatureDTO workOrderSignatureDTO) {
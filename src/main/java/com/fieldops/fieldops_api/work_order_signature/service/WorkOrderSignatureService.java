@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.work_order_signature.service;
 
+import com.fieldops.fieldops_api.blob.service.BlobStore;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
 import com.fieldops.fieldops_api.util.NotFoundException;
 import com.fieldops.fieldops_api.util.ReferencedException;
@@ -8,23 +9,45 @@ import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
 import com.fieldops.fieldops_api.work_order_signature.domain.WorkOrderSignature;
 import com.fieldops.fieldops_api.work_order_signature.model.WorkOrderSignatureDTO;
 import com.fieldops.fieldops_api.work_order_signature.repos.WorkOrderSignatureRepository;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 public class WorkOrderSignatureService {
 
+  /**
+   * Signature images live in the blob store under this prefix plus the signature id, never a
+   * client-chosen key.
+   */
+  public static final String BLOB_PREFIX = "signatures/";
+
+  private static final Logger log = LoggerFactory.getLogger(WorkOrderSignatureService.class);
+
   private final WorkOrderSignatureRepository workOrderSignatureRepository;
   private final WorkOrderRepository workOrderRepository;
+  private final BlobStore blobStore;
+  private final long maxUploadBytes;
 
   public WorkOrderSignatureService(
       final WorkOrderSignatureRepository workOrderSignatureRepository,
-      final WorkOrderRepository workOrderRepository) {
+      final WorkOrderRepository workOrderRepository,
+      final BlobStore blobStore,
+      @Value("${blobs.max-upload-bytes:104857600}") final long maxUploadBytes) {
     this.workOrderSignatureRepository = workOrderSignatureRepository;
     this.workOrderRepository = workOrderRepository;
+    this.blobStore = blobStore;
+    this.maxUploadBytes = maxUploadBytes;
   }
 
   public List<WorkOrderSignatureDTO> findAll() {
@@ -35,6 +58,12 @@ public class WorkOrderSignatureService {
         .toList();
   }
 
+  public Stream<WorkOrderSignatureDTO> streamAll() {
+    return workOrderSignatureRepository
+        .streamAllBy()
+        .map(workOrderSignature -> mapToDTO(workOrderSignature, new WorkOrderSignatureDTO()));
+  }
+
   public WorkOrderSignatureDTO get(final UUID id) {
     return workOrderSignatureRepository
         .findById(id)
@@ -42,6 +71,16 @@ public class WorkOrderSignatureService {
         .orElseThrow(NotFoundException::new);
   }
 
+  /** Stream the signature image into the blob store, replacing any earlier upload. */
+  public void uploadContent(final UUID id, final InputStream content) throws IOException {
+    final WorkOrderSignatureDTO workOrderSignatureDTO = get(id);
+    try {
+      blobStore.write(blobKey(workOrderSignatureDTO.getId()), content, maxUploadBytes);
+    } catch (final IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+  }
+
   public UUID create(final WorkOrderSignatureDTO workOrderSignatureDTO) {
     final WorkOrderSignature workOrderSignature = new WorkOrderSignature();
     mapToEntity(workOrderSignatureDTO, workOrderSignature);
@@ -59,6 +98,15 @@ public class WorkOrderSignatureService {
     final WorkOrderSignature workOrderSignature =
         workOrderSignatureRepository.findById(id).orElseThrow(NotFoundException::new);
     workOrderSignatureRepository.delete(workOrderSignature);
+    try {
+      blobStore.delete(blobKey(id));
+    } catch (final IOException | IllegalArgumentException e) {
+      log.warn("Could not delete content of signature {}: {}", id, e.getMessage());
+    }
+  }
+
+  public static String blobKey(final UUID id) {
+    return BLOB_PREFIX + id;
   }
 
   private WorkOrderSignatureDTO mapToDTO(
@@ -1,5 +1,7 @@
 package com.fieldops.fieldops_api.work_order_time_entry.domain;
 
+import com.fieldops.fieldops_api.sync.domain.ChangeVersionListener;
+import com.fieldops.fieldops_api.sync.domain.ChangeVersioned;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.work_order.domain.WorkOrder;
 import jakarta.persistence.Column;
@@ -8,8 +10,10 @@ import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.Getter;
@@ -20,10 +24,13 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 @Entity
-@EntityListeners(AuditingEntityListener.class)
+@Table(
+    indexes =
+        @Index(name = "idx_work_order_time_entry_change_version", columnList = "change_version"))
+@EntityListeners({AuditingEntityListener.class, ChangeVersionListener.class})
 @Getter
 @Setter
-public class WorkOrderTimeEntry {
+public class WorkOrderTimeEntry implements ChangeVersioned {
 
   @Id
   @Column(nullable = false, updatable = false)
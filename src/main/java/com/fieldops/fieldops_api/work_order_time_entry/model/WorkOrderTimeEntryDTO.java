@@ -22,7 +22,8 @@ public class WorkOrderTimeEntryDTO {
 
   private String notes;
 
-  @NotNull private Long changeVersion;
+  /** Assigned by the server on every write; ignored on input. */
+  private Long changeVersion;
 
   @NotNull private OffsetDateTime createdAt;
 
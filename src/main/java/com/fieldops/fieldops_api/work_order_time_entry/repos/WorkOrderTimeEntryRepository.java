@@ -1,12 +1,28 @@
 package com.fieldops.fieldops_api.work_order_time_entry.repos;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_time_entry.domain.WorkOrderTimeEntry;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface WorkOrderTimeEntryRepository extends JpaRepository<WorkOrderTimeEntry, UUID> {
 
   WorkOrderTimeEntry findFirstByWorkOrderId(UUID id);
 
   WorkOrderTimeEntry findFirstByEngineerUserId(UUID id);
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = NdjsonExporter.FETCH_SIZE),
+    @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<WorkOrderTimeEntry> streamAllBy();
+
+  List<WorkOrderTimeEntry> findByChangeVersionBetweenOrderByChangeVersion(
+      Long from, Long to, Limit limit);
 }
@@ -1,5 +1,6 @@
 package com.fieldops.fieldops_api.work_order_time_entry.rest;
 
+import com.fieldops.fieldops_api.util.NdjsonExporter;
 import com.fieldops.fieldops_api.work_order_time_entry.model.WorkOrderTimeEntryDTO;
 import com.fieldops.fieldops_api.work_order_time_entry.service.WorkOrderTimeEntryService;
 import jakarta.validation.Valid;
@@ -16,15 +17,20 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping(value = "/api/workOrderTimeEntries", produces = MediaType.APPLICATION_JSON_VALUE)
 public class WorkOrderTimeEntryResource {
 
   private final WorkOrderTimeEntryService workOrderTimeEntryService;
+  private final NdjsonExporter ndjsonExporter;
 
-  public WorkOrderTimeEntryResource(final WorkOrderTimeEntryService workOrderTimeEntryService) {
+  public WorkOrderTimeEntryResource(
+      final WorkOrderTimeEntryService workOrderTimeEntryService,
+      final NdjsonExporter ndjsonExporter) {
     this.workOrderTimeEntryService = workOrderTimeEntryService;
+    this.ndjsonExporter = ndjsonExporter;
   }
 
   @GetMapping
@@ -32,6 +38,11 @@ public class WorkOrderTimeEntryResource {
     return ResponseEntity.ok(workOrderTimeEntryService.findAll());
   }
 
+  @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportWorkOrderTimeEntries() {
+    return ResponseEntity.ok(ndjsonExporter.export(workOrderTimeEntryService::streamAll));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<WorkOrderTimeEntryDTO> getWorkOrderTimeEntry(
       @PathVariable(name = "id") final UUID id) {
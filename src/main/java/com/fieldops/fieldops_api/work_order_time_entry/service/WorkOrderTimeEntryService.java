@@ -2,6 +2,9 @@ package com.fieldops.fieldops_api.work_order_time_entry.service;
 
 import com.fieldops.fieldops_api.events.BeforeDeleteUser;
 import com.fieldops.fieldops_api.events.BeforeDeleteWorkOrder;
+import com.fieldops.fieldops_api.sync.model.TableDelta;
+import com.fieldops.fieldops_api.sync.service.ChangeFeed;
+import com.fieldops.fieldops_api.sync.service.ChangeSink;
 import com.fieldops.fieldops_api.user.domain.User;
 import com.fieldops.fieldops_api.user.repos.UserRepository;
 import com.fieldops.fieldops_api.util.NotFoundException;
@@ -13,12 +16,14 @@ import com.fieldops.fieldops_api.work_order_time_entry.model.WorkOrderTimeEntryD
 import com.fieldops.fieldops_api.work_order_time_entry.repos.WorkOrderTimeEntryRepository;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 @Service
-public class WorkOrderTimeEntryService {
+public class WorkOrderTimeEntryService implements ChangeFeed, ChangeSink<WorkOrderTimeEntryDTO> {
 
   private final WorkOrderTimeEntryRepository workOrderTimeEntryRepository;
   private final WorkOrderRepository workOrderRepository;
@@ -41,6 +46,39 @@ public class WorkOrderTimeEntryService {
         .toList();
   }
 
+  public Stream<WorkOrderTimeEntryDTO> streamAll() {
+    return workOrderTimeEntryRepository
+        .streamAllBy()
+        .map(workOrderTimeEntry -> mapToDTO(workOrderTimeEntry, new WorkOrderTimeEntryDTO()));
+  }
+
+  @Override
+  public String tableName() {
+    return "work_order_time_entry";
+  }
+
+  @Override
+  public Class<WorkOrderTimeEntry> entityType() {
+    return WorkOrderTimeEntry.class;
+  }
+
+  @Override
+  public Class<WorkOrderTimeEntryDTO> dtoType() {
+    return WorkOrderTimeEntryDTO.class;
+  }
+
+  @Override
+  public TableDelta changesSince(final long changeVersion, final long upTo, final int limit) {
+    final List<WorkOrderTimeEntryDTO> rows =
+        workOrderTimeEntryRepository
+            .findByChangeVersionBetweenOrderByChangeVersion(
+                changeVersion + 1, upTo, Limit.of(limit + 1))
+            .stream()
+            .map(workOrderTimeEntry -> mapToDTO(workOrderTimeEntry, new WorkOrderTimeEntryDTO()))
+            .toList();
+    return TableDelta.of(rows, changeVersion, limit, WorkOrderTimeEntryDTO::getChangeVersion);
+  }
+
   public WorkOrderTimeEntryDTO get(final UUID id) {
     return workOrderTimeEntryRepository
         .findById(id)
@@ -93,27 +131,26 @@ public class WorkOrderTimeEntryService {
   private WorkOrderTimeEntry mapToEntity(
       final WorkOrderTimeEntryDTO workOrderTimeEntryDTO,
       final WorkOrderTimeEntry workOrderTimeEntry) {
-    workOrderTimeEntry.setEntryType(workOrderTimeEntryDTO.getEntryType());
-    workOrderTimeEntry.setStartTime(workOrderTimeEntryDTO.getStartTime());
-    workOrderTimeEntry.setEndTime(workOrderTimeEntryDTO.getEndTime());
-    workOrderTimeEntry.setDurationMinutes(workOrderTimeEntryDTO.getDurationMinutes());
-    workOrderTimeEntry.setNotes(workOrderTimeEntryDTO.getNotes());
-    workOrderTimeEntry.setChangeVersion(workOrderTimeEntryDTO.getChangeVersion());
-    workOrderTimeEntry.setCreatedAt(workOrderTimeEntryDTO.getCreatedAt());
-    workOrderTimeEntry.setUpdatedAt(workOrderTimeEntryDTO.getUpdatedAt());
     final WorkOrder workOrder =
         workOrderTimeEntryDTO.getWorkOrder() == null
             ? null
             : workOrderRepository
                 .findById(workOrderTimeEntryDTO.getWorkOrder())
                 .orElseThrow(() -> new NotFoundException("workOrder not found"));
-    workOrderTimeEntry.setWorkOrder(workOrder);
     final User engineerUser =
         workOrderTimeEntryDTO.getEngineerUser() == null
             ? null
             : userRepository
                 .findById(workOrderTimeEntryDTO.getEngineerUser())
                 .orElseThrow(() -> new NotFoundException("engineerUser not found"));
+    workOrderTimeEntry.setEntryType(workOrderTimeEntryDTO.getEntryType());
+    workOrderTimeEntry.setStartTime(workOrderTimeEntryDTO.getStartTime());
+    workOrderTimeEntry.setEndTime(workOrderTimeEntryDTO.getEndTime());
+    workOrderTimeEntry.setDurationMinutes(workOrderTimeEntryDTO.getDurationMinutes());
+    workOrderTimeEntry.setNotes(workOrderTimeEntryDTO.getNotes());
+    workOrderTimeEntry.setCreatedAt(workOrderTimeEntryDTO.getCreatedAt());
+    workOrderTimeEntry.setUpdatedAt(workOrderTimeEntryDTO.getUpdatedAt());
+    workOrderTimeEntry.setWorkOrder(workOrder);
     workOrderTimeEntry.setEngineerUser(engineerUser);
     return workOrderTimeEntry;
   }
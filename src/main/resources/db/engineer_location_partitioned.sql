@@ -0,0 +1,44 @@
+-- Converts engineer_location into a table range-partitioned by month on recorded_at, copying
+-- existing rows into per-month partitions. Run once, with the application stopped. From then on
+-- EngineerLocationPartitionManager creates upcoming months and drops (or detaches) expired ones.
+-- Partitions are named engineer_location_pYYYY_MM and bounded at UTC month starts.
+
+begin;
+
+set local timezone = 'UTC';
+
+alter table engineer_location rename to engineer_location_unpartitioned;
+alter table engineer_location_unpartitioned
+    rename constraint engineer_location_pkey to engineer_location_unpartitioned_pkey;
+drop index if exists idx_engineer_location_engineer_user_recorded_at;
+
+create table engineer_location (
+    like engineer_location_unpartitioned including defaults including constraints,
+    primary key (id, recorded_at),
+    foreign key (engineer_user_id) references "user" (id)
+) partition by range (recorded_at);
+
+create index idx_engineer_location_engineer_user_recorded_at
+    on engineer_location (engineer_user_id, recorded_at);
+
+do $$
+declare
+    month timestamptz := date_trunc('month',
+        coalesce((select min(recorded_at) from engineer_location_unpartitioned), now()));
+begin
+    while month < date_trunc('month', now()) + interval '3 months' loop
+        execute format(
+            'create table %I partition of engineer_location for values from (%L) to (%L)',
+            'engineer_location_p' || to_char(month, 'YYYY_MM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    end loop;
+end $$;
+
+-- catches fixes stamped with a month that has no partition yet, e.g. from a device clock far ahead
+create table engineer_location_default partition of engineer_location default;
+
+insert into engineer_location select * from engineer_location_unpartitioned;
+
+drop table engineer_location_unpartitioned;
+
+commit;
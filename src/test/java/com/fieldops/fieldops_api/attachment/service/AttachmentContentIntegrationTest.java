@@ -0,0 +1,172 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.attachment.domain.Attachment;
+import com.fieldops.fieldops_api.attachment.model.AttachmentDTO;
+import com.fieldops.fieldops_api.attachment.repos.AttachmentRepository;
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.blob.service.BlobStore;
+import com.fieldops.fieldops_api.customer.model.CustomerDTO;
+import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
+import com.fieldops.fieldops_api.customer.service.CustomerService;
+import com.fieldops.fieldops_api.location.model.LocationDTO;
+import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.location.service.LocationService;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderDTO;
+import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
+import com.fieldops.fieldops_api.work_order.service.WorkOrderService;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AttachmentContentIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private AttachmentService attachmentService;
+  @Autowired private AttachmentRepository attachmentRepository;
+  @Autowired private BlobStore blobStore;
+  @Autowired private CustomerService customerService;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private LocationService locationService;
+  @Autowired private LocationRepository locationRepository;
+  @Autowired private WorkOrderService workOrderService;
+  @Autowired private WorkOrderRepository workOrderRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private UUID workOrder;
+
+  @BeforeEach
+  void setUp() {
+    workOrder = workOrder();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    attachmentRepository.deleteAll();
+    jdbcTemplate.update("delete from attachment_content");
+    workOrderRepository.deleteAll();
+    locationRepository.deleteAll();
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void same_content_is_stored_once_and_counted_per_attachment() throws Exception {
+    final String photo = "photo " + UUID.randomUUID();
+
+    final String first = upload(attachment(), photo).getContentHash();
+    final String second = upload(attachment(), photo).getContentHash();
+
+    assertThat(second).isEqualTo(first);
+    assertThat(refCounts(first)).containsExactly(2L);
+    assertThat(blobStore.stat(AttachmentContentStore.blobKey(first))).isPresent();
+  }
+
+  @Test
+  void linking_takes_a_reference_to_stored_content() throws Exception {
+    final String sha256 = upload(attachment(), "photo " + UUID.randomUUID()).getContentHash();
+
+    attachmentService.linkContent(attachment(), sha256.toUpperCase());
+
+    assertThat(refCounts(sha256)).containsExactly(2L);
+  }
+
+  @Test
+  void replacing_content_releases_the_previous_content() throws Exception {
+    final UUID attachment = attachment();
+    final String before = upload(attachment, "before " + UUID.randomUUID()).getContentHash();
+
+    final String after = upload(attachment, "after " + UUID.randomUUID()).getContentHash();
+
+    assertThat(refCounts(before)).isEmpty();
+    assertThat(blobStore.stat(AttachmentContentStore.blobKey(before))).isEmpty();
+    assertThat(refCounts(after)).containsExactly(1L);
+  }
+
+  @Test
+  void deleting_the_last_reference_removes_the_content() throws Exception {
+    final String photo = "photo " + UUID.randomUUID();
+    final UUID first = attachment();
+    final UUID second = attachment();
+    final String sha256 = upload(first, photo).getContentHash();
+    upload(second, photo);
+
+    attachmentService.delete(first);
+    assertThat(refCounts(sha256)).containsExactly(1L);
+    assertThat(blobStore.stat(AttachmentContentStore.blobKey(sha256))).isPresent();
+
+    attachmentService.delete(second);
+    assertThat(refCounts(sha256)).isEmpty();
+    assertThat(blobStore.stat(AttachmentContentStore.blobKey(sha256))).isEmpty();
+  }
+
+  @Test
+  void rolled_back_delete_keeps_the_reference_and_the_content() throws Exception {
+    final UUID attachment = attachment();
+    final String sha256 = upload(attachment, "photo " + UUID.randomUUID()).getContentHash();
+
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status -> {
+              attachmentService.delete(attachment);
+              status.setRollbackOnly();
+            });
+
+    assertThat(refCounts(sha256)).containsExactly(1L);
+    assertThat(blobStore.stat(AttachmentContentStore.blobKey(sha256))).isPresent();
+  }
+
+  private AttachmentDTO upload(final UUID attachment, final String content) throws Exception {
+    return attachmentService.uploadContent(
+        attachment,
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+        "image/jpeg",
+        "tablet-1");
+  }
+
+  private List<Long> refCounts(final String sha256) {
+    return jdbcTemplate.queryForList(
+        "select ref_count from attachment_content where sha256 = ?", Long.class, sha256);
+  }
+
+  private UUID attachment() {
+    final AttachmentDTO attachment = new AttachmentDTO();
+    attachment.setStorageKey("photos/" + UUID.randomUUID());
+    attachment.setFileName("boiler.jpg");
+    attachment.setUploadStatus(Attachment.UPLOADING);
+    attachment.setCreatedAt(OffsetDateTime.now());
+    attachment.setWorkOrder(workOrder);
+    return attachmentService.create(attachment);
+  }
+
+  private UUID workOrder() {
+    final CustomerDTO customer = new CustomerDTO();
+    customer.setName("Acme");
+    customer.setCreatedAt(OffsetDateTime.now());
+    customer.setUpdatedAt(OffsetDateTime.now());
+    final LocationDTO location = new LocationDTO();
+    location.setName("Depot");
+    location.setCity("Leeds");
+    location.setCustomer(customerService.create(customer));
+    location.setCreatedAt(OffsetDateTime.now());
+    location.setUpdatedAt(OffsetDateTime.now());
+    final WorkOrderDTO workOrder = new WorkOrderDTO();
+    workOrder.setWorkOrderNo("WO-" + UUID.randomUUID());
+    workOrder.setTitle("Boiler service");
+    workOrder.setPriority("NORMAL");
+    workOrder.setStatus("OPEN");
+    workOrder.setLocation(locationService.create(location));
+    workOrder.setCreatedAt(OffsetDateTime.now());
+    workOrder.setUpdatedAt(OffsetDateTime.now());
+    return workOrderService.create(workOrder);
+  }
+}
@@ -0,0 +1,37 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import org.junit.jupiter.api.Test;
+
+class ChecksumVerifyingInputStreamTest {
+
+  private static final byte[] CHUNK = "part of a photo".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  void matching_content_reads_through() throws Exception {
+    final ChecksumVerifyingInputStream in =
+        new ChecksumVerifyingInputStream(new ByteArrayInputStream(CHUNK), sha256(CHUNK));
+
+    assertThat(in.readAllBytes()).isEqualTo(CHUNK);
+  }
+
+  @Test
+  void corrupted_content_fails_at_the_end() throws Exception {
+    final byte[] corrupted = CHUNK.clone();
+    corrupted[3] ^= 1;
+    final ChecksumVerifyingInputStream in =
+        new ChecksumVerifyingInputStream(new ByteArrayInputStream(corrupted), sha256(CHUNK));
+
+    assertThatThrownBy(in::readAllBytes)
+        .isInstanceOf(ChecksumVerifyingInputStream.MismatchException.class);
+  }
+
+  private static byte[] sha256(final byte[] content) throws Exception {
+    return MessageDigest.getInstance("SHA-256").digest(content);
+  }
+}
@@ -0,0 +1,57 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+class ThumbnailRendererTest {
+
+  private final ThumbnailRenderer renderer = new ThumbnailRenderer(new int[] {64, 256}, 10_000_000);
+
+  @Test
+  void each_size_fits_its_bounds_keeping_aspect_ratio() throws Exception {
+    final Map<Integer, byte[]> thumbnails = renderer.render(png(1600, 1200));
+
+    assertThat(thumbnails).containsOnlyKeys(64, 256);
+    assertThat(read(thumbnails.get(256))).extracting("width", "height").containsExactly(256, 192);
+    assertThat(read(thumbnails.get(64))).extracting("width", "height").containsExactly(64, 48);
+  }
+
+  @Test
+  void small_images_are_not_enlarged() throws Exception {
+    final Map<Integer, byte[]> thumbnails = renderer.render(png(100, 40));
+
+    assertThat(read(thumbnails.get(256))).extracting("width", "height").containsExactly(100, 40);
+  }
+
+  @Test
+  void content_that_is_not_an_image_has_no_thumbnails() throws Exception {
+    assertThat(
+            renderer.render(
+                new ByteArrayInputStream("not a photo".getBytes(StandardCharsets.UTF_8))))
+        .isEmpty();
+  }
+
+  @Test
+  void images_over_the_pixel_limit_are_refused() {
+    assertThatThrownBy(() -> renderer.render(png(4000, 3000))).isInstanceOf(IOException.class);
+  }
+
+  private static ByteArrayInputStream png(final int width, final int height) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", bytes);
+    return new ByteArrayInputStream(bytes.toByteArray());
+  }
+
+  private static BufferedImage read(final byte[] jpeg) throws IOException {
+    return ImageIO.read(new ByteArrayInputStream(jpeg));
+  }
+}
@@ -0,0 +1,199 @@
+package com.fieldops.fieldops_api.attachment.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fieldops.fieldops_api.blob.service.LocalBlobStore;
+import com.fieldops.fieldops_api.events.AttachmentContentDeleted;
+import com.fieldops.fieldops_api.events.AttachmentContentStored;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class ThumbnailServiceTest {
+
+  @TempDir Path root;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private BlockingBlobStore blobStore;
+  private ThumbnailService service;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    blobStore = new BlockingBlobStore(root.toString());
+    service = service(10, 100_000_000);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    blobStore.release.countDown();
+    service.shutdown();
+  }
+
+  @Test
+  void stored_image_gets_a_thumbnail_in_each_size() throws Exception {
+    final String sha256 = store(png(800, 600));
+
+    service.on(new AttachmentContentStored(UUID.randomUUID(), sha256, "image/png"));
+
+    assertThat(await(() -> exists(sha256, 64))).isTrue();
+    assertThat(exists(sha256, 128)).isTrue();
+    assertThat(service.isUnreadable(sha256)).isFalse();
+  }
+
+  @Test
+  void corrupt_image_is_remembered_as_unreadable() throws Exception {
+    final byte[] png = png(800, 600);
+    final String sha256 = store(Arrays.copyOf(png, png.length / 2));
+
+    service.request(sha256);
+
+    assertThat(await(() -> service.isUnreadable(sha256))).isTrue();
+    assertThat(exists(sha256, 64)).isFalse();
+  }
+
+  @Test
+  void image_over_the_pixel_limit_is_remembered_as_unreadable() throws Exception {
+    service.shutdown();
+    service = service(10, 10_000);
+    final String sha256 = store(png(800, 600));
+
+    service.request(sha256);
+
+    assertThat(await(() -> service.isUnreadable(sha256))).isTrue();
+  }
+
+  @Test
+  void full_queue_answers_503_until_there_is_room_again() throws Exception {
+    service.shutdown();
+    service = service(1, 100_000_000);
+    final String running = store(png(200, 100));
+    final String queued = store(png(300, 100));
+    final String refused = store(png(400, 100));
+    blobStore.block = true;
+    service.request(running);
+    assertThat(blobStore.opened.await(5, TimeUnit.SECONDS)).isTrue();
+    service.request(queued);
+
+    assertThatThrownBy(() -> service.requestNow(refused))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    assertThat(
+            meterRegistry.counter("attachment.thumbnails.generated", "result", "rejected").count())
+        .isEqualTo(1);
+
+    blobStore.release.countDown();
+    assertThat(await(() -> exists(queued, 64))).isTrue();
+    service.requestNow(refused);
+    assertThat(await(() -> exists(refused, 64))).isTrue();
+  }
+
+  @Test
+  void thumbnails_of_content_deleted_while_rendering_are_removed() throws Exception {
+    final String sha256 = store(png(800, 600));
+    blobStore.block = true;
+    service.request(sha256);
+    assertThat(blobStore.opened.await(5, TimeUnit.SECONDS)).isTrue();
+
+    blobStore.delete(AttachmentContentStore.blobKey(sha256));
+    service.on(new AttachmentContentDeleted(sha256));
+    blobStore.release.countDown();
+
+    assertThat(await(() -> meterRegistry.get("attachment.thumbnails.active").gauge().value() == 0))
+        .isTrue();
+    assertThat(blobStore.list("thumbnails/" + sha256)).isEmpty();
+  }
+
+  private ThumbnailService service(final int queueCapacity, final long maxSourcePixels) {
+    return new ThumbnailService(
+        blobStore, meterRegistry, List.of(64, 128), 1, queueCapacity, maxSourcePixels);
+  }
+
+  /** Store {@code content} as attachment content, under a made-up hash. */
+  private String store(final byte[] content) throws IOException {
+    final String sha256 = UUID.randomUUID().toString().replace("-", "").repeat(2);
+    blobStore.write(
+        AttachmentContentStore.blobKey(sha256), new ByteArrayInputStream(content), content.length);
+    return sha256;
+  }
+
+  private boolean exists(final String sha256, final int size) {
+    try {
+      return service.exists(ThumbnailService.blobKey(sha256, size));
+    } catch (final IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Whether {@code condition} held within five seconds. */
+  private static boolean await(final BooleanSupplier condition) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean()) {
+      if (System.nanoTime() > deadline) {
+        return false;
+      }
+      Thread.sleep(10);
+    }
+    return true;
+  }
+
+  private static byte[] png(final int width, final int height) throws IOException {
+    final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    for (int x = 0; x < width; x++) {
+      for (int y = 0; y < height; y++) {
+        image.setRGB(x, y, x * 31 + y * 17);
+      }
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    ImageIO.write(image, "png", bytes);
+    return bytes.toByteArray();
+  }
+
+  /** Can hold a job on its first read of content, so it is still running when the test acts. */
+  private static final class BlockingBlobStore extends LocalBlobStore {
+
+    private final CountDownLatch opened = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean block;
+
+    BlockingBlobStore(final String root) throws IOException {
+      super(root);
+    }
+
+    @Override
+    public InputStream open(final String key) throws IOException {
+      final InputStream content = super.open(key);
+      if (block) {
+        block = false;
+        opened.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          content.close();
+          throw new IOException(e);
+        }
+      }
+      return content;
+    }
+  }
+}
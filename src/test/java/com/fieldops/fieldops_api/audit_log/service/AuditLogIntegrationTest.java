@@ -0,0 +1,250 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fieldops.fieldops_api.audit_log.domain.AuditLog;
+import com.fieldops.fieldops_api.audit_log.repos.AuditLogRepository;
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.customer.model.CustomerDTO;
+import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
+import com.fieldops.fieldops_api.customer.service.CustomerService;
+import com.fieldops.fieldops_api.location.model.LocationDTO;
+import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.location.service.LocationService;
+import com.fieldops.fieldops_api.user.domain.User;
+import com.fieldops.fieldops_api.util.NotFoundException;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderDTO;
+import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
+import com.fieldops.fieldops_api.work_order.service.WorkOrderService;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventDTO;
+import com.fieldops.fieldops_api.work_order_event.repos.WorkOrderEventRepository;
+import com.fieldops.fieldops_api.work_order_event.service.WorkOrderEventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class AuditLogIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private AuditLogRepository auditLogRepository;
+  @Autowired private AuditLogService auditLogService;
+  @Autowired private AuditValuesCodec codec;
+  @Autowired private CustomerService customerService;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private LocationService locationService;
+  @Autowired private LocationRepository locationRepository;
+  @Autowired private WorkOrderService workOrderService;
+  @Autowired private WorkOrderRepository workOrderRepository;
+  @Autowired private WorkOrderEventService workOrderEventService;
+  @Autowired private WorkOrderEventRepository workOrderEventRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @AfterEach
+  void cleanUp() {
+    workOrderEventRepository.deleteAll();
+    workOrderRepository.deleteAll();
+    locationRepository.deleteAll();
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void committed_insert_is_written_by_the_background_writer() throws Exception {
+    UUID customerId = customerService.create(customer("Acme"));
+
+    List<AuditLog> rows = awaitAuditRows("customer", customerId, 1);
+
+    assertThat(rows).singleElement().extracting(AuditLog::getOperation).isEqualTo("INSERT");
+    assertThat(codec.decode(rows.getFirst().getNewValues())).containsEntry("name", "Acme");
+  }
+
+  @Test
+  void rolled_back_insert_is_not_audited() throws Exception {
+    UUID rolledBack =
+        new TransactionTemplate(transactionManager)
+            .execute(
+                status -> {
+                  UUID id = customerService.create(customer("Rolled back"));
+                  status.setRollbackOnly();
+                  return id;
+                });
+    // the writer keeps commit order, so once a later change is written an earlier one would be too
+    UUID marker = customerService.create(customer("Marker"));
+    awaitAuditRows("customer", marker, 1);
+
+    assertThat(auditRows("customer", rolledBack)).isEmpty();
+  }
+
+  @Test
+  void update_stores_only_the_changed_fields() throws Exception {
+    UUID customerId = customerService.create(customer("Acme"));
+    awaitAuditRows("customer", customerId, 1);
+
+    rename(customerId, "Acme Ltd");
+    AuditLog update = awaitAuditRows("customer", customerId, 2).getLast();
+
+    assertThat(update.getOperation()).isEqualTo("UPDATE");
+    assertThat(codec.decode(update.getOldValues())).containsEntry("name", "Acme");
+    assertThat(codec.decode(update.getNewValues()))
+        .containsEntry("name", "Acme Ltd")
+        .doesNotContainKeys("version", "changeVersion", "lastUpdated", "createdAt");
+  }
+
+  @Test
+  void state_at_replays_insert_update_and_delete() throws Exception {
+    UUID customerId = customerService.create(customer("Acme"));
+    awaitAuditRows("customer", customerId, 1);
+    OffsetDateTime afterInsert = OffsetDateTime.now();
+    rename(customerId, "Acme Ltd");
+    awaitAuditRows("customer", customerId, 2);
+    OffsetDateTime afterUpdate = OffsetDateTime.now();
+    customerService.delete(customerId);
+    awaitAuditRows("customer", customerId, 3);
+
+    assertThat(auditLogService.stateAt("customer", customerId, afterInsert).values())
+        .containsEntry("name", "Acme")
+        .doesNotContainKey("version");
+    assertThat(auditLogService.stateAt("customer", customerId, afterUpdate).values())
+        .containsEntry("name", "Acme Ltd");
+    assertThatThrownBy(() -> auditLogService.stateAt("customer", customerId, OffsetDateTime.now()))
+        .isInstanceOf(NotFoundException.class);
+  }
+
+  @Test
+  void ingested_work_order_event_is_audited_once() throws Exception {
+    WorkOrderEventDTO event = new WorkOrderEventDTO();
+    event.setEventType("NOTE");
+    event.setClientEventId(UUID.randomUUID());
+    event.setDeviceId("tablet-1");
+    event.setPayload("{\"text\":\"Arrived\"}");
+    event.setCreatedAt(OffsetDateTime.now());
+    event.setWorkOrder(workOrder());
+
+    UUID eventId = workOrderEventService.ingest(List.of(event)).getFirst().getId();
+    workOrderEventService.ingest(List.of(event));
+    UUID marker = customerService.create(customer("Marker"));
+    awaitAuditRows("customer", marker, 1);
+
+    List<AuditLog> rows = auditRows("work_order_event", eventId);
+    assertThat(rows).singleElement().extracting(AuditLog::getOperation).isEqualTo("INSERT");
+    assertThat(codec.decode(rows.getFirst().getNewValues()))
+        .containsEntry("eventType", "NOTE")
+        .containsEntry("deviceId", "tablet-1")
+        .containsEntry("workOrder", event.getWorkOrder().toString())
+        .doesNotContainKey("lastUpdated");
+  }
+
+  @Test
+  void password_is_stored_redacted() throws Exception {
+    User user = createUser("tech@example.com", "secret123", "Tech", "ENGINEER", true);
+    String firstHash = user.getPassword();
+    awaitAuditRows("user", user.getId(), 1);
+    user.setPassword(passwordEncoder.encode("changed456"));
+    String secondHash = userRepository.save(user).getPassword();
+
+    List<AuditLog> rows = awaitAuditRows("user", user.getId(), 2);
+
+    assertThat(codec.decode(rows.getFirst().getNewValues()))
+        .containsEntry("email", "tech@example.com")
+        .containsEntry("password", AuditEventListener.REDACTED)
+        .doesNotContainValue(firstHash);
+    AuditLog update = rows.getLast();
+    assertThat(update.getOperation()).isEqualTo("UPDATE");
+    assertThat(codec.decode(update.getOldValues()))
+        .containsEntry("password", AuditEventListener.REDACTED)
+        .doesNotContainValue(firstHash);
+    assertThat(codec.decode(update.getNewValues()))
+        .containsEntry("password", AuditEventListener.REDACTED)
+        .doesNotContainValue(secondHash);
+  }
+
+  @Test
+  void writer_flushes_queued_records_and_writes_late_ones_itself_after_stop() throws Exception {
+    AuditLogWriter writer =
+        new AuditLogWriter(
+            jdbcTemplate, transactionManager, codec, new SimpleMeterRegistry(), 16, 10, 50, 50);
+    writer.start();
+    AuditRecord queued = record();
+    writer.enqueue(queued);
+    assertThat(awaitAuditRows("customer", queued.recordId(), 1)).hasSize(1);
+
+    writer.stop();
+    AuditRecord late = record();
+    writer.enqueue(late);
+
+    assertThat(auditLogRepository.findById(late.id())).isPresent();
+  }
+
+  private List<AuditLog> auditRows(final String tableName, final UUID recordId) {
+    return auditLogRepository.findByTableNameAndRecordIdAndChangedAtLessThanEqualOrderByChangedAt(
+        tableName, recordId, OffsetDateTime.now().plusDays(1));
+  }
+
+  /** The record's audit rows once there are at least {@code count}, or after ten seconds. */
+  private List<AuditLog> awaitAuditRows(
+      final String tableName, final UUID recordId, final int count) throws InterruptedException {
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    List<AuditLog> rows = auditRows(tableName, recordId);
+    while (rows.size() < count && System.nanoTime() < deadline) {
+      Thread.sleep(50);
+      rows = auditRows(tableName, recordId);
+    }
+    return rows;
+  }
+
+  private void rename(final UUID customerId, final String name) {
+    CustomerDTO customer = customerService.get(customerId);
+    customer.setName(name);
+    customerService.update(customerId, customer);
+  }
+
+  private UUID workOrder() {
+    LocationDTO location = new LocationDTO();
+    location.setName("Depot");
+    location.setCity("Leeds");
+    location.setCustomer(customerService.create(customer("Acme")));
+    location.setCreatedAt(OffsetDateTime.now());
+    location.setUpdatedAt(OffsetDateTime.now());
+    WorkOrderDTO workOrder = new WorkOrderDTO();
+    workOrder.setWorkOrderNo("WO-" + UUID.randomUUID());
+    workOrder.setTitle("Boiler service");
+    workOrder.setPriority("NORMAL");
+    workOrder.setStatus("OPEN");
+    workOrder.setLocation(locationService.create(location));
+    workOrder.setCreatedAt(OffsetDateTime.now());
+    workOrder.setUpdatedAt(OffsetDateTime.now());
+    return workOrderService.create(workOrder);
+  }
+
+  private static AuditRecord record() {
+    return new AuditRecord(
+        UUID.randomUUID(),
+        "customer",
+        UUID.randomUUID(),
+        "INSERT",
+        null,
+        Map.of("name", "Direct"),
+        OffsetDateTime.now(),
+        null,
+        null,
+        null,
+        null);
+  }
+
+  private static CustomerDTO customer(final String name) {
+    CustomerDTO customer = new CustomerDTO();
+    customer.setName(name);
+    customer.setCreatedAt(OffsetDateTime.now());
+    customer.setUpdatedAt(OffsetDateTime.now());
+    return customer;
+  }
+}
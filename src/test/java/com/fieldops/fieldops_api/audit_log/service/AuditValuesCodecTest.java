@@ -0,0 +1,56 @@
+package com.fieldops.fieldops_api.audit_log.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class AuditValuesCodecTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void small_values_stay_plain_json() {
+    final AuditValuesCodec codec = new AuditValuesCodec(objectMapper, true, 512);
+
+    final String stored = codec.encode(Map.of("status", "COMPLETED"));
+
+    assertThat(stored).isEqualTo("{\"status\":\"COMPLETED\"}");
+    assertThat(codec.decode(stored)).containsEntry("status", "COMPLETED");
+  }
+
+  @Test
+  void large_values_are_compressed_and_read_back() {
+    final AuditValuesCodec codec = new AuditValuesCodec(objectMapper, true, 512);
+    final Map<String, Object> values = new LinkedHashMap<>();
+    values.put("description", "Replace pump gasket and test for leaks. ".repeat(40));
+    values.put("priority", "HIGH");
+
+    final String stored = codec.encode(values);
+
+    assertThat(stored).startsWith(AuditValuesCodec.GZIP_PREFIX);
+    assertThat(stored.length()).isLessThan(codec.toJson(stored).length() / 4);
+    assertThat(codec.decode(stored)).isEqualTo(values);
+  }
+
+  @Test
+  void text_that_is_not_a_json_object_decodes_to_null() {
+    final AuditValuesCodec codec = new AuditValuesCodec(objectMapper, false, 512);
+
+    assertThat(codec.decode("status changed")).isNull();
+    assertThat(codec.toJson("status changed")).isEqualTo("status changed");
+  }
+
+  @Test
+  void text_that_only_looks_compressed_is_returned_as_stored() {
+    final AuditValuesCodec codec = new AuditValuesCodec(objectMapper, true, 512);
+    final String notBase64 = AuditValuesCodec.GZIP_PREFIX + "not base64!";
+    final String notGzip = AuditValuesCodec.GZIP_PREFIX + "aGVsbG8=";
+
+    assertThat(codec.toJson(notBase64)).isEqualTo(notBase64);
+    assertThat(codec.toJson(notGzip)).isEqualTo(notGzip);
+    assertThat(codec.decode(notGzip)).isNull();
+  }
+}
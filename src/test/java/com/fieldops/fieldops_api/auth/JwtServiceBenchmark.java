@@ -0,0 +1,69 @@
+package com.fieldops.fieldops_api.auth;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import java.util.Date;
+import java.util.UUID;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Compares the per-request cost of authenticating a bearer token before and after the parse-once
+ * change in {@link JwtService}.
+ *
+ * <p>The "before" path replays what {@link JwtAuthenticationFilter} used to do: four full parses
+ * (validity, expiry, subject, role), each decoding the secret and building a fresh parser. Run
+ * with {@code ./gradlew test --tests '*JwtServiceBenchmark' -Dbenchmark=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtServiceBenchmark {
+
+  private static final String SECRET = "9pjGycRjqYQ/xlLvTszcIkwG2lyUpoIoXJpLyWlT2TU=";
+  private static final int WARMUP = 20_000;
+  private static final int ITERATIONS = 100_000;
+
+  private final JwtService jwtService = new JwtService(SECRET, 86_400_000);
+
+  @Test
+  void per_request_auth_cost() {
+    String token = jwtService.generateToken(UUID.randomUUID(), "ENGINEER", "eng@example.com");
+
+    long before = measure(() -> legacyAuthenticate(token));
+    long after = measure(() -> jwtService.verify(token).userId());
+
+    System.out.printf(
+        "JWT auth per request: before=%,d ns, after=%,d ns (%.1fx)%n",
+        before, after, (double) before / after);
+  }
+
+  private static long measure(final Runnable op) {
+    for (int i = 0; i < WARMUP; i++) {
+      op.run();
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < ITERATIONS; i++) {
+      op.run();
+    }
+    return (System.nanoTime() - start) / ITERATIONS;
+  }
+
+  private static Object legacyAuthenticate(final String token) {
+    legacyClaims(token);
+    if (legacyClaims(token).getExpiration().before(new Date())) {
+      return null;
+    }
+    UUID userId = UUID.fromString(legacyClaims(token).getSubject());
+    String role = legacyClaims(token).get("role", String.class);
+    return role == null ? null : userId;
+  }
+
+  private static Claims legacyClaims(final String token) {
+    SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+  }
+}
@@ -0,0 +1,55 @@
+package com.fieldops.fieldops_api.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class JwtServiceTest {
+
+  private static final String SECRET = "9pjGycRjqYQ/xlLvTszcIkwG2lyUpoIoXJpLyWlT2TU=";
+
+  private final JwtService jwtService = new JwtService(SECRET, 60_000);
+
+  @Test
+  void verify_returns_all_claims_from_a_single_parse() {
+    UUID userId = UUID.randomUUID();
+    String token = jwtService.generateToken(userId, "ENGINEER", "eng@example.com");
+
+    VerifiedToken verified = jwtService.verify(token);
+
+    assertThat(verified.userId()).isEqualTo(userId);
+    assertThat(verified.role()).isEqualTo("ENGINEER");
+    assertThat(verified.email()).isEqualTo("eng@example.com");
+    assertThat(verified.expiresAt()).isAfter(Instant.now());
+    assertThat(verified.isExpired(Instant.now())).isFalse();
+  }
+
+  @Test
+  void verify_rejects_token_signed_with_another_key() {
+    JwtService other = new JwtService("c2VjcmV0LWtleS1mb3ItYW5vdGhlci1zZXJ2aWNlLTEyMzQ=", 60_000);
+    String token = other.generateToken(UUID.randomUUID(), "ADMIN", "a@example.com");
+
+    assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(JwtException.class);
+    assertThat(jwtService.isTokenValid(token)).isFalse();
+  }
+
+  @Test
+  void verify_rejects_expired_token() {
+    JwtService shortLived = new JwtService(SECRET, -1_000);
+    String token = shortLived.generateToken(UUID.randomUUID(), "ADMIN", "a@example.com");
+
+    assertThatThrownBy(() -> jwtService.verify(token)).isInstanceOf(ExpiredJwtException.class);
+    assertThat(jwtService.isTokenValid(token)).isFalse();
+  }
+
+  @Test
+  void short_secret_is_rejected_at_construction() {
+    assertThatThrownBy(() -> new JwtService("c2hvcnQ=", 60_000))
+        .isInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,113 @@
+package com.fieldops.fieldops_api.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+  private final AtomicInteger verifications = new AtomicInteger();
+
+  private final Function<String, VerifiedToken> verifier =
+      token -> {
+        verifications.incrementAndGet();
+        return new VerifiedToken(
+            UUID.nameUUIDFromBytes(token.getBytes()),
+            "ENGINEER",
+            token + "@example.com",
+            clock.instant().plus(Duration.ofMinutes(5)));
+      };
+
+  @Test
+  void repeat_token_skips_verification() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, meterRegistry, clock);
+
+    VerifiedToken first = cache.verify("token-a", verifier);
+    VerifiedToken second = cache.verify("token-a", verifier);
+
+    assertThat(second).isSameAs(first);
+    assertThat(verifications).hasValue(1);
+    assertThat(count("hit")).isEqualTo(1);
+    assertThat(count("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void entry_is_dropped_once_token_expires() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, meterRegistry, clock);
+    cache.verify("token-a", verifier);
+
+    clock.advance(Duration.ofMinutes(6));
+    cache.verify("token-a", verifier);
+
+    assertThat(verifications).hasValue(2);
+    assertThat(count("hit")).isZero();
+  }
+
+  @Test
+  void least_recently_used_entry_is_evicted_when_full() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 2, meterRegistry, clock);
+    cache.verify("token-a", verifier);
+    cache.verify("token-b", verifier);
+    cache.verify("token-a", verifier);
+    cache.verify("token-c", verifier);
+
+    assertThat(cache.size()).isEqualTo(2);
+    cache.verify("token-a", verifier);
+    cache.verify("token-b", verifier);
+    assertThat(verifications).hasValue(4);
+  }
+
+  @Test
+  void disabled_cache_always_verifies() {
+    VerifiedTokenCache cache = new VerifiedTokenCache(false, 10, meterRegistry, clock);
+    cache.verify("token-a", verifier);
+    cache.verify("token-a", verifier);
+
+    assertThat(verifications).hasValue(2);
+    assertThat(cache.size()).isZero();
+  }
+
+  private double count(String result) {
+    return meterRegistry.counter("jwt.cache.requests", "result", result).count();
+  }
+
+  private static final class MutableClock extends Clock {
+
+    private Instant now;
+
+    MutableClock(Instant now) {
+      this.now = now;
+    }
+
+    void advance(Duration duration) {
+      now = now.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.fieldops.fieldops_api.blob.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fieldops.fieldops_api.blob.model.BlobInfo;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LocalBlobStoreTest {
+
+  @TempDir Path root;
+
+  @Test
+  void writes_and_reads_back_a_byte_range() throws Exception {
+    final LocalBlobStore store = new LocalBlobStore(root.toString());
+
+    store.write("attachments/wo-1/photo.jpg", stream("0123456789"), 100);
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    store.transferTo("attachments/wo-1/photo.jpg", 3, 4, Channels.newChannel(out));
+
+    assertThat(store.stat("attachments/wo-1/photo.jpg"))
+        .hasValueSatisfying(blob -> assertThat(blob.size()).isEqualTo(10));
+    assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("3456");
+  }
+
+  @Test
+  void oversized_content_leaves_nothing_behind() throws Exception {
+    final LocalBlobStore store = new LocalBlobStore(root.toString());
+
+    assertThatThrownBy(() -> store.write("big.bin", stream("0123456789"), 5))
+        .isInstanceOf(BlobTooLargeException.class);
+
+    assertThat(store.stat("big.bin")).isEmpty();
+    try (Stream<Path> uploads = Files.list(root.resolve(".uploads"))) {
+      assertThat(uploads).isEmpty();
+    }
+  }
+
+  @Test
+  void lists_blobs_under_a_prefix_in_key_order() throws Exception {
+    final LocalBlobStore store = new LocalBlobStore(root.toString());
+    store.write("chunks/a/0000000000000000010", stream("bb"), 100);
+    store.write("chunks/a/0000000000000000000", stream("a"), 100);
+    store.write("chunks/b/0000000000000000000", stream("c"), 100);
+
+    assertThat(store.list("chunks/a"))
+        .extracting(BlobInfo::key)
+        .containsExactly("chunks/a/0000000000000000000", "chunks/a/0000000000000000010");
+
+    store.delete("chunks/b/0000000000000000000");
+    assertThat(root.resolve("chunks/b")).doesNotExist();
+  }
+
+  @Test
+  void move_replaces_the_target() throws Exception {
+    final LocalBlobStore store = new LocalBlobStore(root.toString());
+    store.write("staging/upload", stream("new"), 100);
+    store.write("sha256/ab/abc", stream("old content"), 100);
+
+    store.move("staging/upload", "sha256/ab/abc");
+
+    assertThat(store.stat("staging/upload")).isEmpty();
+    assertThat(store.stat("sha256/ab/abc"))
+        .hasValueSatisfying(blob -> assertThat(blob.size()).isEqualTo(3));
+  }
+
+  @Test
+  void keys_cannot_escape_the_root() throws Exception {
+    final LocalBlobStore store = new LocalBlobStore(root.resolve("blobs").toString());
+
+    assertThatThrownBy(() -> store.write("../outside", stream("x"), 100))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> store.stat(".uploads/tmp"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> store.stat("attachments/../chunks/x"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ByteArrayInputStream stream(final String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
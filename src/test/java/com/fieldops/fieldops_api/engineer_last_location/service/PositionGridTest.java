@@ -0,0 +1,86 @@
+package com.fieldops.fieldops_api.engineer_last_location.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.engineer_last_location.model.NearbyEngineer;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PositionGridTest {
+
+  private final PositionGrid grid = new PositionGrid(0.05);
+  private final Map<UUID, EngineerPosition> positions = new HashMap<>();
+
+  @Test
+  void nearest_matches_brute_force_over_scattered_engineers() {
+    final Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      put(51 + random.nextDouble() * 2, -2 + random.nextDouble() * 3);
+    }
+    for (int q = 0; q < 50; q++) {
+      final double lat = 50.5 + random.nextDouble() * 3;
+      final double lng = -2.5 + random.nextDouble() * 4;
+
+      final List<NearbyEngineer> nearest = grid.nearest(lat, lng, 5, id -> true, positions::get);
+
+      assertThat(nearest).extracting(NearbyEngineer::engineerUser).isEqualTo(bruteForce(lat, lng));
+    }
+  }
+
+  @Test
+  void moved_engineer_is_found_at_new_position_only() {
+    final EngineerPosition before = put(51.5, -0.1);
+    final EngineerPosition after = position(before.engineerUser(), 53.4, -2.2);
+    grid.move(before, after);
+    positions.put(after.engineerUser(), after);
+    put(51.51, -0.11);
+
+    final List<NearbyEngineer> nearest = grid.nearest(53.4, -2.2, 1, id -> true, positions::get);
+
+    assertThat(nearest)
+        .extracting(NearbyEngineer::engineerUser)
+        .containsExactly(after.engineerUser());
+    assertThat(nearest.getFirst().distanceMeters()).isZero();
+  }
+
+  @Test
+  void excluded_engineers_are_skipped_even_when_closest() {
+    final EngineerPosition away = put(51.5, -0.1);
+    final EngineerPosition available = put(51.6, -0.1);
+
+    final List<NearbyEngineer> nearest =
+        grid.nearest(51.5, -0.1, 1, id -> !id.equals(away.engineerUser()), positions::get);
+
+    assertThat(nearest)
+        .extracting(NearbyEngineer::engineerUser)
+        .containsExactly(available.engineerUser());
+  }
+
+  private List<UUID> bruteForce(final double lat, final double lng) {
+    return positions.values().stream()
+        .sorted(
+            Comparator.comparingDouble(
+                p -> PositionGrid.distanceMeters(lat, lng, p.lat(), p.lng())))
+        .limit(5)
+        .map(EngineerPosition::engineerUser)
+        .toList();
+  }
+
+  private EngineerPosition put(final double lat, final double lng) {
+    final EngineerPosition position = position(UUID.randomUUID(), lat, lng);
+    grid.move(null, position);
+    positions.put(position.engineerUser(), position);
+    return position;
+  }
+
+  private static EngineerPosition position(final UUID id, final double lat, final double lng) {
+    return new EngineerPosition(id, lat, lng, null, OffsetDateTime.now());
+  }
+}
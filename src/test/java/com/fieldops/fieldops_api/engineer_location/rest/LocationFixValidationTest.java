@@ -0,0 +1,34 @@
+package com.fieldops.fieldops_api.engineer_location.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+class LocationFixValidationTest extends AbstractAuthIntegrationTest {
+
+  @Test
+  void fix_without_lat_is_rejected() throws Exception {
+    assertRejected("{\"lng\": -0.12, \"recordedAt\": \"2025-01-01T09:00:00Z\"}");
+  }
+
+  @Test
+  void fix_without_lng_is_rejected() throws Exception {
+    assertRejected("{\"lat\": 51.5, \"recordedAt\": \"2025-01-01T09:00:00Z\"}");
+  }
+
+  private void assertRejected(String fix) throws Exception {
+    createUser("eng@example.com", "password123", "Eng", "ENGINEER", true);
+    String token = loginAndGetToken("eng@example.com", "password123");
+    mockMvc
+        .perform(
+            post("/api/engineerLocations/bulk")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fixes\": [" + fix + "]}"))
+        .andExpect(status().isBadRequest());
+  }
+}
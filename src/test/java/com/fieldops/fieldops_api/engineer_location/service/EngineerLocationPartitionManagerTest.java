@@ -0,0 +1,117 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EngineerLocationPartitionManagerTest {
+
+  private static final String TABLE = "partition_manager_test";
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void createTable() {
+    dropTables();
+    jdbcTemplate.execute(
+        "create table "
+            + TABLE
+            + " (id uuid not null, recorded_at timestamptz not null)"
+            + " partition by range (recorded_at)");
+    jdbcTemplate.execute("create table " + TABLE + "_default partition of " + TABLE + " default");
+  }
+
+  @AfterEach
+  void dropTables() {
+    jdbcTemplate
+        .queryForList(
+            "select tablename from pg_tables where tablename like ?", String.class, TABLE + "%")
+        .forEach(table -> jdbcTemplate.execute("drop table if exists " + table + " cascade"));
+  }
+
+  @Test
+  void creates_current_and_upcoming_months() {
+    manager(2, false).maintain(YearMonth.of(2025, 3));
+
+    assertThat(partitions())
+        .containsExactlyInAnyOrder(
+            TABLE + "_default", TABLE + "_p2025_03", TABLE + "_p2025_04", TABLE + "_p2025_05");
+  }
+
+  @Test
+  void moves_rows_for_a_new_month_out_of_the_default_partition() {
+    insert("2025-04-10T08:00:00Z");
+    insert("2025-04-30T23:59:59Z");
+    insert("2025-07-01T00:00:00Z");
+
+    manager(1, false).maintain(YearMonth.of(2025, 3));
+
+    assertThat(partitions()).contains(TABLE + "_default", TABLE + "_p2025_04");
+    assertThat(count(TABLE + "_p2025_04")).isEqualTo(2);
+    assertThat(count(TABLE + "_default")).isEqualTo(1);
+    assertThat(count(TABLE)).isEqualTo(3);
+  }
+
+  @Test
+  void drops_months_past_retention() {
+    manager(0, false).maintain(YearMonth.of(2024, 1));
+    insert("2024-01-15T12:00:00Z");
+
+    manager(0, false).maintain(YearMonth.of(2025, 2));
+
+    assertThat(partitions()).contains(TABLE + "_p2025_02").doesNotContain(TABLE + "_p2024_01");
+    assertThat(tableExists(TABLE + "_p2024_01")).isFalse();
+    assertThat(count(TABLE)).isZero();
+  }
+
+  @Test
+  void detaches_months_past_retention_when_archiving() {
+    manager(0, true).maintain(YearMonth.of(2024, 1));
+    insert("2024-01-15T12:00:00Z");
+
+    manager(0, true).maintain(YearMonth.of(2025, 2));
+
+    assertThat(partitions()).doesNotContain(TABLE + "_p2024_01");
+    assertThat(count(TABLE + "_p2024_01")).isEqualTo(1);
+    assertThat(count(TABLE)).isZero();
+  }
+
+  private EngineerLocationPartitionManager manager(int monthsAhead, boolean archive) {
+    return new EngineerLocationPartitionManager(jdbcTemplate, TABLE, monthsAhead, 12, archive);
+  }
+
+  private void insert(String recordedAt) {
+    jdbcTemplate.update(
+        "insert into " + TABLE + " (id, recorded_at) values (?, ?)",
+        UUID.randomUUID(),
+        OffsetDateTime.parse(recordedAt));
+  }
+
+  private List<String> partitions() {
+    return jdbcTemplate.queryForList(
+        "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+            + " where i.inhparent = to_regclass(?)",
+        String.class,
+        TABLE);
+  }
+
+  private long count(String table) {
+    return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+  }
+
+  private boolean tableExists(String table) {
+    return jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, table);
+  }
+}
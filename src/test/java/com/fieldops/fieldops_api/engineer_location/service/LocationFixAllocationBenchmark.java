@@ -0,0 +1,191 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.engineer_location.model.LocationFixDTO;
+import java.lang.management.ManagementFactory;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the heap allocated per fix from the request DTOs to rows in {@code engineer_location},
+ * before and after fixes were kept as fixed-point columns: queueing, draining and the JDBC batch
+ * insert, bind included.
+ *
+ * <p>The "after" path is the service's own: {@link LocationFixRingBuffer}, {@link
+ * LocationFixBatch} and {@link EngineerLocationIngestService#insert}. The "before" path replays the
+ * code it replaced: a record per fix collected into a list, a ring buffer of those records drained
+ * into a new list, and a {@code batchUpdate} over that list. Both bind the same way, so {@code
+ * UUID.randomUUID()} and the driver's work per parameter count on both sides; per-request work both
+ * share, such as the last-location update, is left out. Each flush commits, as the flusher does.
+ * Needs the test database; run with {@code ./gradlew test --tests '*LocationFixAllocationBenchmark'
+ * -Dbenchmark=true}.
+ */
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class LocationFixAllocationBenchmark extends AbstractAuthIntegrationTest {
+
+  private static final int FIXES_PER_REQUEST = 500;
+  private static final int WARMUP = 200;
+  private static final int ITERATIONS = 1_000;
+
+  @Autowired private EngineerLocationIngestService ingestService;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private final List<LocationFixDTO> fixes = fixes();
+  private final LocationFixRingBuffer buffer =
+      new LocationFixRingBuffer(FIXES_PER_REQUEST * 2, FIXES_PER_REQUEST);
+  private final LocationFixBatch batch = new LocationFixBatch(FIXES_PER_REQUEST);
+  private final LegacyRingBuffer legacyBuffer = new LegacyRingBuffer(FIXES_PER_REQUEST * 2);
+  private TransactionTemplate transactionTemplate;
+  private UUID engineer;
+
+  @BeforeEach
+  void setUp() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    engineer = createUser("bench@example.com", "secret", "Bench", "ENGINEER", true).getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("delete from engineer_location where engineer_user_id = ?", engineer);
+  }
+
+  @Test
+  void bytes_allocated_per_fix() {
+    long before = measure(this::legacyRequest);
+    long after = measure(this::request);
+
+    System.out.printf(
+        "Location ingest allocation per fix: before=%,d B, after=%,d B%n",
+        before / FIXES_PER_REQUEST, after / FIXES_PER_REQUEST);
+  }
+
+  private void request() {
+    buffer.offerAll(engineer, fixes, OffsetDateTime.now());
+    try {
+      buffer.takeBatch(batch, 0, TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+    final OffsetDateTime now = OffsetDateTime.now();
+    transactionTemplate.executeWithoutResult(status -> ingestService.insert(batch, now));
+  }
+
+  private void legacyRequest() {
+    final OffsetDateTime receivedAt = OffsetDateTime.now();
+    final List<LegacyFix> pending =
+        fixes.stream()
+            .map(
+                fix ->
+                    new LegacyFix(
+                        engineer,
+                        fix.getLat(),
+                        fix.getLng(),
+                        fix.getAccuracyMeters(),
+                        fix.getRecordedAt(),
+                        receivedAt))
+            .toList();
+    legacyBuffer.offerAll(pending);
+    final List<LegacyFix> queued = legacyBuffer.drain();
+    final OffsetDateTime now = OffsetDateTime.now();
+    transactionTemplate.executeWithoutResult(
+        status ->
+            jdbcTemplate.batchUpdate(
+                EngineerLocationIngestService.INSERT,
+                queued,
+                EngineerLocationIngestService.JDBC_BATCH_SIZE,
+                (ps, fix) -> {
+                  ps.setObject(1, UUID.randomUUID());
+                  ps.setDouble(2, fix.lat());
+                  ps.setDouble(3, fix.lng());
+                  if (fix.accuracyMeters() == null) {
+                    ps.setNull(4, Types.NUMERIC);
+                  } else {
+                    ps.setDouble(4, fix.accuracyMeters());
+                  }
+                  ps.setObject(5, fix.recordedAt());
+                  ps.setObject(6, fix.receivedAt());
+                  ps.setObject(7, fix.engineerUserId());
+                  ps.setObject(8, now);
+                  ps.setObject(9, now);
+                }));
+  }
+
+  private static long measure(final Runnable op) {
+    for (int i = 0; i < WARMUP; i++) {
+      op.run();
+    }
+    final com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    final long start = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < ITERATIONS; i++) {
+      op.run();
+    }
+    return (threads.getCurrentThreadAllocatedBytes() - start) / ITERATIONS;
+  }
+
+  private static List<LocationFixDTO> fixes() {
+    final List<LocationFixDTO> fixes = new ArrayList<>(FIXES_PER_REQUEST);
+    final OffsetDateTime start = OffsetDateTime.now();
+    for (int i = 0; i < FIXES_PER_REQUEST; i++) {
+      final LocationFixDTO fix = new LocationFixDTO();
+      fix.setLat(51.5 + i * 0.00001);
+      fix.setLng(-0.12 - i * 0.00001);
+      fix.setAccuracyMeters(4.5);
+      fix.setRecordedAt(start.plusSeconds(i));
+      fixes.add(fix);
+    }
+    return fixes;
+  }
+
+  private record LegacyFix(
+      UUID engineerUserId,
+      double lat,
+      double lng,
+      Double accuracyMeters,
+      OffsetDateTime recordedAt,
+      OffsetDateTime receivedAt) {}
+
+  /** The ring buffer as it was: references to records in, a new list out. */
+  private static final class LegacyRingBuffer {
+
+    private final LegacyFix[] slots;
+    private int head;
+    private int size;
+
+    LegacyRingBuffer(final int capacity) {
+      this.slots = new LegacyFix[capacity];
+    }
+
+    void offerAll(final List<LegacyFix> fixes) {
+      for (final LegacyFix fix : fixes) {
+        slots[(head + size++) % slots.length] = fix;
+      }
+    }
+
+    List<LegacyFix> drain() {
+      final List<LegacyFix> batch = new ArrayList<>(size);
+      while (size > 0) {
+        batch.add(slots[head]);
+        slots[head] = null;
+        head = (head + 1) % slots.length;
+        size--;
+      }
+      return batch;
+    }
+  }
+}
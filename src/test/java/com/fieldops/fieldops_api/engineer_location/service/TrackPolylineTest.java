@@ -0,0 +1,52 @@
+package com.fieldops.fieldops_api.engineer_location.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TrackPolylineTest {
+
+  @Test
+  void encodes_the_reference_polyline() {
+    final TrackPolyline track = new TrackPolyline();
+    track.add(38.5, -120.2);
+    track.add(40.7, -120.95);
+    track.add(43.252, -126.453);
+
+    assertThat(track.encode(new int[] {0, 1, 2})).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+  }
+
+  @Test
+  void points_within_tolerance_of_a_straight_leg_are_dropped() {
+    final TrackPolyline track = new TrackPolyline();
+    for (int i = 0; i <= 1000; i++) {
+      // about 11 m apart, wobbling 1 m either side of the line
+      track.add(51.5 + i * 0.0001, -0.1 + (i % 2 == 0 ? 0.00001 : -0.00001));
+    }
+
+    assertThat(track.simplify(5)).containsExactly(0, 1000);
+  }
+
+  @Test
+  void corners_beyond_tolerance_are_kept() {
+    final TrackPolyline track = new TrackPolyline();
+    for (int i = 0; i <= 100; i++) {
+      track.add(51.5 + i * 0.0001, -0.1);
+    }
+    for (int i = 1; i <= 100; i++) {
+      track.add(51.51, -0.1 + i * 0.0001);
+    }
+
+    assertThat(track.simplify(5)).containsExactly(0, 100, 200);
+  }
+
+  @Test
+  void zero_tolerance_keeps_every_point_off_the_line() {
+    final TrackPolyline track = new TrackPolyline();
+    track.add(51.5, -0.1);
+    track.add(51.6, -0.05);
+    track.add(51.7, -0.1);
+
+    assertThat(track.simplify(0)).containsExactly(0, 1, 2);
+  }
+}
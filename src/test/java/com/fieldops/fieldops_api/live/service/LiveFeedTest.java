@@ -0,0 +1,251 @@
+package com.fieldops.fieldops_api.live.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fieldops.fieldops_api.engineer_last_location.model.EngineerPosition;
+import com.fieldops.fieldops_api.events.EngineerPositionChanged;
+import com.fieldops.fieldops_api.events.WorkOrderStatusChanged;
+import com.fieldops.fieldops_api.live.model.LiveFeedFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class LiveFeedTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private LiveFeed feed = feed(16, 10);
+
+  @AfterEach
+  void tearDown() {
+    feed.shutdown();
+  }
+
+  @Test
+  void position_goes_only_to_subscribers_whose_box_contains_it() throws Exception {
+    RecordingEmitter london = new RecordingEmitter();
+    RecordingEmitter anywhere = new RecordingEmitter();
+    feed.subscribe(box(51.0, -1.0, 52.0, 1.0), london);
+    feed.subscribe(new LiveFeedFilter(), anywhere);
+
+    UUID paris = UUID.randomUUID();
+    UUID soho = UUID.randomUUID();
+    feed.on(new EngineerPositionChanged(position(paris, 48.85, 2.35)));
+    feed.on(new EngineerPositionChanged(position(soho, 51.51, -0.13)));
+
+    assertThat(london.await(1)).singleElement().asString().contains(soho.toString());
+    assertThat(anywhere.await(2)).hasSize(2);
+  }
+
+  @Test
+  void status_change_goes_only_to_subscribers_watching_the_work_order() throws Exception {
+    UUID watched = UUID.randomUUID();
+    LiveFeedFilter filter = new LiveFeedFilter();
+    filter.setTypes(Set.of(LiveFeed.WORK_ORDER_STATUS));
+    filter.setWorkOrders(Set.of(watched));
+    RecordingEmitter emitter = new RecordingEmitter();
+    feed.subscribe(filter, emitter);
+
+    feed.on(new EngineerPositionChanged(position(UUID.randomUUID(), 51.51, -0.13)));
+    feed.on(statusChanged(UUID.randomUUID()));
+    feed.on(statusChanged(watched));
+
+    assertThat(emitter.await(1))
+        .singleElement()
+        .asString()
+        .startsWith("event:" + LiveFeed.WORK_ORDER_STATUS)
+        .contains(watched.toString());
+  }
+
+  @Test
+  void partial_bounding_box_is_rejected() {
+    LiveFeedFilter filter = new LiveFeedFilter();
+    filter.setMinLat(51.0);
+
+    assertThatThrownBy(() -> feed.subscribe(filter, new RecordingEmitter()))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+  }
+
+  @Test
+  void subscribers_beyond_the_limit_are_refused() {
+    feed = feed(16, 1);
+    feed.subscribe(new LiveFeedFilter(), new RecordingEmitter());
+
+    assertThatThrownBy(() -> feed.subscribe(new LiveFeedFilter(), new RecordingEmitter()))
+        .isInstanceOfSatisfying(
+            ResponseStatusException.class,
+            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+  }
+
+  @Test
+  void full_queue_is_replaced_by_a_single_resync() throws Exception {
+    feed = feed(2, 10);
+    RecordingEmitter emitter = new RecordingEmitter();
+    emitter.blockFirstSend();
+    feed.subscribe(new LiveFeedFilter(), emitter);
+
+    List<UUID> engineers = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      engineers.add(UUID.randomUUID());
+    }
+    feed.on(new EngineerPositionChanged(position(engineers.get(0), 51.5, 0)));
+    assertThat(emitter.sending.await(5, TimeUnit.SECONDS)).isTrue();
+    // the sender is stuck on the first event: two fill the queue, the third overflows it and the
+    // fourth is queued behind the backlog's replacement, so it is older than the resync too
+    for (int i = 1; i < 5; i++) {
+      feed.on(new EngineerPositionChanged(position(engineers.get(i), 51.5, 0)));
+    }
+    emitter.release.countDown();
+    assertThat(emitter.await(2)).hasSize(2);
+    feed.on(new EngineerPositionChanged(position(engineers.get(5), 51.5, 0)));
+
+    List<String> events = emitter.await(3);
+    assertThat(events).hasSize(3);
+    assertThat(events.get(0)).contains(engineers.get(0).toString());
+    assertThat(events.get(1)).startsWith("event:" + LiveFeed.RESYNC);
+    assertThat(events.get(2)).contains(engineers.get(5).toString());
+    assertThat(meterRegistry.counter("live.events.dropped").count()).isEqualTo(1);
+  }
+
+  @Test
+  void subscriber_recovers_after_concurrent_overflows() throws Exception {
+    feed = feed(4, 10);
+    RecordingEmitter emitter = new RecordingEmitter();
+    emitter.delayNanos = 20_000;
+    feed.subscribe(new LiveFeedFilter(), emitter);
+
+    List<Thread> producers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      producers.add(
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int i = 0; i < 2_000; i++) {
+                      feed.on(new EngineerPositionChanged(position(UUID.randomUUID(), 51.5, 0)));
+                    }
+                  }));
+    }
+    for (Thread producer : producers) {
+      producer.join();
+    }
+    emitter.awaitQuiet();
+    UUID last = UUID.randomUUID();
+    int sent = emitter.events().size();
+    feed.on(new EngineerPositionChanged(position(last, 51.5, 0)));
+
+    List<String> events = emitter.await(sent + 1);
+    assertThat(meterRegistry.counter("live.events.dropped").count()).isPositive();
+    assertThat(events).anyMatch(event -> event.startsWith("event:" + LiveFeed.RESYNC));
+    assertThat(events.getLast()).contains(last.toString());
+  }
+
+  private LiveFeed feed(final int queueCapacity, final int maxSubscribers) {
+    if (feed != null) {
+      feed.shutdown();
+    }
+    return new LiveFeed(
+        objectMapper, meterRegistry, queueCapacity, maxSubscribers, Duration.ofMinutes(1));
+  }
+
+  private static LiveFeedFilter box(
+      final double minLat, final double minLng, final double maxLat, final double maxLng) {
+    LiveFeedFilter filter = new LiveFeedFilter();
+    filter.setMinLat(minLat);
+    filter.setMinLng(minLng);
+    filter.setMaxLat(maxLat);
+    filter.setMaxLng(maxLng);
+    return filter;
+  }
+
+  private static EngineerPosition position(
+      final UUID engineer, final double lat, final double lng) {
+    return new EngineerPosition(engineer, lat, lng, 5.0, OffsetDateTime.now());
+  }
+
+  private static WorkOrderStatusChanged statusChanged(final UUID workOrder) {
+    return new WorkOrderStatusChanged(workOrder, "OPEN", "IN_PROGRESS", OffsetDateTime.now());
+  }
+
+  /** Records each event as its wire text; heartbeats are left out. */
+  private static final class RecordingEmitter extends SseEmitter {
+
+    private final List<String> events = new ArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockFirst;
+    private volatile long delayNanos;
+
+    void blockFirstSend() {
+      blockFirst = true;
+    }
+
+    @Override
+    public void send(final SseEventBuilder builder) throws IOException {
+      if (blockFirst) {
+        blockFirst = false;
+        sending.countDown();
+        try {
+          release.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException(e);
+        }
+      }
+      if (delayNanos > 0) {
+        LockSupport.parkNanos(delayNanos);
+      }
+      final String event =
+          builder.build().stream()
+              .map(part -> part.getData().toString())
+              .collect(Collectors.joining());
+      if (!event.startsWith(":")) {
+        synchronized (events) {
+          events.add(event);
+        }
+      }
+    }
+
+    List<String> events() {
+      synchronized (events) {
+        return List.copyOf(events);
+      }
+    }
+
+    /** The events so far, once there are at least {@code count} or five seconds have passed. */
+    List<String> await(final int count) throws InterruptedException {
+      final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (events().size() < count && System.nanoTime() < deadline) {
+        Thread.sleep(10);
+      }
+      return events();
+    }
+
+    /** Wait until nothing has been sent for a while. */
+    void awaitQuiet() throws InterruptedException {
+      int seen = -1;
+      while (events().size() != seen) {
+        seen = events().size();
+        Thread.sleep(200);
+      }
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package com.fieldops.fieldops_api.parts_catalog.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.parts_catalog.model.PartsCatalogSearchResult;
+import java.math.BigDecimal;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class PartsCatalogIndexTest {
+
+  private final PartsCatalogIndex index = new PartsCatalogIndex();
+  private final UUID valve = part("AB-4471", "Pressure relief valve, brass");
+  private final UUID compressor = part("AB-4480", "Compressor, 2 stage");
+  private final UUID gasket = part("GK-100", "Gasket for relief valve");
+
+  @Test
+  void part_number_matches_rank_first() {
+    assertThat(index.search("ab4471", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(valve);
+    assertThat(index.search("AB-44", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(valve, compressor);
+  }
+
+  @Test
+  void every_word_must_match_by_prefix_or_substring() {
+    assertThat(index.search("relief val", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(valve, gasket);
+    assertThat(index.search("4471", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(valve);
+    assertThat(index.search("relief compressor", 10)).isEmpty();
+  }
+
+  @Test
+  void misspelled_words_still_match() {
+    assertThat(index.search("compresor", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(compressor);
+  }
+
+  @Test
+  void replaced_and_removed_parts_stop_matching() {
+    index.put(valve, "AB-4471", "Check valve", null);
+    index.remove(gasket);
+
+    assertThat(index.search("relief", 10)).isEmpty();
+    assertThat(index.search("check", 10))
+        .extracting(PartsCatalogSearchResult::id)
+        .containsExactly(valve);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  private UUID part(final String partNumber, final String description) {
+    final UUID id = UUID.randomUUID();
+    index.put(id, partNumber, description, BigDecimal.TEN);
+    return id;
+  }
+}
@@ -0,0 +1,96 @@
+package com.fieldops.fieldops_api.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.customer.model.CustomerDTO;
+import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
+import com.fieldops.fieldops_api.customer.service.CustomerService;
+import com.fieldops.fieldops_api.location.model.LocationDTO;
+import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.location.service.LocationService;
+import com.fieldops.fieldops_api.offline_changes_log.repos.OfflineChangesLogRepository;
+import com.fieldops.fieldops_api.sync.model.SyncPushItem;
+import com.fieldops.fieldops_api.sync.model.SyncPushResult;
+import com.fieldops.fieldops_api.sync.service.SyncPushService;
+import com.fieldops.fieldops_api.user.domain.User;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class SyncPushIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private SyncPushService syncPushService;
+  @Autowired private CustomerService customerService;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private LocationService locationService;
+  @Autowired private LocationRepository locationRepository;
+  @Autowired private OfflineChangesLogRepository offlineChangesLogRepository;
+
+  @AfterEach
+  void cleanUp() {
+    offlineChangesLogRepository.deleteAll();
+    locationRepository.deleteAll();
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void item_failing_on_missing_reference_leaves_its_row_unchanged() {
+    User user = createUser("tech@example.com", "secret123", "Tech", "ENGINEER", true);
+    UUID customerId = customerService.create(customer("Acme"));
+    LocationDTO location = new LocationDTO();
+    location.setName("Depot");
+    location.setCity("Leeds");
+    location.setCustomer(customerId);
+    location.setCreatedAt(OffsetDateTime.now());
+    location.setUpdatedAt(OffsetDateTime.now());
+    UUID locationId = locationService.create(location);
+
+    ObjectNode renamed =
+        data("Renamed").put("city", "York").put("customer", UUID.randomUUID().toString());
+    SyncPushItem update = item("location", "UPDATE", locationId, renamed);
+    SyncPushItem insert = item("customer", "INSERT", UUID.randomUUID(), data("Beta"));
+
+    List<SyncPushResult> results =
+        syncPushService.push("tablet-1", user.getId(), List.of(update, insert)).getResults();
+
+    assertThat(results)
+        .extracting(SyncPushResult::getStatus)
+        .containsExactly(SyncPushResult.FAILED, SyncPushResult.APPLIED);
+    LocationDTO stored = locationService.get(locationId);
+    assertThat(stored.getName()).isEqualTo("Depot");
+    assertThat(stored.getCity()).isEqualTo("Leeds");
+    assertThat(stored.getCustomer()).isEqualTo(customerId);
+    assertThat(customerRepository.count()).isEqualTo(2);
+  }
+
+  private static CustomerDTO customer(String name) {
+    CustomerDTO customer = new CustomerDTO();
+    customer.setName(name);
+    customer.setCreatedAt(OffsetDateTime.now());
+    customer.setUpdatedAt(OffsetDateTime.now());
+    return customer;
+  }
+
+  private ObjectNode data(String name) {
+    return objectMapper
+        .createObjectNode()
+        .put("name", name)
+        .put("createdAt", "2025-01-01T09:00:00Z")
+        .put("updatedAt", "2025-01-01T09:00:00Z");
+  }
+
+  private static SyncPushItem item(
+      String tableName, String operation, UUID recordId, ObjectNode data) {
+    SyncPushItem item = new SyncPushItem();
+    item.setTableName(tableName);
+    item.setOperation(operation);
+    item.setRecordId(recordId);
+    item.setData(data);
+    return item;
+  }
+}
@@ -0,0 +1,75 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ChangeVersionSequenceIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private ChangeVersionSequence sequence;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Test
+  void versions_of_one_transaction_come_from_its_own_block() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    long[] first =
+        transactionTemplate.execute(status -> new long[] {sequence.next(), sequence.next()});
+    long later = transactionTemplate.execute(status -> sequence.next());
+
+    assertThat(first[1]).isEqualTo(first[0] + 1);
+    assertThat(later >>> ChangeVersionSequence.WRITE_BITS)
+        .isGreaterThan(first[0] >>> ChangeVersionSequence.WRITE_BITS);
+  }
+
+  @Test
+  void stable_version_stays_below_a_writer_in_flight_without_waiting_for_it() throws Exception {
+    CountDownLatch written = new CountDownLatch(1);
+    CountDownLatch commit = new CountDownLatch(1);
+    CompletableFuture<Long> writer =
+        CompletableFuture.supplyAsync(
+            () ->
+                new TransactionTemplate(transactionManager)
+                    .execute(
+                        status -> {
+                          long version = sequence.next();
+                          written.countDown();
+                          await(commit);
+                          return version;
+                        }));
+    assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+
+    long whileWriting =
+        CompletableFuture.supplyAsync(sequence::stableVersion).get(5, TimeUnit.SECONDS);
+    commit.countDown();
+    long version = writer.get(5, TimeUnit.SECONDS);
+
+    assertThat(whileWriting).isLessThan(version);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (sequence.stableVersion() < version && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(sequence.stableVersion()).isGreaterThanOrEqualTo(version);
+  }
+
+  @Test
+  void versions_are_only_handed_out_inside_a_transaction() {
+    assertThatThrownBy(sequence::next).isInstanceOf(IllegalStateException.class);
+  }
+
+  private static void await(final CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.fieldops.fieldops_api.sync.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.Test;
+
+class SyncConflictDetectorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+  private final SyncConflictDetector detector = new SyncConflictDetector(objectMapper);
+
+  @Test
+  void current_version_applies_edit_unchanged() throws Exception {
+    ObjectNode local = row("{\"version\": 3, \"title\": \"Mine\", \"priority\": 1}");
+    ObjectNode server = row("{\"version\": 3, \"title\": \"Old\", \"priority\": 1}");
+
+    SyncConflictDetector.Outcome outcome = detector.detect(Row.class, null, local, server);
+
+    assertThat(outcome.isConflict()).isFalse();
+    assertThat(outcome.merged()).isSameAs(local);
+  }
+
+  @Test
+  void stale_edit_to_untouched_fields_is_merged_over_server_row() throws Exception {
+    ObjectNode base = row("{\"version\": 3, \"title\": \"Old\", \"notes\": \"a\"}");
+    ObjectNode local = row("{\"version\": 3, \"title\": \"Mine\", \"notes\": \"a\"}");
+    ObjectNode server = row("{\"version\": 4, \"title\": \"Old\", \"notes\": \"b\"}");
+
+    SyncConflictDetector.Outcome outcome = detector.detect(Row.class, base, local, server);
+
+    assertThat(outcome.isConflict()).isFalse();
+    assertThat(outcome.merged())
+        .isEqualTo(row("{\"version\": 4, \"title\": \"Mine\", \"notes\": \"b\"}"));
+  }
+
+  @Test
+  void stale_edit_to_field_changed_on_server_is_a_conflict_with_only_that_field() throws Exception {
+    ObjectNode base = row("{\"version\": 3, \"title\": \"Old\", \"notes\": \"a\"}");
+    ObjectNode local = row("{\"version\": 3, \"title\": \"Mine\", \"notes\": \"c\"}");
+    ObjectNode server = row("{\"version\": 4, \"title\": \"Old\", \"notes\": \"b\"}");
+
+    SyncConflictDetector.Outcome outcome = detector.detect(Row.class, base, local, server);
+
+    assertThat(outcome.isConflict()).isTrue();
+    assertThat(outcome.localDiff()).isEqualTo(row("{\"notes\": \"c\"}"));
+    assertThat(outcome.serverDiff()).isEqualTo(row("{\"notes\": \"b\"}"));
+  }
+
+  @Test
+  void delete_of_row_changed_since_base_is_a_conflict() throws Exception {
+    ObjectNode base = row("{\"version\": 3, \"title\": \"Old\"}");
+    ObjectNode server = row("{\"version\": 4, \"title\": \"New\"}");
+
+    assertThat(detector.detectDelete(Row.class, base, server).isConflict()).isTrue();
+    assertThat(detector.detectDelete(Row.class, null, server).isConflict()).isFalse();
+  }
+
+  @Test
+  void timestamps_and_decimals_are_compared_by_value_not_text() throws Exception {
+    ObjectNode local =
+        row(
+            "{\"version\": 3, \"scheduledStart\": \"2025-01-01T10:00:00+01:00\","
+                + " \"unitPrice\": \"12.5\"}");
+    ObjectNode server =
+        row(
+            "{\"version\": 4, \"scheduledStart\": \"2025-01-01T09:00:00Z\","
+                + " \"unitPrice\": \"12.50\"}");
+
+    SyncConflictDetector.Outcome outcome = detector.detect(Row.class, null, local, server);
+
+    assertThat(outcome.isConflict()).isFalse();
+    assertThat(outcome.merged()).isEqualTo(server);
+  }
+
+  @Test
+  void later_instant_is_still_a_conflict() throws Exception {
+    ObjectNode local = row("{\"version\": 3, \"scheduledStart\": \"2025-01-01T10:00:00Z\"}");
+    ObjectNode server = row("{\"version\": 4, \"scheduledStart\": \"2025-01-01T09:00:00Z\"}");
+
+    SyncConflictDetector.Outcome outcome = detector.detect(Row.class, null, local, server);
+
+    assertThat(outcome.isConflict()).isTrue();
+    assertThat(outcome.localDiff())
+        .isEqualTo(row("{\"scheduledStart\": \"2025-01-01T10:00:00Z\"}"));
+  }
+
+  @Test
+  void device_stamped_timestamps_are_not_compared() throws Exception {
+    ObjectNode base =
+        row("{\"version\": 3, \"title\": \"Old\", \"updatedAt\": \"2025-01-01T09:00:00Z\"}");
+    ObjectNode local =
+        row(
+            "{\"version\": 3, \"title\": \"Old\", \"createdAt\": \"2025-01-01T08:00:00Z\","
+                + " \"updatedAt\": \"2025-01-03T09:00:00Z\"}");
+    ObjectNode server =
+        row(
+            "{\"version\": 4, \"title\": \"Old\", \"createdAt\": \"2024-12-31T08:00:00Z\","
+                + " \"updatedAt\": \"2025-01-02T09:00:00Z\"}");
+
+    assertThat(detector.detect(Row.class, null, local, server).isConflict()).isFalse();
+    assertThat(detector.detectDelete(Row.class, base, server).isConflict()).isFalse();
+  }
+
+  private ObjectNode row(String json) throws Exception {
+    return (ObjectNode) objectMapper.readTree(json);
+  }
+
+  @SuppressWarnings("unused")
+  private static class Row {
+    private Integer version;
+    private String title;
+    private Integer priority;
+    private String notes;
+    private OffsetDateTime scheduledStart;
+    private BigDecimal unitPrice;
+    private OffsetDateTime createdAt;
+    private OffsetDateTime updatedAt;
+  }
+}
@@ -0,0 +1,118 @@
+package com.fieldops.fieldops_api.sync_queue.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.customer.domain.Customer;
+import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
+import com.fieldops.fieldops_api.offline_changes_log.repos.OfflineChangesLogRepository;
+import com.fieldops.fieldops_api.sync.service.SyncPushService;
+import com.fieldops.fieldops_api.sync_queue.domain.SyncQueue;
+import com.fieldops.fieldops_api.sync_queue.repos.SyncQueueRepository;
+import com.fieldops.fieldops_api.user.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class SyncQueueDispatcherIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private SyncQueueRepository syncQueueRepository;
+  @Autowired private SyncPushService syncPushService;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private OfflineChangesLogRepository offlineChangesLogRepository;
+
+  // the worker is disabled in tests, so drive one directly
+  private SyncQueueDispatcher dispatcher;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    dispatcher =
+        new SyncQueueDispatcher(
+            syncQueueRepository,
+            syncPushService,
+            objectMapper,
+            transactionManager,
+            new SimpleMeterRegistry(),
+            50,
+            10,
+            10,
+            Duration.ofSeconds(2),
+            Duration.ofMinutes(30),
+            Duration.ofMinutes(5),
+            2);
+    user = createUser("tech@example.com", "secret123", "Tech", "ENGINEER", true);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    dispatcher.shutdown();
+    syncQueueRepository.deleteAll();
+    offlineChangesLogRepository.deleteAll();
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void update_queued_after_an_insert_applies_to_the_inserted_row() {
+    UUID localId = UUID.randomUUID();
+    OffsetDateTime now = OffsetDateTime.now();
+    SyncQueue insert = queue("INSERT", localId, "Acme", now.minusSeconds(2));
+    SyncQueue update = queue("UPDATE", localId, "Acme Ltd", now.minusSeconds(1));
+
+    dispatcher.drain();
+
+    assertThat(customerRepository.findAll())
+        .extracting(Customer::getName)
+        .containsExactly("Acme Ltd");
+    assertThat(syncQueueRepository.findById(insert.getId()).orElseThrow().getStatus())
+        .isEqualTo(SyncQueue.DONE);
+    assertThat(syncQueueRepository.findById(update.getId()).orElseThrow().getStatus())
+        .isEqualTo(SyncQueue.DONE);
+  }
+
+  @Test
+  void failed_item_holds_back_the_later_items_of_its_device() {
+    OffsetDateTime now = OffsetDateTime.now();
+    SyncQueue missing = queue("UPDATE", UUID.randomUUID(), "Gone", now.minusSeconds(2));
+    SyncQueue insert = queue("INSERT", UUID.randomUUID(), "Beta", now.minusSeconds(1));
+
+    dispatcher.drain();
+    dispatcher.drain();
+
+    SyncQueue failed = syncQueueRepository.findById(missing.getId()).orElseThrow();
+    assertThat(failed.getStatus()).isEqualTo(SyncQueue.PENDING);
+    assertThat(failed.getRetryCount()).isEqualTo(1);
+    SyncQueue held = syncQueueRepository.findById(insert.getId()).orElseThrow();
+    assertThat(held.getStatus()).isEqualTo(SyncQueue.PENDING);
+    assertThat(held.getRetryCount()).isZero();
+    assertThat(customerRepository.count()).isZero();
+  }
+
+  private SyncQueue queue(String operation, UUID recordId, String name, OffsetDateTime createdAt) {
+    SyncQueue item = new SyncQueue();
+    item.setDeviceId("tablet-1");
+    item.setOperationType(operation);
+    item.setTableName("customer");
+    item.setRecordId(recordId);
+    item.setPayload(
+        objectMapper
+            .createObjectNode()
+            .put("name", name)
+            .put("createdAt", "2025-01-01T09:00:00Z")
+            .put("updatedAt", "2025-01-01T09:00:00Z")
+            .toString());
+    item.setRetryCount(0);
+    item.setStatus(SyncQueue.PENDING);
+    item.setCreatedAt(createdAt);
+    item.setUpdatedAt(createdAt);
+    item.setUser(user);
+    return syncQueueRepository.save(item);
+  }
+}
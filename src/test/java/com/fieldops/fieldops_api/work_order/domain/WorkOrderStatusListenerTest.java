@@ -0,0 +1,84 @@
+package com.fieldops.fieldops_api.work_order.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.events.WorkOrderStatusChanged;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class WorkOrderStatusListenerTest {
+
+  private final List<Object> published = new ArrayList<>();
+  private final WorkOrderStatusListener listener = new WorkOrderStatusListener(published::add);
+
+  @Test
+  void created_work_order_publishes_its_status() {
+    WorkOrder workOrder = workOrder("OPEN");
+
+    listener.publishIfChanged(workOrder);
+
+    assertThat(published)
+        .singleElement()
+        .isInstanceOfSatisfying(
+            WorkOrderStatusChanged.class,
+            event -> {
+              assertThat(event.getWorkOrder()).isEqualTo(workOrder.getId());
+              assertThat(event.getPreviousStatus()).isNull();
+              assertThat(event.getStatus()).isEqualTo("OPEN");
+            });
+  }
+
+  @Test
+  void update_without_status_change_publishes_nothing() {
+    WorkOrder workOrder = workOrder("OPEN");
+    listener.remember(workOrder);
+    workOrder.setTitle("Replace boiler valve");
+
+    listener.publishIfChanged(workOrder);
+
+    assertThat(published).isEmpty();
+  }
+
+  @Test
+  void status_change_publishes_previous_and_new_status() {
+    WorkOrder workOrder = workOrder("OPEN");
+    listener.remember(workOrder);
+    workOrder.setStatus("IN_PROGRESS");
+
+    listener.publishIfChanged(workOrder);
+
+    assertThat(published)
+        .singleElement()
+        .isInstanceOfSatisfying(
+            WorkOrderStatusChanged.class,
+            event -> {
+              assertThat(event.getPreviousStatus()).isEqualTo("OPEN");
+              assertThat(event.getStatus()).isEqualTo("IN_PROGRESS");
+            });
+  }
+
+  @Test
+  void repeated_writes_publish_each_change_once() {
+    WorkOrder workOrder = workOrder("OPEN");
+    listener.remember(workOrder);
+    workOrder.setStatus("IN_PROGRESS");
+
+    listener.publishIfChanged(workOrder);
+    listener.publishIfChanged(workOrder);
+    workOrder.setStatus("DONE");
+    listener.publishIfChanged(workOrder);
+
+    assertThat(published)
+        .extracting(event -> ((WorkOrderStatusChanged) event).getPreviousStatus())
+        .containsExactly("OPEN", "IN_PROGRESS");
+  }
+
+  private static WorkOrder workOrder(final String status) {
+    WorkOrder workOrder = new WorkOrder();
+    workOrder.setId(UUID.randomUUID());
+    workOrder.setStatus(status);
+    return workOrder;
+  }
+}
@@ -0,0 +1,169 @@
+package com.fieldops.fieldops_api.work_order_event.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fieldops.fieldops_api.audit_log.service.AuditEventListener;
+import com.fieldops.fieldops_api.auth.AbstractAuthIntegrationTest;
+import com.fieldops.fieldops_api.customer.model.CustomerDTO;
+import com.fieldops.fieldops_api.customer.repos.CustomerRepository;
+import com.fieldops.fieldops_api.customer.service.CustomerService;
+import com.fieldops.fieldops_api.location.model.LocationDTO;
+import com.fieldops.fieldops_api.location.repos.LocationRepository;
+import com.fieldops.fieldops_api.location.service.LocationService;
+import com.fieldops.fieldops_api.work_order.model.WorkOrderDTO;
+import com.fieldops.fieldops_api.work_order.repos.WorkOrderRepository;
+import com.fieldops.fieldops_api.work_order.service.WorkOrderService;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventDTO;
+import com.fieldops.fieldops_api.work_order_event.model.WorkOrderEventIngestResult;
+import com.fieldops.fieldops_api.work_order_event.repos.WorkOrderEventRepository;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class WorkOrderEventIngestIntegrationTest extends AbstractAuthIntegrationTest {
+
+  @Autowired private WorkOrderEventService workOrderEventService;
+  @Autowired private WorkOrderEventRepository workOrderEventRepository;
+  @Autowired private WorkOrderRepository workOrderRepository;
+  @Autowired private ApplicationEventPublisher publisher;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private AuditEventListener auditEventListener;
+  @Autowired private CustomerService customerService;
+  @Autowired private CustomerRepository customerRepository;
+  @Autowired private LocationService locationService;
+  @Autowired private LocationRepository locationRepository;
+  @Autowired private WorkOrderService workOrderService;
+
+  private UUID workOrder;
+
+  @BeforeEach
+  void setUp() {
+    workOrder = workOrder();
+  }
+
+  @AfterEach
+  void cleanUp() {
+    workOrderEventRepository.deleteAll();
+    workOrderRepository.deleteAll();
+    locationRepository.deleteAll();
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void retried_event_returns_the_first_id_as_a_duplicate() {
+    WorkOrderEventDTO event = event("tablet-1");
+
+    WorkOrderEventIngestResult first = workOrderEventService.ingest(List.of(event)).getFirst();
+    WorkOrderEventIngestResult retry = workOrderEventService.ingest(List.of(event)).getFirst();
+
+    assertThat(first.isDuplicate()).isFalse();
+    assertThat(retry.isDuplicate()).isTrue();
+    assertThat(retry.getId()).isEqualTo(first.getId());
+    assertThat(stored(event)).isEqualTo(1);
+  }
+
+  @Test
+  void key_repeated_within_a_batch_is_stored_once() {
+    WorkOrderEventDTO event = event("tablet-1");
+    WorkOrderEventDTO other = event("tablet-1");
+
+    List<WorkOrderEventIngestResult> results =
+        workOrderEventService.ingest(List.of(event, other, event));
+
+    assertThat(results)
+        .extracting(WorkOrderEventIngestResult::isDuplicate)
+        .containsExactly(false, false, true);
+    assertThat(results.get(2).getId()).isEqualTo(results.get(0).getId());
+    assertThat(results.get(1).getId()).isNotEqualTo(results.get(0).getId());
+    assertThat(stored(event)).isEqualTo(1);
+  }
+
+  @Test
+  void retry_no_longer_remembered_is_resolved_through_the_constraint() {
+    WorkOrderEventDTO event = event("tablet-1");
+    UUID firstId = workOrderEventService.ingest(List.of(event)).getFirst().getId();
+    // as after the recent keys expired, or on another instance
+    WorkOrderEventService forgetful =
+        new WorkOrderEventService(
+            workOrderEventRepository,
+            workOrderRepository,
+            userRepository,
+            publisher,
+            new RecentWorkOrderEvents(Duration.ofMinutes(10), 100),
+            jdbcTemplate,
+            transactionManager,
+            auditEventListener);
+
+    List<WorkOrderEventIngestResult> results =
+        forgetful.ingest(List.of(event("tablet-1"), event));
+
+    assertThat(results.get(0).isDuplicate()).isFalse();
+    assertThat(results.get(1).isDuplicate()).isTrue();
+    assertThat(results.get(1).getId()).isEqualTo(firstId);
+    assertThat(stored(event)).isEqualTo(1);
+  }
+
+  @Test
+  void events_without_a_device_are_always_stored() {
+    WorkOrderEventDTO event = event(null);
+
+    WorkOrderEventIngestResult first = workOrderEventService.ingest(List.of(event)).getFirst();
+    List<WorkOrderEventIngestResult> again = workOrderEventService.ingest(List.of(event, event));
+
+    assertThat(again).extracting(WorkOrderEventIngestResult::isDuplicate).containsOnly(false);
+    assertThat(again)
+        .extracting(WorkOrderEventIngestResult::getId)
+        .doesNotHaveDuplicates()
+        .doesNotContain(first.getId());
+    assertThat(stored(event)).isEqualTo(3);
+  }
+
+  private int stored(final WorkOrderEventDTO event) {
+    return jdbcTemplate.queryForObject(
+        "select count(*) from work_order_event where client_event_id = ?",
+        Integer.class,
+        event.getClientEventId());
+  }
+
+  private WorkOrderEventDTO event(final String deviceId) {
+    WorkOrderEventDTO event = new WorkOrderEventDTO();
+    event.setEventType("NOTE");
+    event.setClientEventId(UUID.randomUUID());
+    event.setDeviceId(deviceId);
+    event.setPayload("{\"text\":\"Arrived\"}");
+    event.setCreatedAt(OffsetDateTime.now());
+    event.setWorkOrder(workOrder);
+    return event;
+  }
+
+  private UUID workOrder() {
+    CustomerDTO customer = new CustomerDTO();
+    customer.setName("Acme");
+    customer.setCreatedAt(OffsetDateTime.now());
+    customer.setUpdatedAt(OffsetDateTime.now());
+    LocationDTO location = new LocationDTO();
+    location.setName("Depot");
+    location.setCity("Leeds");
+    location.setCustomer(customerService.create(customer));
+    location.setCreatedAt(OffsetDateTime.now());
+    location.setUpdatedAt(OffsetDateTime.now());
+    WorkOrderDTO workOrder = new WorkOrderDTO();
+    workOrder.setWorkOrderNo("WO-" + UUID.randomUUID());
+    workOrder.setTitle("Boiler service");
+    workOrder.setPriority("NORMAL");
+    workOrder.setStatus("OPEN");
+    workOrder.setLocation(locationService.create(location));
+    workOrder.setCreatedAt(OffsetDateTime.now());
+    workOrder.setUpdatedAt(OffsetDateTime.now());
+    return workOrderService.create(workOrder);
+  }
+}